@@ -0,0 +1,101 @@
+package com.converter.document_converter.benchmark;
+
+import com.converter.document_converter.entity.User;
+import com.converter.document_converter.repository.UserRepository;
+import com.converter.document_converter.service.ApiKeyIndex;
+import com.converter.document_converter.service.UserContextCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// X-API-Key 인증 - 요청마다 거치는 키 조회 (색인에 있는 키 / 없는 키)
+// DB 조회는 시작 시 색인을 채울 때만 일어나므로 저장소는 목으로 대신함
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(4)
+public class ApiKeyIndexBenchmark {
+
+    private static final int UNKNOWN_KEYS = 1000;
+
+    @Param({"100000"})
+    public int users;
+
+    private ApiKeyIndex apiKeyIndex;
+    private String[] knownKeys;
+    private String[] unknownKeys;
+
+    @Setup
+    public void setUp() {
+        List<User> allUsers = new ArrayList<>(users);
+        knownKeys = new String[users];
+        for (int i = 0; i < users; i++) {
+            knownKeys[i] = "key-" + i;
+            allUsers.add(User.builder()
+                    .id(i + 1L)
+                    .email("user" + i + "@example.com")
+                    .password("password")
+                    .name("user" + i)
+                    .apiKey(knownKeys[i])
+                    .build());
+        }
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findWithApiKey(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Pageable pageable = invocation.getArgument(1);
+            // id가 1부터 연속이므로 afterId 다음 사용자는 목록의 afterId번째
+            int from = (int) Math.min(afterId, users);
+            return allUsers.subList(from, Math.min(from + pageable.getPageSize(), users));
+        });
+        when(userRepository.findByApiKey(any())).thenReturn(Optional.empty());
+
+        UserContextCache userContextCache = new UserContextCache(userRepository, Duration.ofMinutes(5), users * 2L,
+                new SimpleMeterRegistry());
+        apiKeyIndex = new ApiKeyIndex(userRepository, userContextCache, Duration.ofMinutes(1), UNKNOWN_KEYS * 2L);
+        apiKeyIndex.refresh();
+
+        // 없는 키는 첫 조회에서 음수 캐시에 들어가므로 미리 한 번씩 조회
+        unknownKeys = new String[UNKNOWN_KEYS];
+        for (int i = 0; i < UNKNOWN_KEYS; i++) {
+            unknownKeys[i] = "unknown-" + i;
+            apiKeyIndex.resolve(unknownKeys[i]);
+        }
+    }
+
+    @Benchmark
+    public Optional<UserContextCache.UserContext> resolveKnownKey() {
+        return apiKeyIndex.resolve(knownKeys[ThreadLocalRandom.current().nextInt(knownKeys.length)]);
+    }
+
+    @Benchmark
+    public Optional<UserContextCache.UserContext> resolveUnknownKey() {
+        return apiKeyIndex.resolve(unknownKeys[ThreadLocalRandom.current().nextInt(unknownKeys.length)]);
+    }
+}
@@ -0,0 +1,52 @@
+package com.converter.document_converter.benchmark;
+
+import com.converter.document_converter.service.ConversionCache;
+import com.converter.document_converter.service.ConversionExecutor;
+import com.converter.document_converter.service.ConversionMetrics;
+import com.converter.document_converter.service.ImageBufferPool;
+import com.converter.document_converter.service.ImageCodecPool;
+import com.converter.document_converter.service.ImageService;
+import com.converter.document_converter.service.MemoryAdmission;
+import com.converter.document_converter.service.PdfService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// 스프링 컨텍스트 없이 서비스를 직접 조립 (application.properties 기본값과 같은 설정)
+// 같은 입력을 반복해서 변환하므로 결과 캐시는 끔 - 켜두면 첫 호출 뒤로는 캐시 조회만 측정됨
+final class BenchmarkServices {
+
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final ConversionMetrics metrics = new ConversionMetrics(meterRegistry);
+    final ConversionExecutor executor;
+    final ImageBufferPool bufferPool = new ImageBufferPool(DataSize.ofMegabytes(64), DataSize.ofMegabytes(8));
+    // 기본 설정과 같은 예산 (최대 힙의 60%)
+    final MemoryAdmission admission = new MemoryAdmission(DataSize.ofBytes(0), Duration.ofSeconds(30), meterRegistry);
+    final ImageCodecPool codecPool = new ImageCodecPool(bufferPool, 0);
+    final ConversionCache cache;
+    final ImageService imageService;
+    final PdfService pdfService;
+
+    BenchmarkServices() throws IOException {
+        this(0);
+    }
+
+    // workers: 변환 워커 수 (0이면 CPU 코어 수)
+    BenchmarkServices(int workers) throws IOException {
+        executor = new ConversionExecutor(workers, 256, meterRegistry);
+        cache = new ConversionCache(false, DataSize.ofMegabytes(64), DataSize.ofGigabytes(1), DataSize.ofMegabytes(4),
+                Path.of(System.getProperty("java.io.tmpdir"), "document-converter-benchmark-cache"), meterRegistry);
+        imageService = new ImageService(cache, executor, codecPool, bufferPool, metrics, admission);
+        pdfService = new PdfService(executor, cache, codecPool, bufferPool, imageService, metrics, admission);
+        ReflectionTestUtils.setField(imageService, "maxPixels", 100_000_000L);
+        ReflectionTestUtils.setField(pdfService, "maxMainMemory", DataSize.ofMegabytes(64));
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
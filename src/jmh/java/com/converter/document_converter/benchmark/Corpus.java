@@ -0,0 +1,100 @@
+package com.converter.document_converter.benchmark;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+// 벤치마크 입력 생성 (고정 시드라 실행마다 같은 파일)
+final class Corpus {
+
+    private static final long SEED = 42;
+
+    private Corpus() {
+    }
+
+    // 페이지마다 글자 몇 줄과 JPEG 사진 한 장이 있는 PDF (사진은 페이지마다 다름 - 압축 시 중복 제거로 빠지지 않도록)
+    static MockMultipartFile pdf(int pages) throws IOException {
+        Random random = new Random(SEED);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
+
+                PDImageXObject photo = JPEGFactory.createFromImage(document, photo(800, 600, random), 0.9f);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(PDType1Font.HELVETICA, 11);
+                    contentStream.setLeading(14);
+                    contentStream.newLineAtOffset(50, 780);
+                    for (int line = 0; line < 20; line++) {
+                        contentStream.showText("Page " + (i + 1) + ", line " + (line + 1)
+                                + " - The quick brown fox jumps over the lazy dog.");
+                        contentStream.newLine();
+                    }
+                    contentStream.endText();
+                    contentStream.drawImage(photo, 50, 50, 495, 371);
+                }
+            }
+            document.save(outputStream);
+        }
+        return new MockMultipartFile("file", pages + "-pages.pdf", "application/pdf", outputStream.toByteArray());
+    }
+
+    // 4:3 비율의 JPEG 사진 (megapixels 백만 화소)
+    static MockMultipartFile jpeg(int megapixels) throws IOException {
+        int width = (int) Math.sqrt(megapixels * 1_000_000 * 4.0 / 3);
+        int height = width * 3 / 4;
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(photo(width, height, new Random(SEED)), "jpg", outputStream);
+        return new MockMultipartFile("file", megapixels + "mp.jpg", "image/jpeg", outputStream.toByteArray());
+    }
+
+    // 그라데이션 + 도형 + 약한 노이즈 (단색 이미지보다 실제 사진에 가까운 압축률)
+    private static BufferedImage photo(int width, int height, Random random) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setPaint(new GradientPaint(0, 0, new Color(random.nextInt(0xFFFFFF)),
+                    width, height, new Color(random.nextInt(0xFFFFFF))));
+            graphics.fillRect(0, 0, width, height);
+            for (int i = 0; i < 30; i++) {
+                graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+                graphics.fillOval(random.nextInt(width), random.nextInt(height), width / 8, height / 8);
+            }
+        } finally {
+            graphics.dispose();
+        }
+
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < pixels.length; i++) {
+            int noise = random.nextInt(16) - 8;
+            int rgb = pixels[i];
+            pixels[i] = (clamp((rgb >> 16 & 0xFF) + noise) << 16)
+                    | (clamp((rgb >> 8 & 0xFF) + noise) << 8)
+                    | clamp((rgb & 0xFF) + noise);
+        }
+        return image;
+    }
+
+    private static int clamp(int value) {
+        return Math.max(0, Math.min(255, value));
+    }
+}
@@ -0,0 +1,59 @@
+package com.converter.document_converter.benchmark;
+
+import com.converter.document_converter.service.ImageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// ImageService 리사이즈/압축 - 원본 화소 수별 처리량(ops/s)과 지연시간 분포(ms), -prof gc로 할당률
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ImageServiceBenchmark {
+
+    @Param({"1", "12", "50"})
+    public int megapixels;
+
+    private BenchmarkServices services;
+    private ImageService imageService;
+    private MockMultipartFile jpeg;
+
+    @Setup
+    public void setUp() throws IOException {
+        services = new BenchmarkServices();
+        imageService = services.imageService;
+        jpeg = Corpus.jpeg(megapixels);
+    }
+
+    @TearDown
+    public void tearDown() {
+        services.shutdown();
+    }
+
+    // 웹용 크기로 축소
+    @Benchmark
+    public byte[] resizeImage() throws IOException {
+        return imageService.resizeImage(jpeg, 1280, 960);
+    }
+
+    @Benchmark
+    public byte[] compressImage() throws IOException {
+        return imageService.compressImage(jpeg, 0.7);
+    }
+}
@@ -0,0 +1,66 @@
+package com.converter.document_converter.benchmark;
+
+import com.converter.document_converter.service.PdfService;
+import com.converter.document_converter.service.ProgressListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 파일 수별 PDF 병합 - workers=1은 한 스레드로 차례로 병합, 0은 CPU 코어 수만큼 병합 트리
+// dedupe=true는 문서 사이에 겹치는 스트림을 한 벌만 남김 (입력이 모두 같은 문서라 사진/글꼴이 문서 수만큼 겹침)
+// 예: mvn -Pjmh test-compile exec:exec -Djmh.args="PdfMergeBenchmark -p files=300 -p dedupe=false,true"
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PdfMergeBenchmark {
+
+    @Param({"10", "100", "300"})
+    public int files;
+
+    @Param({"1", "0"})
+    public int workers;
+
+    @Param({"false", "true"})
+    public boolean dedupe;
+
+    private BenchmarkServices services;
+    private PdfService pdfService;
+    private List<MockMultipartFile> inputs;
+
+    @Setup
+    public void setUp() throws IOException {
+        services = new BenchmarkServices(workers);
+        pdfService = services.pdfService;
+        // 송장 같은 3페이지짜리 문서 (결과 캐시는 꺼져 있으므로 같은 파일을 반복해도 매번 병합)
+        inputs = Collections.nCopies(files, Corpus.pdf(3));
+    }
+
+    @TearDown
+    public void tearDown() {
+        services.shutdown();
+    }
+
+    @Benchmark
+    public void mergePdfs() throws IOException {
+        pdfService.mergePdfs(List.copyOf(inputs), dedupe, OutputStream.nullOutputStream(), ProgressListener.NONE);
+    }
+}
@@ -0,0 +1,75 @@
+package com.converter.document_converter.benchmark;
+
+import com.converter.document_converter.service.PdfService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// PdfService 주요 작업 - 페이지 수별 처리량(ops/s)과 지연시간 분포(ms), -prof gc로 할당률
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class PdfServiceBenchmark {
+
+    @Param({"1", "100", "1000"})
+    public int pages;
+
+    private BenchmarkServices services;
+    private PdfService pdfService;
+    private MockMultipartFile pdf;
+
+    @Setup
+    public void setUp() throws IOException {
+        services = new BenchmarkServices();
+        pdfService = services.pdfService;
+        pdf = Corpus.pdf(pages);
+    }
+
+    @TearDown
+    public void tearDown() {
+        services.shutdown();
+    }
+
+    @Benchmark
+    public void mergePdfs() throws IOException {
+        pdfService.mergePdfs(List.of(pdf, pdf), OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void splitPdfByPage() throws IOException {
+        pdfService.splitPdfByPage(pdf, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] splitPdfByRange() throws IOException {
+        return pdfService.splitPdfByRange(pdf, 1, Math.min(pages, 10));
+    }
+
+    @Benchmark
+    public PdfService.CompressionResult compressPdf() throws IOException {
+        return pdfService.compressPdf(pdf, PdfService.CompressionPreset.EBOOK);
+    }
+
+    @Benchmark
+    public PdfService.PdfInfo getPdfInfo() throws IOException {
+        return pdfService.getPdfInfo(pdf);
+    }
+}
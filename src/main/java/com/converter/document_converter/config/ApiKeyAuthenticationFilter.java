@@ -0,0 +1,72 @@
+package com.converter.document_converter.config;
+
+import com.converter.document_converter.service.ApiKeyIndex;
+import com.converter.document_converter.service.UserContextCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// X-API-Key 헤더로 API 클라이언트 인증
+// 헤더가 없으면 익명 요청으로 통과 (사용자 ID 없이 처리), 잘못된 키면 401, 비활성 계정이면 403
+// 요청 파라미터는 읽지 않음 (multipart 본문을 미리 파싱하지 않도록)
+public class ApiKeyAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-API-Key";
+
+    private final ApiKeyIndex apiKeyIndex;
+
+    public ApiKeyAuthenticationFilter(ApiKeyIndex apiKeyIndex) {
+        this.apiKeyIndex = apiKeyIndex;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String apiKey = request.getHeader(HEADER);
+        if (apiKey == null || apiKey.isBlank()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        UserContextCache.UserContext user = apiKeyIndex.resolve(apiKey.trim()).orElse(null);
+        if (user == null) {
+            reject(response, HttpStatus.UNAUTHORIZED, "유효하지 않은 API 키입니다.");
+            return;
+        }
+        if (!user.active()) {
+            reject(response, HttpStatus.FORBIDDEN, "비활성화된 계정입니다.");
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken authentication = UsernamePasswordAuthenticationToken.authenticated(
+                user, null, List.of(new SimpleGrantedAuthority("ROLE_" + user.role().name())));
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,22 @@
+package com.converter.document_converter.config;
+
+import com.converter.document_converter.service.UserContextCache;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// 현재 요청의 사용자 ID
+// API 키로 인증된 요청만 사용자로 봄 - 요청 파라미터로 넘어온 사용자 ID는 믿지 않음
+public final class CurrentUser {
+
+    private CurrentUser() {
+    }
+
+    // 인증되지 않은 요청이면 null (사용량을 집계하지 않는 익명 요청)
+    public static Long userId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserContextCache.UserContext user) {
+            return user.id();
+        }
+        return null;
+    }
+}
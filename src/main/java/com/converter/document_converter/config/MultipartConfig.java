@@ -0,0 +1,29 @@
+package com.converter.document_converter.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+import org.springframework.web.servlet.DispatcherServlet;
+
+@Configuration
+public class MultipartConfig {
+
+    public static final String STREAMING_PATH = "/stream/";
+
+    // 스트리밍 업로드(/stream/**)는 컨트롤러가 요청 본문을 직접 읽으므로 미리 파싱하지 않음
+    // 나머지 요청은 기본 설정 그대로
+    @Bean(name = DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+    public StandardServletMultipartResolver multipartResolver(MultipartProperties properties) {
+        StandardServletMultipartResolver resolver = new StandardServletMultipartResolver() {
+            @Override
+            public boolean isMultipart(HttpServletRequest request) {
+                String path = request.getRequestURI().substring(request.getContextPath().length());
+                return !path.startsWith(STREAMING_PATH) && super.isMultipart(request);
+            }
+        };
+        resolver.setResolveLazily(properties.isResolveLazily());
+        return resolver;
+    }
+}
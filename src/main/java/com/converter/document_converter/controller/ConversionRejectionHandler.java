@@ -0,0 +1,26 @@
+package com.converter.document_converter.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+// 스트리밍 응답 본문(StreamingResponseBody) 안에서 메모리 예약이 거절된 경우
+// 아직 아무것도 기록하지 않았으므로 503 + Retry-After로 바꿔서 응답
+// (본문 형식이 PDF/ZIP으로 정해져 있으므로 Content-Type을 JSON으로 다시 지정)
+@ControllerAdvice
+public class ConversionRejectionHandler {
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleRejected(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("error", e.getMessage()));
+    }
+}
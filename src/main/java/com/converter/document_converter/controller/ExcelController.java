@@ -0,0 +1,109 @@
+package com.converter.document_converter.controller;
+
+import com.converter.document_converter.config.CurrentUser;
+import com.converter.document_converter.service.ConversionResultStore;
+import com.converter.document_converter.service.SpreadsheetService;
+import com.converter.document_converter.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+// 엑셀 변환 API (결과는 만들어지는 대로 응답 스트림에 기록)
+@Controller
+@RequestMapping("/excel")
+@RequiredArgsConstructor
+public class ExcelController {
+
+    private static final MediaType XLSX =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private final SpreadsheetService spreadsheetService;
+    private final UserService userService;
+    private final ConversionResultStore resultStore;
+
+    // XLSX -> CSV API
+    @PostMapping("/api/to-csv")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> xlsxToCsv(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sheet", required = false) Integer sheet
+    ) {
+        try {
+            checkUsage(file);
+
+            StreamingResponseBody body = outputStream -> spreadsheetService.xlsxToCsv(file, sheet, outputStream);
+
+            return ResultResponses.stream(resultStore, baseName(file) + ".csv",
+                    new MediaType("text", "csv", StandardCharsets.UTF_8), body);
+
+        } catch (RuntimeException e) {
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // XLSX -> PDF API
+    @PostMapping("/api/to-pdf")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> xlsxToPdf(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sheet", required = false) Integer sheet
+    ) {
+        try {
+            checkUsage(file);
+
+            StreamingResponseBody body = outputStream -> spreadsheetService.xlsxToPdf(file, sheet, outputStream);
+
+            return ResultResponses.stream(resultStore, baseName(file) + ".pdf", MediaType.APPLICATION_PDF, body);
+
+        } catch (RuntimeException e) {
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // CSV -> XLSX API (encoding: CSV 문자 인코딩, 엑셀에서 저장한 한글 CSV는 MS949)
+    @PostMapping("/api/from-csv")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> csvToXlsx(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "encoding", defaultValue = "UTF-8") String encoding
+    ) {
+        try {
+            Charset charset = SpreadsheetService.checkCharset(encoding);
+            checkUsage(file);
+
+            StreamingResponseBody body = outputStream -> spreadsheetService.csvToXlsx(file, charset, outputStream);
+
+            return ResultResponses.stream(resultStore, baseName(file) + ".xlsx", XLSX, body);
+
+        } catch (RuntimeException e) {
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // ===== Helper 메서드 =====
+    private void checkUsage(MultipartFile file) {
+        // 사용자 체크 (API 키로 인증된 요청만 사용량 집계)
+        Long userId = CurrentUser.userId();
+        if (userId != null) {
+            userService.checkFileSize(userId, file.getSize());
+            userService.incrementUsage(userId);
+        }
+    }
+
+    private String baseName(MultipartFile file) {
+        String fileName = file.getOriginalFilename();
+        if (fileName == null || fileName.isBlank()) {
+            return "converted";
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+}
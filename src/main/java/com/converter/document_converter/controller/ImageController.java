@@ -1,9 +1,12 @@
 package com.converter.document_converter.controller;
 
+import com.converter.document_converter.config.CurrentUser;
 import com.converter.document_converter.entity.User;
+import com.converter.document_converter.service.ConversionResultStore;
 import com.converter.document_converter.service.ImageService;
 import com.converter.document_converter.service.UserService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -12,10 +15,14 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
+@Slf4j
 @Controller
 @RequestMapping("/image")
 @RequiredArgsConstructor
@@ -23,6 +30,7 @@ public class ImageController {
 
     private final ImageService imageService;
     private final UserService userService;
+    private final ConversionResultStore resultStore;
 
     @GetMapping("/resize")
     public String resizePage() {
@@ -39,29 +47,35 @@ public class ImageController {
     public ResponseEntity<?> resizeImage(
             @RequestParam("file") MultipartFile file,
             @RequestParam("width") int width,
-            @RequestParam("height") int height,
-            @RequestParam(value = "userId", required = false) Long userId
+            @RequestParam("height") int height
     ) {
         try {
-            // 사용자 체크
+            // 헤더만 읽어 형식/크기를 먼저 확인 (디코딩할 수 없는 요청은 사용량을 차감하지 않고 거절)
+            ImageService.ImageProbe probe = imageService.probeForResize(file, width, height);
+
+            // 사용자 체크 (API 키로 인증된 요청만 사용량 집계)
+            Long userId = CurrentUser.userId();
             if (userId != null) {
                 userService.checkFileSize(userId, file.getSize());
                 userService.incrementUsage(userId, User.FeatureType.IMAGE_RESIZE);
             }
 
-            byte[] resizedImage = imageService.resizeImage(file, width, height);
-            ByteArrayResource resource = new ByteArrayResource(resizedImage);
+            byte[] resizedImage = imageService.resizeImage(file, probe, width, height);
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=resized_" + file.getOriginalFilename())
-                    .contentType(MediaType.IMAGE_JPEG)
-                    .contentLength(resizedImage.length)
-                    .body(resource);
+            return ResultResponses.ok(resultStore.save("resized_" + file.getOriginalFilename(),
+                            MediaType.IMAGE_JPEG_VALUE, resizedImage))
+                    .body(new ByteArrayResource(resizedImage));
 
+        } catch (RejectedExecutionException e) {
+            // 메모리 여유가 없어 거절된 변환 - 잠시 뒤 다시 시도하도록 안내
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
         } catch (IOException e) {
+            log.error("이미지 리사이즈 실패: {}", file.getOriginalFilename(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "파일 처리 중 오류가 발생했습니다."));
         }
@@ -71,31 +85,75 @@ public class ImageController {
     @ResponseBody
     public ResponseEntity<?> compressImage(
             @RequestParam("file") MultipartFile file,
-            @RequestParam("quality") double quality,
-            @RequestParam(value = "userId", required = false) Long userId
+            @RequestParam("quality") double quality
     ) {
         try {
-            // 사용자 체크
+            ImageService.ImageProbe probe = imageService.probeForCompress(file, quality);
+
+            // 사용자 체크 (API 키로 인증된 요청만 사용량 집계)
+            Long userId = CurrentUser.userId();
             if (userId != null) {
                 userService.checkFileSize(userId, file.getSize());
                 userService.incrementUsage(userId, User.FeatureType.IMAGE_COMPRESS);
             }
 
-            byte[] compressedImage = imageService.compressImage(file, quality);
-            ByteArrayResource resource = new ByteArrayResource(compressedImage);
+            byte[] compressedImage = imageService.compressImage(file, probe, quality);
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=compressed_" + file.getOriginalFilename())
-                    .contentType(MediaType.IMAGE_JPEG)
-                    .contentLength(compressedImage.length)
-                    .body(resource);
+            return ResultResponses.ok(resultStore.save("compressed_" + file.getOriginalFilename(),
+                            MediaType.IMAGE_JPEG_VALUE, compressedImage))
+                    .body(new ByteArrayResource(compressedImage));
 
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
         } catch (IOException e) {
+            log.error("이미지 압축 실패: {}", file.getOriginalFilename(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "파일 처리 중 오류가 발생했습니다."));
         }
     }
-}
\ No newline at end of file
+
+    // 이미지 일괄 처리 API (operation: resize / compress) - 결과는 ZIP으로 스트리밍
+    @PostMapping("/api/batch")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> processBatch(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam("operation") String operation,
+            @RequestParam(value = "width", defaultValue = "0") int width,
+            @RequestParam(value = "height", defaultValue = "0") int height,
+            @RequestParam(value = "quality", defaultValue = "0.8") double quality
+    ) {
+        try {
+            ImageService.BatchOperation batchOperation = ImageService.BatchOperation.valueOf(operation.toUpperCase());
+            if (batchOperation == ImageService.BatchOperation.RESIZE && (width <= 0 || height <= 0)) {
+                throw new RuntimeException("리사이즈할 가로/세로 크기를 입력해주세요.");
+            }
+
+            Long userId = CurrentUser.userId();
+            if (userId != null) {
+                // 파일 크기는 개별 파일 기준, 사용량은 파일 수만큼 한 번에 차감
+                long largestFile = files.stream().mapToLong(MultipartFile::getSize).max().orElse(0);
+                userService.checkFileSize(userId, largestFile);
+
+                User.FeatureType feature = batchOperation == ImageService.BatchOperation.RESIZE
+                        ? User.FeatureType.IMAGE_RESIZE
+                        : User.FeatureType.IMAGE_COMPRESS;
+                userService.incrementUsage(userId, feature, files.size());
+            }
+
+            StreamingResponseBody body = outputStream ->
+                    imageService.processBatch(files, batchOperation, width, height, quality, outputStream);
+
+            return ResultResponses.stream(resultStore, "images.zip", MediaType.APPLICATION_OCTET_STREAM, body);
+
+        } catch (IllegalArgumentException e) {
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, "지원하지 않는 작업입니다: " + operation);
+        } catch (RuntimeException e) {
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
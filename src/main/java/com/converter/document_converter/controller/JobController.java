@@ -0,0 +1,363 @@
+package com.converter.document_converter.controller;
+
+import com.converter.document_converter.config.CurrentUser;
+import com.converter.document_converter.entity.User;
+import com.converter.document_converter.service.ConversionJobService;
+import com.converter.document_converter.service.ConversionResultStore;
+import com.converter.document_converter.service.ImageService;
+import com.converter.document_converter.service.PdfService;
+import com.converter.document_converter.service.SpreadsheetService;
+import com.converter.document_converter.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+// 비동기 변환 작업 API
+// 작업을 등록하면 바로 jobId를 돌려주고, 상태 조회 후 완료되면 다운로드
+@RestController
+@RequestMapping("/jobs")
+@RequiredArgsConstructor
+public class JobController {
+
+    private final ConversionJobService jobService;
+    private final ConversionResultStore resultStore;
+    private final PdfService pdfService;
+    private final ImageService imageService;
+    private final SpreadsheetService spreadsheetService;
+    private final UserService userService;
+
+    // PDF 병합 작업 (dedupe=true면 문서 사이에 겹치는 스트림을 한 벌만 남김)
+    @PostMapping("/api/pdf/merge")
+    public ResponseEntity<?> mergePdf(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "dedupe", defaultValue = "false") boolean dedupe
+    ) {
+        return submit(User.FeatureType.PDF_MERGE, files, "pdf-merge",
+                "merged.pdf", MediaType.APPLICATION_PDF_VALUE,
+                (inputs, outputStream, progress) -> pdfService.mergePdfs(inputs, dedupe, outputStream, progress));
+    }
+
+    // 이미지 -> PDF 작업
+    @PostMapping("/api/pdf/images-to-pdf")
+    public ResponseEntity<?> imagesToPdf(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "maxSize", required = false) Integer maxSize,
+            @RequestParam(value = "quality", required = false) Double quality
+    ) {
+        try {
+            PdfService.checkImagesToPdfOptions(maxSize, quality);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+
+        return submit(null, files, "pdf-images",
+                "images.pdf", MediaType.APPLICATION_PDF_VALUE,
+                (inputs, outputStream, progress) ->
+                        pdfService.imagesToPdf(inputs, maxSize, quality, outputStream, progress));
+    }
+
+    // PDF 분할 작업 (전체 페이지)
+    @PostMapping("/api/pdf/split")
+    public ResponseEntity<?> splitPdf(
+            @RequestParam("file") MultipartFile file
+    ) {
+        return submit(User.FeatureType.PDF_SPLIT, List.of(file), "pdf-split",
+                "split_pages.zip", MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                (inputs, outputStream, progress) -> pdfService.splitPdfByPage(inputs.get(0), outputStream, progress));
+    }
+
+    // PDF 분할 작업 (범위 지정, pages에 여러 범위 "1-3,10,50-55" 또는 startPage~endPage)
+    @PostMapping("/api/pdf/split-range")
+    public ResponseEntity<?> splitPdfRange(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "startPage", required = false) Integer startPage,
+            @RequestParam(value = "endPage", required = false) Integer endPage,
+            @RequestParam(value = "pages", required = false) String pages
+    ) {
+        List<PdfService.PageRange> ranges;
+        try {
+            ranges = PdfService.checkPageRanges(pages, startPage, endPage);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+
+        return submit(User.FeatureType.PDF_SPLIT, List.of(file), "pdf-split-range",
+                PdfService.PageRange.fileName(ranges), MediaType.APPLICATION_PDF_VALUE,
+                (inputs, outputStream, progress) -> {
+                    progress.onProgress(0, 1);
+                    outputStream.write(pdfService.extractPageRanges(inputs.get(0), ranges));
+                    progress.onProgress(1, 1);
+                });
+    }
+
+    // PDF 압축 작업
+    @PostMapping("/api/pdf/compress")
+    public ResponseEntity<?> compressPdf(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "preset", defaultValue = "ebook") String preset
+    ) {
+        PdfService.CompressionPreset compressionPreset;
+        try {
+            compressionPreset = PdfService.CompressionPreset.valueOf(preset.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "지원하지 않는 압축 프리셋입니다: " + preset));
+        }
+
+        return submit(null, List.of(file), "pdf-compress",
+                "compressed.pdf", MediaType.APPLICATION_PDF_VALUE,
+                (inputs, outputStream, progress) ->
+                        outputStream.write(pdfService.compressPdf(inputs.get(0), compressionPreset, progress).getData()));
+    }
+
+    // PDF 페이지 이미지 변환 작업
+    @PostMapping("/api/pdf/render")
+    public ResponseEntity<?> renderPdf(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "tier", defaultValue = "standard") String tier,
+            @RequestParam(value = "dpi", required = false) Integer dpi,
+            @RequestParam(value = "format", required = false) String format
+    ) {
+        PdfService.RenderTier renderTier;
+        try {
+            renderTier = PdfService.RenderTier.valueOf(tier.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "지원하지 않는 렌더링 단계입니다: " + tier));
+        }
+
+        int renderDpi;
+        String renderFormat;
+        try {
+            renderDpi = PdfService.checkRenderDpi(dpi != null ? dpi : renderTier.getDpi());
+            renderFormat = PdfService.checkRenderFormat(format != null ? format : renderTier.getFormat());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+
+        return submit(null, List.of(file), "pdf-render",
+                "pages.zip", MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                (inputs, outputStream, progress) ->
+                        pdfService.renderPages(inputs.get(0), renderDpi, renderFormat, outputStream, progress));
+    }
+
+    // 이미지 리사이즈 작업
+    @PostMapping("/api/image/resize")
+    public ResponseEntity<?> resizeImage(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("width") int width,
+            @RequestParam("height") int height
+    ) {
+        // 헤더만 읽어 먼저 확인 (작업 등록/사용량 차감 전에 거절)
+        ImageService.ImageProbe probe;
+        try {
+            probe = imageService.probeForResize(file, width, height);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "파일 처리 중 오류가 발생했습니다."));
+        }
+
+        return submit(User.FeatureType.IMAGE_RESIZE, List.of(file), "image-resize",
+                "resized_" + file.getOriginalFilename(), MediaType.IMAGE_JPEG_VALUE,
+                (inputs, outputStream, progress) -> {
+                    progress.onProgress(0, 1);
+                    outputStream.write(imageService.resizeImage(inputs.get(0), probe, width, height));
+                    progress.onProgress(1, 1);
+                });
+    }
+
+    // 이미지 압축 작업
+    @PostMapping("/api/image/compress")
+    public ResponseEntity<?> compressImage(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam("quality") double quality
+    ) {
+        ImageService.ImageProbe probe;
+        try {
+            probe = imageService.probeForCompress(file, quality);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "파일 처리 중 오류가 발생했습니다."));
+        }
+
+        return submit(User.FeatureType.IMAGE_COMPRESS, List.of(file), "image-compress",
+                "compressed_" + file.getOriginalFilename(), MediaType.IMAGE_JPEG_VALUE,
+                (inputs, outputStream, progress) -> {
+                    progress.onProgress(0, 1);
+                    outputStream.write(imageService.compressImage(inputs.get(0), probe, quality));
+                    progress.onProgress(1, 1);
+                });
+    }
+
+    // XLSX -> CSV 작업
+    @PostMapping("/api/excel/to-csv")
+    public ResponseEntity<?> xlsxToCsv(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sheet", required = false) Integer sheet
+    ) {
+        return submit(null, List.of(file), "xlsx-csv",
+                "converted.csv", "text/csv;charset=UTF-8",
+                (inputs, outputStream, progress) -> {
+                    progress.onProgress(0, 1);
+                    spreadsheetService.xlsxToCsv(inputs.get(0), sheet, outputStream);
+                    progress.onProgress(1, 1);
+                });
+    }
+
+    // XLSX -> PDF 작업
+    @PostMapping("/api/excel/to-pdf")
+    public ResponseEntity<?> xlsxToPdf(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "sheet", required = false) Integer sheet
+    ) {
+        return submit(null, List.of(file), "xlsx-pdf",
+                "converted.pdf", MediaType.APPLICATION_PDF_VALUE,
+                (inputs, outputStream, progress) -> {
+                    progress.onProgress(0, 1);
+                    spreadsheetService.xlsxToPdf(inputs.get(0), sheet, outputStream);
+                    progress.onProgress(1, 1);
+                });
+    }
+
+    // CSV -> XLSX 작업
+    @PostMapping("/api/excel/from-csv")
+    public ResponseEntity<?> csvToXlsx(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "encoding", defaultValue = "UTF-8") String encoding
+    ) {
+        Charset charset;
+        try {
+            charset = SpreadsheetService.checkCharset(encoding);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        }
+
+        return submit(null, List.of(file), "csv-xlsx",
+                "converted.xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+                (inputs, outputStream, progress) -> {
+                    progress.onProgress(0, 1);
+                    spreadsheetService.csvToXlsx(inputs.get(0), charset, outputStream);
+                    progress.onProgress(1, 1);
+                });
+    }
+
+    // 작업 상태 조회
+    @GetMapping("/api/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String jobId) {
+        return jobService.getJob(jobId)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(toResponse(job)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "작업을 찾을 수 없습니다.")));
+    }
+
+    // 작업 결과 다운로드 (Range로 이어 받기 가능)
+    @GetMapping("/api/{jobId}/download")
+    public ResponseEntity<?> download(@PathVariable String jobId, HttpServletRequest request,
+                                      HttpServletResponse response) throws IOException {
+        ConversionJobService.ConversionJob job = jobService.getJob(jobId).orElse(null);
+        if (job == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "작업을 찾을 수 없습니다."));
+        }
+        if (job.getStatus() != ConversionJobService.JobStatus.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(toResponse(job));
+        }
+
+        ConversionResultStore.StoredResult result = resultStore.find(job.getResultId()).orElse(null);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.GONE)
+                    .body(Map.of("error", "결과 보관 시간이 지났습니다. 작업을 다시 등록해주세요."));
+        }
+
+        ResultResponses.serve(result, request, response);
+        return null;
+    }
+
+    // ===== Helper 메서드 =====
+    private ResponseEntity<?> submit(User.FeatureType feature, List<MultipartFile> files,
+                                     String operation, String resultFileName, String resultContentType,
+                                     ConversionJobService.JobTask task) {
+        try {
+            Long userId = CurrentUser.userId();
+            if (userId != null) {
+                long totalSize = files.stream().mapToLong(MultipartFile::getSize).sum();
+                userService.checkFileSize(userId, totalSize);
+
+                if (feature != null) {
+                    userService.incrementUsage(userId, feature);
+                } else {
+                    userService.incrementUsage(userId);
+                }
+            }
+
+            ConversionJobService.ConversionJob job;
+            try {
+                job = jobService.submit(operation, files, resultFileName, resultContentType, task);
+            } catch (RejectedExecutionException | IOException e) {
+                // 접수되지 못한 작업은 사용량에서 빼줌
+                if (userId != null) {
+                    userService.refundUsage(userId, feature, 1);
+                }
+                throw e;
+            }
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(toResponse(job));
+
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(Map.of("error", "파일 처리 중 오류가 발생했습니다."));
+        }
+    }
+
+    private Map<String, Object> toResponse(ConversionJobService.ConversionJob job) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("jobId", job.getId());
+        response.put("operation", job.getOperation());
+        response.put("status", job.getStatus());
+        response.put("progressDone", job.getProgressDone());
+        response.put("progressTotal", job.getProgressTotal());
+        response.put("createdAt", job.getCreatedAt());
+        response.put("statusUrl", "/jobs/api/" + job.getId());
+
+        if (job.getStatus() == ConversionJobService.JobStatus.COMPLETED) {
+            response.put("downloadUrl", "/jobs/api/" + job.getId() + "/download");
+            response.put("resultUrl", ResultResponses.location(job.getResultId()));
+        }
+        if (job.getError() != null) {
+            response.put("error", job.getError());
+        }
+        return response;
+    }
+}
@@ -1,9 +1,14 @@
 package com.converter.document_converter.controller;
 
+import com.converter.document_converter.config.CurrentUser;
 import com.converter.document_converter.entity.User;
+import com.converter.document_converter.service.ConversionResultStore;
 import com.converter.document_converter.service.PdfService;
+import com.converter.document_converter.service.ProgressListener;
 import com.converter.document_converter.service.UserService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
@@ -13,11 +18,15 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
+@Slf4j
 @Controller
 @RequestMapping("/pdf")
 @RequiredArgsConstructor
@@ -25,6 +34,7 @@ public class PdfController {
 
     private final PdfService pdfService;
     private final UserService userService;
+    private final ConversionResultStore resultStore;
 
     // PDF 합치기 페이지
     @GetMapping("/merge")
@@ -38,14 +48,17 @@ public class PdfController {
         return "pdf-split";
     }
 
-    // PDF 병합 API
+    // PDF 병합 API (dedupe=true면 문서 사이에 겹치는 글꼴/이미지/ICC 프로파일을 한 벌만 남김)
     @PostMapping("/api/merge")
     @ResponseBody
-    public ResponseEntity<?> mergePdf(
+    public ResponseEntity<StreamingResponseBody> mergePdf(
             @RequestParam("files") List<MultipartFile> files,
-            @RequestParam(value = "userId", required = false) Long userId
+            @RequestParam(value = "dedupe", defaultValue = "false") boolean dedupe,
+            HttpServletResponse response
     ) {
         try {
+            Long userId = CurrentUser.userId();
+
             // 로그인한 사용자면 사용량 체크
             if (userId != null) {
                 // 파일 크기 체크
@@ -56,89 +69,200 @@ public class PdfController {
                 userService.incrementUsage(userId, User.FeatureType.PDF_MERGE);
             }
 
-            byte[] mergedPdf = pdfService.mergePdfs(files);
-            ByteArrayResource resource = new ByteArrayResource(mergedPdf);
+            // 병합 결과를 응답 스트림에 바로 기록 (힙에 결과 전체를 올리지 않음)
+            AtomicReference<PdfService.DedupeResult> dedupeResult = new AtomicReference<>();
+            StreamingResponseBody body = outputStream -> pdfService.mergePdfs(files, dedupe, outputStream,
+                    ProgressListener.NONE).ifPresent(dedupeResult::set);
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=merged.pdf")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .contentLength(mergedPdf.length)
-                    .body(resource);
+            // 줄인 크기는 본문을 다 쓴 뒤에야 알 수 있으므로 헤더 대신 trailer로 보냄 (캐시에서 보낸 결과면 생략)
+            if (dedupe) {
+                try {
+                    response.setTrailerFields(() -> dedupeResult.get() == null ? Map.of() : Map.of(
+                            "X-Dedupe-Streams-Removed", String.valueOf(dedupeResult.get().streamsRemoved()),
+                            "X-Dedupe-Bytes-Saved", String.valueOf(dedupeResult.get().bytesSaved())));
+                    response.setHeader(HttpHeaders.TRAILER, "X-Dedupe-Streams-Removed, X-Dedupe-Bytes-Saved");
+                } catch (IllegalStateException e) {
+                    // HTTP/1.0처럼 trailer를 보낼 수 없는 연결 - 결과만 보냄
+                }
+            }
+
+            return ResultResponses.stream(resultStore, "merged.pdf", MediaType.APPLICATION_PDF, body);
 
         } catch (RuntimeException e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(Map.of("error", e.getMessage()));
-        } catch (IOException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "파일 처리 중 오류가 발생했습니다."));
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // 이미지 -> PDF API (이미지마다 한 페이지)
+    @PostMapping("/api/images-to-pdf")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> imagesToPdf(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "maxSize", required = false) Integer maxSize,
+            @RequestParam(value = "quality", required = false) Double quality
+    ) {
+        try {
+            PdfService.checkImagesToPdfOptions(maxSize, quality);
+
+            Long userId = CurrentUser.userId();
+            if (userId != null) {
+                long totalSize = files.stream().mapToLong(MultipartFile::getSize).sum();
+                userService.checkFileSize(userId, totalSize);
+                userService.incrementUsage(userId);
+            }
+
+            // 페이지를 붙인 결과를 응답 스트림에 바로 기록
+            StreamingResponseBody body = outputStream -> pdfService.imagesToPdf(files, maxSize, quality, outputStream);
+
+            return ResultResponses.stream(resultStore, "images.pdf", MediaType.APPLICATION_PDF, body);
+
+        } catch (RuntimeException e) {
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
         }
     }
 
     // PDF 분할 API (전체 페이지)
     @PostMapping("/api/split")
     @ResponseBody
-    public ResponseEntity<?> splitPdf(
-            @RequestParam("file") MultipartFile file,
-            @RequestParam(value = "userId", required = false) Long userId
+    public ResponseEntity<StreamingResponseBody> splitPdf(
+            @RequestParam("file") MultipartFile file
     ) {
         try {
-            // 사용자 체크
+            // 사용자 체크 (API 키로 인증된 요청만 사용량 집계)
+            Long userId = CurrentUser.userId();
             if (userId != null) {
                 userService.checkFileSize(userId, file.getSize());
                 userService.incrementUsage(userId, User.FeatureType.PDF_SPLIT);
             }
 
-            byte[] zipFile = pdfService.splitPdfByPage(file);
-            ByteArrayResource resource = new ByteArrayResource(zipFile);
+            // 페이지를 하나씩 ZIP 엔트리로 응답 스트림에 바로 기록
+            StreamingResponseBody body = outputStream -> pdfService.splitPdfByPage(file, outputStream);
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=split_pages.zip")
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .contentLength(zipFile.length)
-                    .body(resource);
+            return ResultResponses.stream(resultStore, "split_pages.zip", MediaType.APPLICATION_OCTET_STREAM, body);
 
+        } catch (RuntimeException e) {
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    // PDF 분할 API (범위 지정)
+    // pages에 여러 범위("1-3,10,50-55")를 주거나, startPage~endPage로 한 범위를 지정
+    @PostMapping("/api/split-range")
+    @ResponseBody
+    public ResponseEntity<?> splitPdfRange(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "startPage", required = false) Integer startPage,
+            @RequestParam(value = "endPage", required = false) Integer endPage,
+            @RequestParam(value = "pages", required = false) String pages
+    ) {
+        try {
+            // 범위 형식은 사용량을 차감하기 전에 검사
+            List<PdfService.PageRange> ranges = PdfService.checkPageRanges(pages, startPage, endPage);
+
+            Long userId = CurrentUser.userId();
+            if (userId != null) {
+                userService.checkFileSize(userId, file.getSize());
+                userService.incrementUsage(userId, User.FeatureType.PDF_SPLIT);
+            }
+
+            byte[] splitPdf = pdfService.extractPageRanges(file, ranges);
+
+            return ResultResponses.ok(resultStore.save(PdfService.PageRange.fileName(ranges),
+                            MediaType.APPLICATION_PDF_VALUE, splitPdf))
+                    .body(new ByteArrayResource(splitPdf));
+        } catch (RejectedExecutionException e) {
+            // 메모리 여유가 없어 거절된 변환 - 잠시 뒤 다시 시도하도록 안내
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
         } catch (IOException e) {
+            log.error("PDF 범위 분할 실패: {}", file.getOriginalFilename(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "파일 처리 중 오류가 발생했습니다."));
         }
     }
 
-    // PDF 분할 API (범위 지정)
-    @PostMapping("/api/split-range")
+    // PDF 압축 API (preset: screen / ebook / print)
+    @PostMapping("/api/compress")
     @ResponseBody
-    public ResponseEntity<?> splitPdfRange(
+    public ResponseEntity<?> compressPdf(
             @RequestParam("file") MultipartFile file,
-            @RequestParam("startPage") int startPage,
-            @RequestParam("endPage") int endPage,
-            @RequestParam(value = "userId", required = false) Long userId
+            @RequestParam(value = "preset", defaultValue = "ebook") String preset
     ) {
         try {
+            PdfService.CompressionPreset compressionPreset =
+                    PdfService.CompressionPreset.valueOf(preset.toUpperCase());
+
+            Long userId = CurrentUser.userId();
             if (userId != null) {
                 userService.checkFileSize(userId, file.getSize());
-                userService.incrementUsage(userId, User.FeatureType.PDF_SPLIT);
+                userService.incrementUsage(userId);
             }
 
-            byte[] splitPdf = pdfService.splitPdfByRange(file, startPage, endPage);
-            ByteArrayResource resource = new ByteArrayResource(splitPdf);
+            PdfService.CompressionResult result = pdfService.compressPdf(file, compressionPreset);
+            ByteArrayResource resource = new ByteArrayResource(result.getData());
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=pages_" + startPage + "_to_" + endPage + ".pdf")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .contentLength(splitPdf.length)
+            // 압축 전후 크기는 헤더로 함께 전달
+            return ResultResponses.ok(resultStore.save("compressed.pdf", MediaType.APPLICATION_PDF_VALUE, result.getData()))
+                    .header("X-Original-Size", String.valueOf(result.getOriginalSize()))
+                    .header("X-Compressed-Size", String.valueOf(result.getCompressedSize()))
+                    .header("X-Images-Recompressed", String.valueOf(result.getImagesRecompressed()))
+                    .header("X-Duplicate-Images-Removed", String.valueOf(result.getDuplicatesRemoved()))
+                    .header("X-Cache", result.isCached() ? "HIT" : "MISS")
                     .body(resource);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "지원하지 않는 압축 프리셋입니다: " + preset));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("error", e.getMessage()));
         } catch (IOException e) {
+            log.error("PDF 압축 실패: {}", file.getOriginalFilename(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "파일 처리 중 오류가 발생했습니다."));
         }
     }
 
+    // PDF 페이지 이미지 변환 API (tier: thumbnail / preview / standard / high, dpi/format으로 직접 지정 가능)
+    @PostMapping("/api/render")
+    @ResponseBody
+    public ResponseEntity<StreamingResponseBody> renderPdf(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "tier", defaultValue = "standard") String tier,
+            @RequestParam(value = "dpi", required = false) Integer dpi,
+            @RequestParam(value = "format", required = false) String format
+    ) {
+        try {
+            PdfService.RenderTier renderTier = PdfService.RenderTier.valueOf(tier.toUpperCase());
+            int renderDpi = PdfService.checkRenderDpi(dpi != null ? dpi : renderTier.getDpi());
+            String renderFormat = PdfService.checkRenderFormat(format != null ? format : renderTier.getFormat());
+
+            Long userId = CurrentUser.userId();
+            if (userId != null) {
+                userService.checkFileSize(userId, file.getSize());
+                userService.incrementUsage(userId);
+            }
+
+            // 끝난 페이지부터 ZIP 엔트리로 응답 스트림에 바로 기록
+            StreamingResponseBody body = outputStream ->
+                    pdfService.renderPages(file, renderDpi, renderFormat, outputStream);
+
+            return ResultResponses.stream(resultStore, "pages.zip", MediaType.APPLICATION_OCTET_STREAM, body);
+
+        } catch (IllegalArgumentException e) {
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, "지원하지 않는 렌더링 단계입니다: " + tier);
+        } catch (RuntimeException e) {
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     // PDF 정보 조회 API
     @PostMapping("/api/info")
     @ResponseBody
@@ -160,4 +284,5 @@ public class PdfController {
                     .body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+}
@@ -0,0 +1,45 @@
+package com.converter.document_converter.controller;
+
+import com.converter.document_converter.service.ConversionResultStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Map;
+
+// 보관된 변환 결과 다시 받기
+// 변환 응답의 Content-Location(/results/{id})으로 요청 - 끊긴 다운로드는 Range/If-Range로 이어 받음
+@RestController
+@RequestMapping("/results")
+@RequiredArgsConstructor
+public class ResultController {
+
+    private final ConversionResultStore resultStore;
+
+    @GetMapping("/{id}")
+    public ResponseEntity<?> download(@PathVariable String id, HttpServletRequest request,
+                                      HttpServletResponse response) throws IOException {
+        ConversionResultStore.StoredResult result = resultStore.find(id).orElse(null);
+        if (result == null) {
+            // 처음 응답이 아직 변환 중
+            if (resultStore.isPending(id)) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .body(Map.of("error", "결과를 아직 만드는 중입니다. 잠시 후 다시 시도해주세요."));
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("error", "결과를 찾을 수 없습니다. 보관 시간이 지났을 수 있습니다."));
+        }
+
+        ResultResponses.serve(result, request, response);
+        return null;
+    }
+}
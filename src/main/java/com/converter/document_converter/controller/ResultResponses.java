@@ -0,0 +1,169 @@
+package com.converter.document_converter.controller;
+
+import com.converter.document_converter.service.ConversionResultStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// 결과 보관소(ConversionResultStore)를 거치는 응답
+// 처음 응답: 본문은 그대로 보내고 ETag와 Content-Location(/results/{id})을 함께 보냄
+// 다시 받기: 보관된 파일을 힙을 거치지 않고 보냄 (Tomcat sendfile, 안 되면 FileChannel.transferTo)
+//           Range(한 구간), If-Range, If-None-Match 지원 - 끊긴 다운로드는 받은 곳부터 이어 받음
+final class ResultResponses {
+
+    // 응답을 마친 뒤 Tomcat이 파일을 소켓으로 바로 보내게 하는 요청 속성 (DefaultServlet과 같은 방식)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    // 이보다 작으면 바로 쓰는 편이 빠름 (Tomcat DefaultServlet의 sendfileSize 기본값)
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private ResultResponses() {
+    }
+
+    static String location(String id) {
+        return "/results/" + id;
+    }
+
+    // 따옴표로 감싼 filename과 UTF-8 filename* (공백, 세미콜론, 한글 이름도 그대로 내려감)
+    static String contentDisposition(String fileName) {
+        return ContentDisposition.attachment().filename(fileName, StandardCharsets.UTF_8).build().toString();
+    }
+
+    // 스트리밍 응답 - 클라이언트로 보내면서 보관소에도 기록
+    static ResponseEntity<StreamingResponseBody> stream(ConversionResultStore store, String fileName,
+                                                        MediaType contentType, StreamingResponseBody body) {
+        String id = ConversionResultStore.newId();
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(fileName))
+                .header(HttpHeaders.CONTENT_LOCATION, location(id))
+                .eTag(ConversionResultStore.eTag(id))
+                .contentType(contentType)
+                .body(outputStream -> {
+                    try (ConversionResultStore.PendingResult result = store.create(id, fileName, contentType.toString())) {
+                        body.writeTo(result.tee(outputStream));
+                        result.commit();
+                    }
+                });
+    }
+
+    // 이미 힙에 있는 결과 - 보관소에 저장한 뒤 본문은 호출한 쪽에서 그대로 보냄
+    static ResponseEntity.BodyBuilder ok(ConversionResultStore.StoredResult result) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(result.fileName()))
+                .header(HttpHeaders.CONTENT_LOCATION, location(result.id()))
+                .eTag(result.getETag())
+                .contentType(MediaType.parseMediaType(result.contentType()))
+                .contentLength(result.size());
+    }
+
+    // 보관된 결과를 파일에서 바로 응답
+    static void serve(ConversionResultStore.StoredResult result, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        long lastModified = result.createdAt().toEpochMilli();
+        // If-None-Match, If-Modified-Since 등 (304/412면 본문 없이 끝), ETag/Last-Modified 헤더도 여기서 설정
+        if (new ServletWebRequest(request, response).checkNotModified(result.getETag(), lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, contentDisposition(result.fileName()));
+        response.setContentType(result.contentType());
+
+        long size = result.size();
+        long start = 0;
+        long end = size - 1;
+        List<HttpRange> ranges = ranges(request, result, lastModified);
+        // 여러 구간을 달라고 하면 전체를 보냄 (이어 받기는 한 구간만 씀)
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException e) {
+                start = size;
+            }
+            if (start >= size || start > end) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+
+        if (length >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, result.file().toFile().getCanonicalPath());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(result.file(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            while (position <= end) {
+                long written = channel.transferTo(position, end + 1 - position, out);
+                if (written <= 0) {
+                    throw new IOException("결과 파일이 예상보다 짧습니다: " + result.id());
+                }
+                position += written;
+            }
+        }
+    }
+
+    // Range 헤더 - If-Range가 지금 결과와 다르면 (또는 형식이 틀리면) 무시하고 전체를 보냄
+    private static List<HttpRange> ranges(HttpServletRequest request, ConversionResultStore.StoredResult result,
+                                          long lastModified) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null || !ifRangeMatches(request, result, lastModified)) {
+            return List.of();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    // If-Range는 ETag(강한 비교) 또는 Last-Modified 날짜
+    private static boolean ifRangeMatches(HttpServletRequest request, ConversionResultStore.StoredResult result,
+                                          long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(result.getETag());
+        }
+        try {
+            // HTTP 날짜는 초 단위
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == lastModified / 1000 * 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
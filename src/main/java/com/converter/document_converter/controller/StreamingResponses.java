@@ -0,0 +1,34 @@
+package com.converter.document_converter.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+
+// 스트리밍 응답 API의 오류 응답
+// ResponseEntity<StreamingResponseBody>로 선언해야 스트리밍으로 처리되므로 오류 JSON도 같은 타입으로 만듦
+final class StreamingResponses {
+
+    private static final ObjectMapper ERROR_WRITER = new ObjectMapper();
+
+    private StreamingResponses() {
+    }
+
+    static ResponseEntity<StreamingResponseBody> error(HttpStatus status, String message) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> ERROR_WRITER.writeValue(outputStream, Map.of("error", message)));
+    }
+
+    // 메모리 여유가 없어 거절된 변환 - 잠시 뒤 다시 시도하도록 안내
+    static ResponseEntity<StreamingResponseBody> unavailable(String message) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(outputStream -> ERROR_WRITER.writeValue(outputStream, Map.of("error", message)));
+    }
+}
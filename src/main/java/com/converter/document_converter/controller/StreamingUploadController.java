@@ -0,0 +1,226 @@
+package com.converter.document_converter.controller;
+
+import com.converter.document_converter.config.CurrentUser;
+import com.converter.document_converter.entity.User;
+import com.converter.document_converter.service.ConversionResultStore;
+import com.converter.document_converter.service.ImageService;
+import com.converter.document_converter.service.PdfService;
+import com.converter.document_converter.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.apache.tomcat.util.http.fileupload.FileItemIterator;
+import org.apache.tomcat.util.http.fileupload.FileItemStream;
+import org.apache.tomcat.util.http.fileupload.FileUpload;
+import org.apache.tomcat.util.http.fileupload.impl.SizeException;
+import org.apache.tomcat.util.http.fileupload.servlet.ServletRequestContext;
+import org.springframework.boot.autoconfigure.web.servlet.MultipartProperties;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+// 대용량 업로드용 스트리밍 API
+// multipart 본문을 미리 임시 파일로 받지 않고, 도착하는 대로 디코더/병합기에 바로 넘김
+// 본문을 건드리지 않도록 파라미터는 쿼리 문자열로만 받음 (request.getParameter는 본문 전체를 파싱함)
+@RestController
+@RequestMapping("/stream")
+@RequiredArgsConstructor
+public class StreamingUploadController {
+
+    private final ImageService imageService;
+    private final PdfService pdfService;
+    private final UserService userService;
+    private final ConversionResultStore resultStore;
+    private final MultipartProperties multipartProperties;
+
+    // 이미지 리사이즈 (?width=&height=)
+    @PostMapping("/api/image/resize")
+    public ResponseEntity<?> resizeImage(HttpServletRequest request) {
+        try {
+            MultiValueMap<String, String> params = queryParams(request);
+            int width = Integer.parseInt(required(params, "width"));
+            int height = Integer.parseInt(required(params, "height"));
+            checkUsage(request, User.FeatureType.IMAGE_RESIZE);
+
+            FileItemStream file = nextFile(parts(request));
+            byte[] resizedImage;
+            try (InputStream inputStream = file.openStream()) {
+                resizedImage = imageService.resizeImage(inputStream, file.getName(), width, height);
+            }
+
+            return ResultResponses.ok(resultStore.save("resized_" + file.getName(),
+                            MediaType.IMAGE_JPEG_VALUE, resizedImage))
+                    .body(new ByteArrayResource(resizedImage));
+
+        } catch (RejectedExecutionException e) {
+            // 메모리 여유가 없어 거절된 변환 - 잠시 뒤 다시 시도하도록 안내
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return uploadError(e);
+        }
+    }
+
+    // 이미지 압축 (?quality=)
+    @PostMapping("/api/image/compress")
+    public ResponseEntity<?> compressImage(HttpServletRequest request) {
+        try {
+            MultiValueMap<String, String> params = queryParams(request);
+            double quality = Double.parseDouble(required(params, "quality"));
+            checkUsage(request, User.FeatureType.IMAGE_COMPRESS);
+
+            FileItemStream file = nextFile(parts(request));
+            byte[] compressedImage;
+            try (InputStream inputStream = file.openStream()) {
+                compressedImage = imageService.compressImage(inputStream, quality);
+            }
+
+            return ResultResponses.ok(resultStore.save("compressed_" + file.getName(),
+                            MediaType.IMAGE_JPEG_VALUE, compressedImage))
+                    .body(new ByteArrayResource(compressedImage));
+
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(Map.of("error", e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", e.getMessage()));
+        } catch (IOException e) {
+            return uploadError(e);
+        }
+    }
+
+    // PDF 병합 - 파일 하나가 도착할 때마다 결과 문서에 붙이고, 마지막에 응답으로 저장
+    @PostMapping("/api/pdf/merge")
+    public ResponseEntity<StreamingResponseBody> mergePdf(HttpServletRequest request) {
+        PdfService.IncrementalMerge merge = null;
+        try {
+            checkUsage(request, User.FeatureType.PDF_MERGE);
+
+            merge = pdfService.startMerge();
+            FileItemIterator parts = parts(request);
+            while (parts.hasNext()) {
+                FileItemStream part = parts.next();
+                if (part.isFormField()) {
+                    continue;
+                }
+                try (InputStream inputStream = part.openStream()) {
+                    merge.append(inputStream);
+                }
+            }
+            if (merge.getDocumentCount() == 0) {
+                throw new RuntimeException("병합할 PDF 파일을 선택해주세요.");
+            }
+
+            PdfService.IncrementalMerge result = merge;
+            merge = null; // 응답을 다 쓴 뒤 닫음
+            StreamingResponseBody body = outputStream -> {
+                try (result) {
+                    result.save(outputStream);
+                }
+            };
+
+            return ResultResponses.stream(resultStore, "merged.pdf", MediaType.APPLICATION_PDF, body);
+
+        } catch (RejectedExecutionException e) {
+            return StreamingResponses.unavailable(e.getMessage());
+        } catch (RuntimeException e) {
+            return StreamingResponses.error(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IOException e) {
+            return StreamingResponses.error(uploadStatus(e), uploadMessage(e));
+        } finally {
+            if (merge != null) {
+                merge.close();
+            }
+        }
+    }
+
+    // ===== Helper 메서드 =====
+    private void checkUsage(HttpServletRequest request, User.FeatureType feature) {
+        Long userId = CurrentUser.userId();
+        if (userId == null) {
+            return;
+        }
+
+        // 파일 크기는 아직 모르므로 요청 본문 길이로 체크 (chunked 전송이면 업로드 한도로만 제한)
+        long contentLength = request.getContentLengthLong();
+        if (contentLength > 0) {
+            userService.checkFileSize(userId, contentLength);
+        }
+        userService.incrementUsage(userId, feature);
+    }
+
+    private FileItemIterator parts(HttpServletRequest request) throws IOException {
+        FileUpload upload = new FileUpload();
+        upload.setFileSizeMax(multipartProperties.getMaxFileSize().toBytes());
+        upload.setSizeMax(multipartProperties.getMaxRequestSize().toBytes());
+        return upload.getItemIterator(new ServletRequestContext(request));
+    }
+
+    private FileItemStream nextFile(FileItemIterator parts) throws IOException {
+        while (parts.hasNext()) {
+            FileItemStream part = parts.next();
+            if (!part.isFormField()) {
+                return part;
+            }
+        }
+        throw new RuntimeException("파일을 선택해주세요.");
+    }
+
+    private MultiValueMap<String, String> queryParams(HttpServletRequest request) {
+        return UriComponentsBuilder.newInstance()
+                .query(request.getQueryString())
+                .build()
+                .getQueryParams();
+    }
+
+    private String required(MultiValueMap<String, String> params, String name) {
+        String value = params.getFirst(name);
+        if (value == null || value.isBlank()) {
+            throw new RuntimeException("필수 파라미터가 없습니다: " + name);
+        }
+        return UriUtils.decode(value, StandardCharsets.UTF_8);
+    }
+
+    private ResponseEntity<?> uploadError(IOException e) {
+        return ResponseEntity.status(uploadStatus(e))
+                .body(Map.of("error", uploadMessage(e)));
+    }
+
+    // 업로드 한도 초과는 413, 나머지는 처리 오류
+    private HttpStatus uploadStatus(IOException e) {
+        return isSizeExceeded(e) ? HttpStatus.PAYLOAD_TOO_LARGE : HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private String uploadMessage(IOException e) {
+        return isSizeExceeded(e) ? "업로드 가능한 파일 크기를 초과했습니다." : "파일 처리 중 오류가 발생했습니다.";
+    }
+
+    private boolean isSizeExceeded(IOException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SizeException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
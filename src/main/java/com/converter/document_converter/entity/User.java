@@ -10,7 +10,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "users", indexes = {
         @Index(name = "idx_email", columnList = "email"),
-        @Index(name = "idx_api_key", columnList = "api_key")
+        @Index(name = "idx_api_key", columnList = "api_key"),
+        @Index(name = "idx_daily_usage", columnList = "daily_usage")
 })
 @Getter
 @Setter
@@ -19,6 +20,10 @@ import java.time.LocalDateTime;
 @Builder
 public class User {
 
+    // ===== 등급별 일일 한도 =====
+    public static final int FREE_DAILY_LIMIT = 10;
+    public static final int PRO_DAILY_LIMIT = 100;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -102,27 +107,36 @@ public class User {
 
     // ===== 전체 사용 가능 여부 =====
     public boolean canUseService() {
+        return canUseService(1);
+    }
+
+    // count회 더 사용할 수 있는지 (일괄 처리용)
+    public boolean canUseService(int count) {
         if (!isActive) return false;
 
         return switch (role) {
-            case FREE -> dailyUsage < 10;
-            case PRO -> dailyUsage < 100;
+            case FREE -> dailyUsage + count <= FREE_DAILY_LIMIT;
+            case PRO -> dailyUsage + count <= PRO_DAILY_LIMIT;
             case ENTERPRISE -> true;
         };
     }
 
     // ===== 기능별 사용 가능 여부 =====
     public boolean canUseFeature(FeatureType feature) {
+        return canUseFeature(feature, 1);
+    }
+
+    public boolean canUseFeature(FeatureType feature, int count) {
         if (!isActive) return false;
         if (role == UserRole.ENTERPRISE) return true;
 
-        int limit = role == UserRole.FREE ? 10 : 100;
+        int limit = role == UserRole.FREE ? FREE_DAILY_LIMIT : PRO_DAILY_LIMIT;
 
         return switch (feature) {
-            case PDF_MERGE -> pdfMergeUsage < limit;
-            case PDF_SPLIT -> pdfSplitUsage < limit;
-            case IMAGE_RESIZE -> imageResizeUsage < limit;
-            case IMAGE_COMPRESS -> imageCompressUsage < limit;
+            case PDF_MERGE -> pdfMergeUsage + count <= limit;
+            case PDF_SPLIT -> pdfSplitUsage + count <= limit;
+            case IMAGE_RESIZE -> imageResizeUsage + count <= limit;
+            case IMAGE_COMPRESS -> imageCompressUsage + count <= limit;
         };
     }
 
@@ -143,14 +157,18 @@ public class User {
 
     // ===== 기능별 사용량 증가 =====
     public void incrementFeatureUsage(FeatureType feature) {
-        this.dailyUsage++;
-        this.monthlyUsage++;
+        incrementFeatureUsage(feature, 1);
+    }
+
+    public void incrementFeatureUsage(FeatureType feature, int count) {
+        this.dailyUsage += count;
+        this.monthlyUsage += count;
 
         switch (feature) {
-            case PDF_MERGE -> this.pdfMergeUsage++;
-            case PDF_SPLIT -> this.pdfSplitUsage++;
-            case IMAGE_RESIZE -> this.imageResizeUsage++;
-            case IMAGE_COMPRESS -> this.imageCompressUsage++;
+            case PDF_MERGE -> this.pdfMergeUsage += count;
+            case PDF_SPLIT -> this.pdfSplitUsage += count;
+            case IMAGE_RESIZE -> this.imageResizeUsage += count;
+            case IMAGE_COMPRESS -> this.imageCompressUsage += count;
         }
     }
 
@@ -167,8 +185,8 @@ public class User {
     // ===== 남은 사용 횟수 =====
     public int getRemainingUsage() {
         return switch (role) {
-            case FREE -> Math.max(0, 10 - dailyUsage);
-            case PRO -> Math.max(0, 100 - dailyUsage);
+            case FREE -> Math.max(0, FREE_DAILY_LIMIT - dailyUsage);
+            case PRO -> Math.max(0, PRO_DAILY_LIMIT - dailyUsage);
             case ENTERPRISE -> 999999;
         };
     }
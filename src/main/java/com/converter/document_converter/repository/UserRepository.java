@@ -1,15 +1,133 @@
 package com.converter.document_converter.repository;
 
 import com.converter.document_converter.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    // ===== 사용량 조건부 증가용 JPQL 조각 =====
+    String INCREMENT_TOTAL = "UPDATE User u SET u.dailyUsage = COALESCE(u.dailyUsage, 0) + :count, "
+            + "u.monthlyUsage = COALESCE(u.monthlyUsage, 0) + :count";
+    String ROLE_LIMIT = "(CASE WHEN u.role = com.converter.document_converter.entity.User.UserRole.FREE "
+            + "THEN :freeLimit ELSE :proLimit END)";
+    String ALLOWED = " WHERE u.id = :id AND u.isActive = true AND "
+            + "(u.role = com.converter.document_converter.entity.User.UserRole.ENTERPRISE OR "
+            + "(COALESCE(u.dailyUsage, 0) + :count <= " + ROLE_LIMIT;
+
+    // ===== 사용량 되돌리기용 JPQL 조각 (0 아래로는 내려가지 않음) =====
+    String DECREMENT_TOTAL = "UPDATE User u SET "
+            + "u.dailyUsage = (CASE WHEN COALESCE(u.dailyUsage, 0) > :count THEN u.dailyUsage - :count ELSE 0 END), "
+            + "u.monthlyUsage = (CASE WHEN COALESCE(u.monthlyUsage, 0) > :count THEN u.monthlyUsage - :count ELSE 0 END)";
+
     Optional<User> findByEmail(String email);
     Optional<User> findByApiKey(String apiKey);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // API 키 색인 적재용 (id 순으로 나눠 읽기)
+    @Query("SELECT u FROM User u WHERE u.apiKey IS NOT NULL AND u.id > :afterId ORDER BY u.id")
+    List<User> findWithApiKey(@Param("afterId") Long afterId, Pageable pageable);
+
+    // ===== 한도 체크와 증가를 UPDATE 한 번으로 처리 =====
+    // 반환값이 0이면 한도 초과(또는 비활성/없는 사용자), 동시 요청이 와도 한도를 넘지 않음
+    default int incrementUsageIfAllowed(Long id, User.FeatureType feature, int count) {
+        return switch (feature) {
+            case PDF_MERGE -> incrementPdfMergeUsage(id, count, User.FREE_DAILY_LIMIT, User.PRO_DAILY_LIMIT);
+            case PDF_SPLIT -> incrementPdfSplitUsage(id, count, User.FREE_DAILY_LIMIT, User.PRO_DAILY_LIMIT);
+            case IMAGE_RESIZE -> incrementImageResizeUsage(id, count, User.FREE_DAILY_LIMIT, User.PRO_DAILY_LIMIT);
+            case IMAGE_COMPRESS -> incrementImageCompressUsage(id, count, User.FREE_DAILY_LIMIT, User.PRO_DAILY_LIMIT);
+        };
+    }
+
+    default int incrementUsageIfAllowed(Long id, int count) {
+        return incrementTotalUsage(id, count, User.FREE_DAILY_LIMIT, User.PRO_DAILY_LIMIT);
+    }
+
+    @Modifying
+    @Query(INCREMENT_TOTAL + ALLOWED + "))")
+    int incrementTotalUsage(@Param("id") Long id, @Param("count") int count,
+                            @Param("freeLimit") int freeLimit, @Param("proLimit") int proLimit);
+
+    @Modifying
+    @Query(INCREMENT_TOTAL + ", u.pdfMergeUsage = COALESCE(u.pdfMergeUsage, 0) + :count" + ALLOWED
+            + " AND COALESCE(u.pdfMergeUsage, 0) + :count <= " + ROLE_LIMIT + "))")
+    int incrementPdfMergeUsage(@Param("id") Long id, @Param("count") int count,
+                               @Param("freeLimit") int freeLimit, @Param("proLimit") int proLimit);
+
+    @Modifying
+    @Query(INCREMENT_TOTAL + ", u.pdfSplitUsage = COALESCE(u.pdfSplitUsage, 0) + :count" + ALLOWED
+            + " AND COALESCE(u.pdfSplitUsage, 0) + :count <= " + ROLE_LIMIT + "))")
+    int incrementPdfSplitUsage(@Param("id") Long id, @Param("count") int count,
+                               @Param("freeLimit") int freeLimit, @Param("proLimit") int proLimit);
+
+    @Modifying
+    @Query(INCREMENT_TOTAL + ", u.imageResizeUsage = COALESCE(u.imageResizeUsage, 0) + :count" + ALLOWED
+            + " AND COALESCE(u.imageResizeUsage, 0) + :count <= " + ROLE_LIMIT + "))")
+    int incrementImageResizeUsage(@Param("id") Long id, @Param("count") int count,
+                                  @Param("freeLimit") int freeLimit, @Param("proLimit") int proLimit);
+
+    @Modifying
+    @Query(INCREMENT_TOTAL + ", u.imageCompressUsage = COALESCE(u.imageCompressUsage, 0) + :count" + ALLOWED
+            + " AND COALESCE(u.imageCompressUsage, 0) + :count <= " + ROLE_LIMIT + "))")
+    int incrementImageCompressUsage(@Param("id") Long id, @Param("count") int count,
+                                    @Param("freeLimit") int freeLimit, @Param("proLimit") int proLimit);
+
+    // ===== 차감한 사용량 되돌리기 (작업이 접수되지 못한 경우) =====
+    default int decrementUsage(Long id, User.FeatureType feature, int count) {
+        if (feature == null) {
+            return decrementTotalUsage(id, count);
+        }
+        return switch (feature) {
+            case PDF_MERGE -> decrementPdfMergeUsage(id, count);
+            case PDF_SPLIT -> decrementPdfSplitUsage(id, count);
+            case IMAGE_RESIZE -> decrementImageResizeUsage(id, count);
+            case IMAGE_COMPRESS -> decrementImageCompressUsage(id, count);
+        };
+    }
+
+    @Modifying
+    @Query(DECREMENT_TOTAL + " WHERE u.id = :id")
+    int decrementTotalUsage(@Param("id") Long id, @Param("count") int count);
+
+    @Modifying
+    @Query(DECREMENT_TOTAL + ", u.pdfMergeUsage = (CASE WHEN COALESCE(u.pdfMergeUsage, 0) > :count "
+            + "THEN u.pdfMergeUsage - :count ELSE 0 END) WHERE u.id = :id")
+    int decrementPdfMergeUsage(@Param("id") Long id, @Param("count") int count);
+
+    @Modifying
+    @Query(DECREMENT_TOTAL + ", u.pdfSplitUsage = (CASE WHEN COALESCE(u.pdfSplitUsage, 0) > :count "
+            + "THEN u.pdfSplitUsage - :count ELSE 0 END) WHERE u.id = :id")
+    int decrementPdfSplitUsage(@Param("id") Long id, @Param("count") int count);
+
+    @Modifying
+    @Query(DECREMENT_TOTAL + ", u.imageResizeUsage = (CASE WHEN COALESCE(u.imageResizeUsage, 0) > :count "
+            + "THEN u.imageResizeUsage - :count ELSE 0 END) WHERE u.id = :id")
+    int decrementImageResizeUsage(@Param("id") Long id, @Param("count") int count);
+
+    @Modifying
+    @Query(DECREMENT_TOTAL + ", u.imageCompressUsage = (CASE WHEN COALESCE(u.imageCompressUsage, 0) > :count "
+            + "THEN u.imageCompressUsage - :count ELSE 0 END) WHERE u.id = :id")
+    int decrementImageCompressUsage(@Param("id") Long id, @Param("count") int count);
+
+    // ===== 일일 사용량 초기화 =====
+    // 오늘 사용 기록이 있는 사용자만 id 순으로 (daily_usage 인덱스 사용, 사용하지 않은 계정은 읽지 않음)
+    @Query("SELECT u.id FROM User u WHERE u.dailyUsage > 0 AND u.id > :afterId ORDER BY u.id")
+    List<Long> findIdsWithDailyUsage(@Param("afterId") Long afterId, Pageable pageable);
+
+    // 한 묶음씩 별도 트랜잭션으로 초기화
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.dailyUsage = 0, u.pdfMergeUsage = 0, u.pdfSplitUsage = 0, "
+            + "u.imageResizeUsage = 0, u.imageCompressUsage = 0, u.lastResetDate = :resetAt WHERE u.id IN :ids")
+    int resetDailyUsage(@Param("ids") List<Long> ids, @Param("resetAt") LocalDateTime resetAt);
+}
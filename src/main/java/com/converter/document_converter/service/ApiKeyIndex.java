@@ -0,0 +1,94 @@
+package com.converter.document_converter.service;
+
+import com.converter.document_converter.entity.User;
+import com.converter.document_converter.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// API 키 → 사용자 색인
+// 시작할 때와 주기적으로 DB에서 전체 키를 읽어두고, 모르는 키는 잠시 기억해서 반복 조회를 막음
+// 사용자 정보(등급, 활성 여부)는 UserContextCache에서 가져오므로 등급 변경 시 무효화도 그쪽을 따름
+@Component
+public class ApiKeyIndex {
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final UserContextCache userContextCache;
+    private final Cache<String, Boolean> unknownKeys;
+
+    private volatile Map<String, Long> idByApiKey = new ConcurrentHashMap<>();
+
+    public ApiKeyIndex(
+            UserRepository userRepository,
+            UserContextCache userContextCache,
+            @Value("${converter.api-key.negative-ttl:1m}") Duration negativeTtl,
+            @Value("${converter.api-key.negative-max-size:100000}") long negativeMaxSize
+    ) {
+        this.userRepository = userRepository;
+        this.userContextCache = userContextCache;
+        this.unknownKeys = Caffeine.newBuilder()
+                .expireAfterWrite(negativeTtl)
+                .maximumSize(negativeMaxSize)
+                .build();
+    }
+
+    public Optional<UserContextCache.UserContext> resolve(String apiKey) {
+        Long userId = idByApiKey.get(apiKey);
+        if (userId != null) {
+            return userContextCache.get(userId);
+        }
+        if (unknownKeys.getIfPresent(apiKey) != null) {
+            return Optional.empty();
+        }
+
+        // 새로 가입한 사용자 등 색인에 없는 키만 DB 조회
+        Optional<UserContextCache.UserContext> context = userContextCache.getByApiKey(apiKey);
+        if (context.isPresent()) {
+            idByApiKey.put(apiKey, context.get().id());
+        } else {
+            unknownKeys.put(apiKey, Boolean.TRUE);
+        }
+        return context;
+    }
+
+    public int size() {
+        return idByApiKey.size();
+    }
+
+    // ===== 전체 키 다시 읽기 (시작 시 + 주기적으로) =====
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${converter.api-key.refresh-interval:4m}",
+            initialDelayString = "${converter.api-key.refresh-interval:4m}")
+    public void refresh() {
+        Map<String, Long> loaded = new ConcurrentHashMap<>();
+        long lastId = 0;
+
+        while (true) {
+            List<User> users = userRepository.findWithApiKey(lastId, PageRequest.of(0, LOAD_CHUNK_SIZE));
+            if (users.isEmpty()) {
+                break;
+            }
+
+            for (User user : users) {
+                loaded.put(user.getApiKey(), user.getId());
+                userContextCache.put(UserContextCache.UserContext.from(user));
+            }
+            lastId = users.get(users.size() - 1).getId();
+        }
+
+        idByApiKey = loaded;
+    }
+}
@@ -0,0 +1,351 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 변환 결과 캐시 (입력 파일 내용 + 작업 종류 + 파라미터의 해시를 키로 사용)
+// 메모리 계층: 작은 결과만, 디스크 계층: 모든 결과. 각 계층은 바이트 한도를 넘으면 LRU로 제거
+// 디스크 항목은 저장할 때마다 새 파일에 쓰고, 파일 쓰기/삭제는 락 밖에서 함 (락 안에서는 색인만 고침)
+@Component
+public class ConversionCache {
+
+    private final boolean enabled;
+    private final long memoryBudget;
+    private final long diskBudget;
+    private final long maxMemoryEntry;
+    private final long maxDiskEntry;
+    private final Path directory;
+
+    // accessOrder=true: 조회할 때마다 뒤로 이동하므로 맨 앞이 가장 오래 안 쓴 항목
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, DiskEntry> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes;
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong memoryEvictions = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+
+    public ConversionCache(
+            @Value("${converter.cache.enabled:true}") boolean enabled,
+            @Value("${converter.cache.memory-budget:64MB}") DataSize memoryBudget,
+            @Value("${converter.cache.disk-budget:1GB}") DataSize diskBudget,
+            @Value("${converter.cache.max-memory-entry:4MB}") DataSize maxMemoryEntry,
+            @Value("${converter.cache.directory:${java.io.tmpdir}/document-converter-cache}") Path directory,
+            MeterRegistry meterRegistry
+    ) throws IOException {
+        this.enabled = enabled;
+        this.memoryBudget = memoryBudget.toBytes();
+        this.diskBudget = diskBudget.toBytes();
+        this.maxMemoryEntry = Math.min(maxMemoryEntry.toBytes(), this.memoryBudget);
+        this.maxDiskEntry = this.diskBudget / 4;
+        this.directory = directory;
+
+        if (enabled) {
+            // 재시작하면 색인이 없으므로 캐시가 만든 파일(*.bin, *.tmp)만 지움
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, "*.{bin,tmp}")) {
+                for (Path file : leftovers) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+
+        registerMetrics(meterRegistry);
+    }
+
+    // 캐시 키 생성 - 캐시를 끄면 null (이후 모든 메서드가 캐시를 건너뜀)
+    public String key(String operation, List<MultipartFile> inputs, Object... params) throws IOException {
+        if (!enabled) {
+            return null;
+        }
+
+        MessageDigest digest = newDigest();
+        digest.update(operation.getBytes(StandardCharsets.UTF_8));
+        for (Object param : params) {
+            digest.update((byte) 0);
+            digest.update(String.valueOf(param).getBytes(StandardCharsets.UTF_8));
+        }
+
+        byte[] buffer = new byte[8192];
+        for (MultipartFile input : inputs) {
+            digest.update((byte) 1);
+            try (InputStream inputStream = input.getInputStream()) {
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    public byte[] get(String key) throws IOException {
+        if (key == null) {
+            return null;
+        }
+
+        DiskEntry entry;
+        synchronized (this) {
+            byte[] data = memory.get(key);
+            if (data != null) {
+                memoryHits.incrementAndGet();
+                return data;
+            }
+            entry = disk.get(key); // LRU 순서 갱신
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+        }
+
+        byte[] data;
+        try {
+            data = Files.readAllBytes(entry.file());
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet(); // 읽는 사이에 제거됨
+            return null;
+        }
+        diskHits.incrementAndGet();
+        putMemory(key, data);
+        return data;
+    }
+
+    // 캐시에 있으면 outputStream에 바로 기록하고 true
+    public boolean writeTo(String key, OutputStream outputStream) throws IOException {
+        if (key == null) {
+            return false;
+        }
+
+        byte[] data;
+        DiskEntry entry;
+        synchronized (this) {
+            data = memory.get(key);
+            entry = disk.get(key);
+            if (data == null && entry == null) {
+                misses.incrementAndGet();
+                return false;
+            }
+        }
+
+        // 느린 클라이언트가 락을 잡고 있지 않도록 기록은 락 밖에서
+        if (data != null) {
+            memoryHits.incrementAndGet();
+            outputStream.write(data);
+            return true;
+        }
+
+        try (InputStream inputStream = Files.newInputStream(entry.file())) {
+            inputStream.transferTo(outputStream);
+        } catch (NoSuchFileException e) {
+            misses.incrementAndGet();
+            return false;
+        }
+        diskHits.incrementAndGet();
+        return true;
+    }
+
+    public void put(String key, byte[] data) throws IOException {
+        if (key == null) {
+            return;
+        }
+        putMemory(key, data);
+
+        if (data.length <= maxDiskEntry) {
+            Path file = newFile();
+            Files.write(file, data);
+            commitDisk(key, file, data.length);
+        }
+    }
+
+    // 스트리밍 결과용 - 결과를 쓰는 동안 디스크에 복사해두고, 성공하면 commit()
+    public PendingEntry newEntry(String key) throws IOException {
+        if (key == null) {
+            return new PendingEntry(null, null, OutputStream.nullOutputStream());
+        }
+        Path file = newFile();
+        return new PendingEntry(key, file, Files.newOutputStream(file));
+    }
+
+    // 적중/실패/제거 횟수와 계층별 크기
+    private void registerMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("converter.cache.hits", memoryHits, AtomicLong::get)
+                .description("캐시 적중 횟수")
+                .tag("tier", "memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("converter.cache.hits", diskHits, AtomicLong::get)
+                .description("캐시 적중 횟수")
+                .tag("tier", "disk")
+                .register(meterRegistry);
+        FunctionCounter.builder("converter.cache.misses", misses, AtomicLong::get)
+                .description("캐시 실패 횟수")
+                .register(meterRegistry);
+        FunctionCounter.builder("converter.cache.evictions", memoryEvictions, AtomicLong::get)
+                .description("한도를 넘어 제거된 항목 수")
+                .tag("tier", "memory")
+                .register(meterRegistry);
+        FunctionCounter.builder("converter.cache.evictions", diskEvictions, AtomicLong::get)
+                .description("한도를 넘어 제거된 항목 수")
+                .tag("tier", "disk")
+                .register(meterRegistry);
+
+        Gauge.builder("converter.cache.size", this, cache -> cache.getBytes(true))
+                .description("캐시에 들어 있는 결과 크기")
+                .tag("tier", "memory")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("converter.cache.size", this, cache -> cache.getBytes(false))
+                .description("캐시에 들어 있는 결과 크기")
+                .tag("tier", "disk")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private synchronized long getBytes(boolean inMemory) {
+        return inMemory ? memoryBytes : diskBytes;
+    }
+
+    private void putMemory(String key, byte[] data) {
+        if (data.length > maxMemoryEntry) {
+            return;
+        }
+        synchronized (this) {
+            byte[] previous = memory.put(key, data);
+            memoryBytes += data.length - (previous != null ? previous.length : 0);
+
+            Iterator<Map.Entry<String, byte[]>> iterator = memory.entrySet().iterator();
+            while (memoryBytes > memoryBudget && iterator.hasNext()) {
+                memoryBytes -= iterator.next().getValue().length;
+                iterator.remove();
+                memoryEvictions.incrementAndGet();
+            }
+        }
+    }
+
+    // 다 쓴 파일을 색인에 올림 - 밀려난 항목(같은 키의 이전 파일 포함)의 파일은 락을 놓은 뒤 지움
+    // 파일을 먼저 지워도 읽던 쪽은 NoSuchFileException을 실패로 처리함
+    private void commitDisk(String key, Path file, long size) throws IOException {
+        if (size > maxDiskEntry) {
+            Files.deleteIfExists(file);
+            return;
+        }
+
+        List<Path> removed = new ArrayList<>();
+        synchronized (this) {
+            DiskEntry previous = disk.put(key, new DiskEntry(file, size));
+            diskBytes += size;
+            if (previous != null) {
+                diskBytes -= previous.size();
+                removed.add(previous.file());
+            }
+
+            Iterator<Map.Entry<String, DiskEntry>> iterator = disk.entrySet().iterator();
+            while (diskBytes > diskBudget && iterator.hasNext()) {
+                DiskEntry eldest = iterator.next().getValue();
+                diskBytes -= eldest.size();
+                iterator.remove();
+                removed.add(eldest.file());
+                diskEvictions.incrementAndGet();
+            }
+        }
+
+        for (Path path : removed) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private Path newFile() {
+        return directory.resolve(UUID.randomUUID() + ".bin");
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 스트리밍으로 만들어지는 결과를 받아두는 임시 항목 (commit 전에 닫으면 버림)
+    public class PendingEntry implements Closeable {
+        private final String key;
+        private final Path file;
+        private final OutputStream outputStream;
+        private long size;
+        private boolean committed;
+        private boolean overflow;
+
+        private PendingEntry(String key, Path file, OutputStream outputStream) {
+            this.key = key;
+            this.file = file;
+            this.outputStream = outputStream;
+        }
+
+        public OutputStream getOutputStream() {
+            return new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    // 디스크 계층에 넣을 수 없는 크기가 되면 더 이상 복사하지 않음
+                    size += len;
+                    if (size > maxDiskEntry) {
+                        overflow = true;
+                        return;
+                    }
+                    outputStream.write(b, off, len);
+                }
+            };
+        }
+
+        public void commit() throws IOException {
+            outputStream.close();
+            if (key == null || overflow) {
+                return;
+            }
+            committed = true;
+            commitDisk(key, file, size);
+        }
+
+        @Override
+        public void close() throws IOException {
+            outputStream.close();
+            if (!committed && file != null) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private record DiskEntry(Path file, long size) {
+    }
+}
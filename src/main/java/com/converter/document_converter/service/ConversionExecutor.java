@@ -0,0 +1,61 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 변환 작업 안에서 CPU를 많이 쓰는 부분(이미지 재압축 등)을 나눠 처리하는 공용 워커 풀
+// 큐가 가득 차면 요청한 스레드가 직접 실행해서 자연스럽게 속도를 조절함
+// 대기 시간(executor.idle)과 실행 시간(executor)은 name=convert-worker 태그로 기록
+@Component
+public class ConversionExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService timedExecutor;
+
+    public ConversionExecutor(
+            @Value("${converter.workers.threads:0}") int threads,
+            @Value("${converter.workers.queue-capacity:256}") int queueCapacity,
+            MeterRegistry meterRegistry
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "convert-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.timedExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "convert-worker");
+    }
+
+    public <T> Future<T> submit(Callable<T> task) {
+        return timedExecutor.submit(task);
+    }
+
+    // 동시에 돌릴 수 있는 작업 수
+    public int getParallelism() {
+        return executor.getMaximumPoolSize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
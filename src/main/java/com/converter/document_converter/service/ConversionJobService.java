@@ -0,0 +1,208 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 변환 작업 큐
+// 요청 스레드는 업로드를 임시 파일로 옮기고 작업 ID만 돌려주며,
+// 실제 변환은 전용 워커에서 실행하고 결과는 결과 보관소(ConversionResultStore)에 남겨 다운로드 API에서 제공
+// 대기열에서 기다린 시간(executor.idle)과 대기 작업 수(executor.queued)는 name=convert-job 태그로 기록
+@Service
+public class ConversionJobService {
+
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService timedExecutor;
+    private final Map<String, ConversionJob> jobs = new ConcurrentHashMap<>();
+    private final Duration resultTtl;
+    private final ConversionResultStore resultStore;
+
+    public ConversionJobService(
+            @Value("${converter.jobs.workers:2}") int workers,
+            @Value("${converter.jobs.queue-capacity:50}") int queueCapacity,
+            @Value("${converter.jobs.result-ttl:1h}") Duration resultTtl,
+            ConversionResultStore resultStore,
+            MeterRegistry meterRegistry
+    ) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workers, workers,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "convert-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timedExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "convert-job");
+        this.resultTtl = resultTtl;
+        this.resultStore = resultStore;
+    }
+
+    // 작업 등록 - 큐가 가득 차면 RejectedExecutionException
+    public ConversionJob submit(String operation, List<MultipartFile> files, String resultFileName,
+                                String resultContentType, JobTask task) throws IOException {
+        // 업로드를 임시 파일로 옮기기 전에 먼저 빠르게 거절
+        if (executor.getQueue().remainingCapacity() == 0) {
+            throw new RejectedExecutionException("변환 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        List<SpooledMultipartFile> inputs = new ArrayList<>();
+        try {
+            for (MultipartFile file : files) {
+                inputs.add(SpooledMultipartFile.spool(file));
+            }
+        } catch (IOException | RuntimeException e) {
+            inputs.forEach(SpooledMultipartFile::delete);
+            throw e;
+        }
+
+        ConversionJob job = new ConversionJob(UUID.randomUUID().toString(), operation, resultFileName, resultContentType);
+        jobs.put(job.getId(), job);
+
+        try {
+            timedExecutor.execute(() -> run(job, inputs, task));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            inputs.forEach(SpooledMultipartFile::delete);
+            throw new RejectedExecutionException("변환 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요.", e);
+        }
+
+        return job;
+    }
+
+    public Optional<ConversionJob> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    // 대기 중인 작업 수
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private void run(ConversionJob job, List<SpooledMultipartFile> inputs, JobTask task) {
+        job.markRunning();
+        // 실패하면 commit 전에 닫히므로 만들던 결과 파일은 지워짐
+        try (ConversionResultStore.PendingResult result =
+                     resultStore.create(job.getResultFileName(), job.getResultContentType())) {
+            task.run(new ArrayList<>(inputs), result.getOutputStream(), job::updateProgress);
+            job.markCompleted(result.commit().id());
+        } catch (Exception e) {
+            job.markFailed(e.getMessage() != null ? e.getMessage() : "파일 처리 중 오류가 발생했습니다.");
+        } finally {
+            inputs.forEach(SpooledMultipartFile::delete);
+        }
+    }
+
+    // ===== 끝난 작업 정리 (1분마다) =====
+    // 결과 파일은 결과 보관소가 자체 보관 시간/디스크 한도로 정리
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpiredJobs() {
+        LocalDateTime expiry = LocalDateTime.now().minus(resultTtl);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(expiry));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // 작업 내용 - 기존 서비스 메서드를 그대로 호출
+    @FunctionalInterface
+    public interface JobTask {
+        void run(List<MultipartFile> inputs, OutputStream outputStream, ProgressListener progress) throws IOException;
+    }
+
+    public enum JobStatus {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    // 작업 상태
+    public static class ConversionJob {
+        private final String id;
+        private final String operation;
+        private final String resultFileName;
+        private final String resultContentType;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile int progressDone;
+        private volatile int progressTotal;
+        private volatile String error;
+        private volatile String resultId;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        ConversionJob(String id, String operation, String resultFileName, String resultContentType) {
+            this.id = id;
+            this.operation = operation;
+            this.resultFileName = resultFileName;
+            this.resultContentType = resultContentType;
+        }
+
+        void markRunning() {
+            startedAt = LocalDateTime.now();
+            status = JobStatus.RUNNING;
+        }
+
+        void updateProgress(int done, int total) {
+            progressDone = done;
+            progressTotal = total;
+        }
+
+        void markCompleted(String resultId) {
+            this.resultId = resultId;
+            finishedAt = LocalDateTime.now();
+            status = JobStatus.COMPLETED;
+        }
+
+        void markFailed(String error) {
+            this.error = error;
+            finishedAt = LocalDateTime.now();
+            status = JobStatus.FAILED;
+        }
+
+        public boolean isFinished() {
+            return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+        }
+
+        public String getId() { return id; }
+        public String getOperation() { return operation; }
+        public String getResultFileName() { return resultFileName; }
+        public String getResultContentType() { return resultContentType; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public JobStatus getStatus() { return status; }
+        public int getProgressDone() { return progressDone; }
+        public int getProgressTotal() { return progressTotal; }
+        public String getError() { return error; }
+        public String getResultId() { return resultId; }
+        public LocalDateTime getStartedAt() { return startedAt; }
+        public LocalDateTime getFinishedAt() { return finishedAt; }
+    }
+}
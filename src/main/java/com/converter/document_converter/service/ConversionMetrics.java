@@ -0,0 +1,273 @@
+package com.converter.document_converter.service;
+
+import com.converter.document_converter.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 변환 지표 (Micrometer) - /actuator/prometheus로 노출
+// 변환마다 작업 전체/단계별(parse, transform, serialize) 시간, 입출력 크기, 페이지/픽셀 수, 중복 제거로 줄인 크기,
+// 호출 스레드의 힙 할당량을 operation 태그로 기록하고, 같은 내용을 converter.conversion 로거에 한 줄로 남김
+@Component
+public class ConversionMetrics {
+
+    private static final Logger CONVERSION_LOG = LoggerFactory.getLogger("converter.conversion");
+
+    // 스레드별 할당량을 지원하는 JVM에서만 기록 (HotSpot 계열)
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                    && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()
+                    ? threads : null;
+
+    private static final long UNKNOWN = -1;
+
+    private final MeterRegistry registry;
+
+    public ConversionMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // 결과를 값으로 돌려주는 변환 (출력 크기는 작업 안에서 outputBytes로 알려줌)
+    public <T> T record(String operation, List<? extends MultipartFile> files, Task<T> task) throws IOException {
+        Conversion conversion = new Conversion(operation);
+        // 업로드 스트림을 바로 읽는 경우(files가 비어 있음)는 작업 안에서 inputBytes로 알려줌
+        conversion.inputBytes = files.isEmpty() ? UNKNOWN : files.stream().mapToLong(MultipartFile::getSize).sum();
+        try {
+            return task.run(conversion);
+        } catch (IOException | RuntimeException | Error e) {
+            conversion.error = e;
+            throw e;
+        } finally {
+            finish(conversion);
+        }
+    }
+
+    // 결과를 스트림에 쓰는 변환 (출력 크기는 기록한 바이트 수)
+    public void record(String operation, List<? extends MultipartFile> files, OutputStream outputStream,
+                       StreamingTask task) throws IOException {
+        CountingOutputStream countingStream = new CountingOutputStream(outputStream);
+        record(operation, files, conversion -> {
+            try {
+                task.run(conversion, countingStream);
+            } finally {
+                conversion.outputBytes(countingStream.getByteCount());
+            }
+            return null;
+        });
+    }
+
+    // 여러 호출에 걸친 변환 (업로드 중에 시작해서 응답을 쓰며 끝나는 스트리밍 병합 등)
+    // 입력 크기는 작업 중에 inputBytes로 알려주고, 끝나면 complete를 한 번 호출
+    public Conversion start(String operation) {
+        Conversion conversion = new Conversion(operation);
+        conversion.inputBytes = 0;
+        return conversion;
+    }
+
+    public void complete(Conversion conversion, Throwable error) {
+        conversion.error = error;
+        finish(conversion);
+    }
+
+    // 사용량/파일 크기 한도로 거절된 요청 (feature가 null이면 기능 구분 없는 전체 한도)
+    public void quotaRejected(User.FeatureType feature, User.UserRole role, String reason) {
+        Counter.builder("converter.quota.rejections")
+                .description("사용량/파일 크기 한도로 거절된 요청 수")
+                .tag("feature", feature != null ? feature.name() : "ALL")
+                .tag("role", role != null ? role.name() : "UNKNOWN")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+    }
+
+    private void finish(Conversion conversion) {
+        long durationNanos = System.nanoTime() - conversion.startNanos;
+        // 시작한 스레드와 다른 스레드에서 끝나면 할당량을 알 수 없음
+        long allocatedBytes = THREAD_MX_BEAN != null && conversion.thread == Thread.currentThread()
+                ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() - conversion.startAllocatedBytes
+                : UNKNOWN;
+        String operation = conversion.operation;
+        String outcome = conversion.error == null ? "success" : "error";
+        String cache = conversion.cache;
+
+        Timer.builder("converter.conversion")
+                .description("변환 전체 시간")
+                .tags("operation", operation, "outcome", outcome, "cache", cache)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(registry)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        Map<Phase, Long> phaseNanos = conversion.phaseNanos();
+        phaseNanos.forEach((phase, nanos) -> Timer.builder("converter.conversion.phase")
+                .description("변환 단계별 시간 (한 변환 안에서 같은 단계는 합산)")
+                .tags("operation", operation, "phase", phase.tag)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS));
+
+        long outputBytes = conversion.outputBytes.get();
+        long pages = conversion.pages.get();
+        long pixels = conversion.pixels.get();
+        long dedupedBytes = conversion.dedupedBytes.get();
+        summary("converter.conversion.input", "입력 파일 크기", "bytes", operation, conversion.inputBytes);
+        summary("converter.conversion.output", "결과 크기", "bytes", operation, outputBytes);
+        summary("converter.conversion.pages", "처리한 페이지 수", "pages", operation, pages);
+        summary("converter.conversion.pixels", "디코딩한 픽셀 수", "pixels", operation, pixels);
+        summary("converter.conversion.deduped", "중복 제거로 줄인 크기", "bytes", operation, dedupedBytes);
+        // 워커 스레드에서 나눠 처리한 부분은 포함되지 않음
+        summary("converter.conversion.allocated", "호출 스레드의 힙 할당량", "bytes", operation, allocatedBytes);
+
+        if (CONVERSION_LOG.isInfoEnabled()) {
+            StringBuilder line = new StringBuilder("operation=").append(operation)
+                    .append(" outcome=").append(outcome)
+                    .append(" cache=").append(cache)
+                    .append(" durationMs=").append(TimeUnit.NANOSECONDS.toMillis(durationNanos));
+            phaseNanos.forEach((phase, nanos) ->
+                    line.append(' ').append(phase.tag).append("Ms=").append(TimeUnit.NANOSECONDS.toMillis(nanos)));
+            appendIfKnown(line, "inputBytes", conversion.inputBytes);
+            appendIfKnown(line, "outputBytes", outputBytes);
+            appendIfKnown(line, "pages", pages);
+            appendIfKnown(line, "pixels", pixels);
+            appendIfKnown(line, "dedupedBytes", dedupedBytes);
+            appendIfKnown(line, "allocatedBytes", allocatedBytes);
+            if (conversion.error != null) {
+                line.append(" error=").append(conversion.error.getClass().getSimpleName());
+            }
+            CONVERSION_LOG.info(line.toString());
+        }
+    }
+
+    private void summary(String name, String description, String unit, String operation, long value) {
+        if (value < 0) {
+            return;
+        }
+        DistributionSummary.builder(name)
+                .description(description)
+                .baseUnit(unit)
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(value);
+    }
+
+    private void appendIfKnown(StringBuilder line, String key, long value) {
+        if (value >= 0) {
+            line.append(' ').append(key).append('=').append(value);
+        }
+    }
+
+    // 변환 하나의 측정값 - 페이지/픽셀 수는 워커 스레드에서 더해도 됨
+    public static final class Conversion {
+
+        private final String operation;
+        private final long startNanos = System.nanoTime();
+        private final Thread thread = Thread.currentThread();
+        private final long startAllocatedBytes =
+                THREAD_MX_BEAN != null ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes() : UNKNOWN;
+        private final Map<Phase, Long> phaseNanos = new EnumMap<>(Phase.class);
+        private final AtomicLong outputBytes = new AtomicLong(UNKNOWN);
+        private final AtomicLong pages = new AtomicLong(UNKNOWN);
+        private final AtomicLong pixels = new AtomicLong(UNKNOWN);
+        private final AtomicLong dedupedBytes = new AtomicLong(UNKNOWN);
+        private long inputBytes;
+        // 결과 캐시를 쓰지 않는 변환은 none
+        private volatile String cache = "none";
+        private Throwable error;
+
+        private Conversion(String operation) {
+            this.operation = operation;
+        }
+
+        // try-with-resources 블록 동안의 시간을 단계에 더함
+        public PhaseTimer phase(Phase phase) {
+            long start = System.nanoTime();
+            return () -> {
+                long elapsed = System.nanoTime() - start;
+                synchronized (phaseNanos) {
+                    phaseNanos.merge(phase, elapsed, Long::sum);
+                }
+            };
+        }
+
+        public void cacheHit() {
+            cache = "hit";
+        }
+
+        public void cacheMiss() {
+            cache = "miss";
+        }
+
+        public void inputBytes(long bytes) {
+            inputBytes = bytes;
+        }
+
+        public void outputBytes(long bytes) {
+            outputBytes.set(bytes);
+        }
+
+        public void addPages(long count) {
+            pages.accumulateAndGet(count, (current, added) -> Math.max(current, 0) + added);
+        }
+
+        public void addPixels(long count) {
+            pixels.accumulateAndGet(count, (current, added) -> Math.max(current, 0) + added);
+        }
+
+        public void addDedupedBytes(long bytes) {
+            dedupedBytes.accumulateAndGet(bytes, (current, added) -> Math.max(current, 0) + added);
+        }
+
+        private Map<Phase, Long> phaseNanos() {
+            synchronized (phaseNanos) {
+                return new EnumMap<>(phaseNanos);
+            }
+        }
+    }
+
+    public enum Phase {
+        PARSE("parse"),
+        TRANSFORM("transform"),
+        SERIALIZE("serialize");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    // 단계 측정 종료 (예외를 던지지 않는 close)
+    @FunctionalInterface
+    public interface PhaseTimer extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    @FunctionalInterface
+    public interface Task<T> {
+        T run(Conversion conversion) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface StreamingTask {
+        void run(Conversion conversion, OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,281 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 변환 결과 보관소 (로컬 디스크)
+// 변환 결과를 파일로 남겨 두고 /results/{id}에서 다시 받을 수 있게 함
+// 다운로드가 끊겨도 변환을 다시 하지 않고 남은 부분만 받을 수 있음 (Range)
+// 보관 시간(ttl)이 지나거나 보관 총량이 disk-budget을 넘으면 오래된 결과부터 삭제
+@Component
+public class ConversionResultStore {
+
+    private final Duration ttl;
+    private final long diskBudget;
+    private final Path directory;
+
+    // 넣은 순서 = 오래된 순서
+    private final LinkedHashMap<String, StoredResult> results = new LinkedHashMap<>();
+    // 아직 만드는 중인 결과 (이어 받기 요청에 "만드는 중"으로 응답)
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private long storedBytes;
+
+    public ConversionResultStore(
+            @Value("${converter.results.ttl:1h}") Duration ttl,
+            @Value("${converter.results.disk-budget:10GB}") DataSize diskBudget,
+            @Value("${converter.results.directory:${java.io.tmpdir}/document-converter-results}") Path directory,
+            MeterRegistry meterRegistry
+    ) throws IOException {
+        this.ttl = ttl;
+        this.diskBudget = diskBudget.toBytes();
+        this.directory = directory;
+
+        // 재시작하면 색인이 없으므로 이전에 남긴 결과 파일은 지움 (설정한 디렉터리의 다른 파일은 건드리지 않음)
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, "*.{bin,tmp}")) {
+            for (Path file : leftovers) {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        Gauge.builder("converter.results.stored", this, ConversionResultStore::getStoredBytes)
+                .description("보관 중인 변환 결과 크기")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("converter.results.count", this, ConversionResultStore::getResultCount)
+                .description("보관 중인 변환 결과 수")
+                .register(meterRegistry);
+    }
+
+    // 새 결과 ID (응답 헤더를 본문보다 먼저 보내야 하는 스트리밍 응답용)
+    public static String newId() {
+        return UUID.randomUUID().toString();
+    }
+
+    // 결과 ID마다 내용이 바뀌지 않으므로 강한 ETag로 씀
+    public static String eTag(String id) {
+        return "\"" + id + "\"";
+    }
+
+    // 이미 만든 결과를 저장
+    public StoredResult save(String fileName, String contentType, byte[] data) throws IOException {
+        try (PendingResult result = create(newId(), fileName, contentType)) {
+            result.getOutputStream().write(data);
+            return result.commit();
+        }
+    }
+
+    // 결과를 쓰는 동안 받아둘 임시 항목 - 성공하면 commit(), commit 전에 닫으면 버림
+    public PendingResult create(String fileName, String contentType) throws IOException {
+        return create(newId(), fileName, contentType);
+    }
+
+    public PendingResult create(String id, String fileName, String contentType) throws IOException {
+        Path temp = directory.resolve(id + ".tmp");
+        PendingResult result = new PendingResult(id, fileName, contentType, temp,
+                new BufferedOutputStream(Files.newOutputStream(temp)));
+        pending.add(id);
+        return result;
+    }
+
+    // 보관 중인 결과 (보관 시간이 지났으면 없음)
+    public Optional<StoredResult> find(String id) {
+        synchronized (this) {
+            StoredResult result = results.get(id);
+            if (result == null || result.expiresAt().isAfter(Instant.now())) {
+                return Optional.ofNullable(result);
+            }
+        }
+        evictExpired();
+        return Optional.empty();
+    }
+
+    public boolean isPending(String id) {
+        return pending.contains(id);
+    }
+
+    public synchronized long getStoredBytes() {
+        return storedBytes;
+    }
+
+    public synchronized int getResultCount() {
+        return results.size();
+    }
+
+    // ===== 보관 시간이 지난 결과 정리 (1분마다) =====
+    @Scheduled(fixedDelay = 60_000)
+    public void evictExpired() {
+        Instant now = Instant.now();
+        synchronized (this) {
+            Iterator<StoredResult> iterator = results.values().iterator();
+            while (iterator.hasNext()) {
+                StoredResult result = iterator.next();
+                // 오래된 순서이므로 만료되지 않은 결과가 나오면 멈춤
+                if (result.expiresAt().isAfter(now)) {
+                    break;
+                }
+                iterator.remove();
+                remove(result);
+            }
+        }
+    }
+
+    private synchronized StoredResult register(PendingResult pendingResult, long size) throws IOException {
+        Path file = directory.resolve(pendingResult.id + ".bin");
+        Files.move(pendingResult.temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Instant now = Instant.now();
+        StoredResult result = new StoredResult(pendingResult.id, file, pendingResult.fileName,
+                pendingResult.contentType, size, now, now.plus(ttl));
+        results.put(result.id(), result);
+        storedBytes += size;
+
+        // 방금 넣은 결과는 남김
+        Iterator<Map.Entry<String, StoredResult>> iterator = results.entrySet().iterator();
+        while (storedBytes > diskBudget && results.size() > 1 && iterator.hasNext()) {
+            StoredResult eldest = iterator.next().getValue();
+            iterator.remove();
+            remove(eldest);
+        }
+        return result;
+    }
+
+    // 받는 중인 다운로드가 있어도 열린 파일은 끝까지 읽을 수 있음 (이후 요청은 404)
+    private void remove(StoredResult result) {
+        storedBytes -= result.size();
+        deleteQuietly(result.file());
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 재시작할 때 디렉토리째 비움
+        }
+    }
+
+    // 보관된 결과 (파일 이름, 형식은 처음 응답과 같게 다시 내려줌)
+    public record StoredResult(String id, Path file, String fileName, String contentType, long size,
+                               Instant createdAt, Instant expiresAt) {
+
+        public String getETag() {
+            return eTag(id);
+        }
+    }
+
+    // 만드는 중인 결과
+    public class PendingResult implements Closeable {
+        private final String id;
+        private final String fileName;
+        private final String contentType;
+        private final Path temp;
+        private final OutputStream outputStream;
+        private long size;
+        private boolean committed;
+
+        private PendingResult(String id, String fileName, String contentType, Path temp, OutputStream outputStream) {
+            this.id = id;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.temp = temp;
+            this.outputStream = outputStream;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public OutputStream getOutputStream() {
+            return new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    outputStream.write(b, off, len);
+                    size += len;
+                }
+            };
+        }
+
+        // 클라이언트 응답과 결과 파일에 함께 기록
+        // 클라이언트 연결이 끊겨도 변환은 끝까지 진행해서 결과 파일을 완성함 (이어 받기용)
+        public OutputStream tee(OutputStream client) {
+            OutputStream file = getOutputStream();
+            return new OutputStream() {
+                private boolean detached;
+
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    file.write(b, off, len);
+                    if (!detached) {
+                        try {
+                            client.write(b, off, len);
+                        } catch (IOException e) {
+                            detached = true;
+                        }
+                    }
+                }
+
+                @Override
+                public void flush() {
+                    if (!detached) {
+                        try {
+                            client.flush();
+                        } catch (IOException e) {
+                            detached = true;
+                        }
+                    }
+                }
+            };
+        }
+
+        public StoredResult commit() throws IOException {
+            outputStream.close();
+            StoredResult result = register(this, size);
+            committed = true;
+            return result;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                outputStream.close();
+                if (!committed) {
+                    Files.deleteIfExists(temp);
+                }
+            } finally {
+                pending.remove(id);
+            }
+        }
+    }
+}
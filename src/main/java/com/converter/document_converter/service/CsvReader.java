@@ -0,0 +1,83 @@
+package com.converter.document_converter.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// 한 레코드씩 읽는 CSV 파서 (RFC 4180: 쉼표 구분, 큰따옴표로 감싼 값 안의 쉼표/줄바꿈/"" 허용)
+// 파일 전체를 올리지 않으므로 행 수와 관계없이 한 레코드만큼의 메모리만 씀
+class CsvReader implements Closeable {
+
+    private static final int BOM = '\uFEFF';
+
+    private final Reader reader;
+    private final StringBuilder value = new StringBuilder();
+    private boolean started;
+
+    CsvReader(Reader reader) {
+        this.reader = new BufferedReader(reader);
+    }
+
+    // 다음 레코드 (끝이면 null)
+    List<String> readRecord() throws IOException {
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == BOM) {
+                c = reader.read();
+            }
+        }
+        if (c == -1) {
+            return null;
+        }
+
+        List<String> record = new ArrayList<>();
+        boolean quoted = false;
+        value.setLength(0);
+
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new RuntimeException("CSV 형식이 올바르지 않습니다. 닫히지 않은 따옴표가 있습니다.");
+                }
+                if (c == '"') {
+                    int next = reader.read();
+                    if (next == '"') {
+                        value.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    value.append((char) c);
+                }
+            } else if (c == '"' && value.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                record.add(value.toString());
+                value.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                record.add(value.toString());
+                return record;
+            } else {
+                value.append((char) c);
+            }
+            c = reader.read();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,149 @@
+package com.converter.document_converter.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 이미지 변환용 버퍼 풀
+// - 래스터: 타입과 크기 구간(SIZE_CLASS 배수로 올림)별로 BufferedImage를 보관하고, 필요한 크기만큼 잘라(getSubimage) 씀
+// - 바이트: 인코딩 결과를 받는 ByteArrayOutputStream을 비워서 재사용 (커진 내부 배열을 그대로 유지)
+// 보관하는 전체 바이트 수가 한도를 넘으면 반납된 버퍼는 버림
+@Component
+public class ImageBufferPool {
+
+    private static final int SIZE_CLASS = 256;
+
+    private final long budget;
+    private final long maxRetainedBuffer;
+    private final Map<RasterClass, Queue<BufferedImage>> rasters = new ConcurrentHashMap<>();
+    private final Queue<Buffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    public ImageBufferPool(
+            @Value("${converter.image.pool.buffer-budget:64MB}") DataSize budget,
+            @Value("${converter.image.pool.max-retained-buffer:8MB}") DataSize maxRetainedBuffer
+    ) {
+        this.budget = budget.toBytes();
+        this.maxRetainedBuffer = maxRetainedBuffer.toBytes();
+    }
+
+    // 풀에 넣을 수 있는 이미지 타입 (색상표가 필요한 indexed/custom 타입은 제외)
+    public boolean isPoolable(int imageType) {
+        return switch (imageType) {
+            case BufferedImage.TYPE_INT_RGB, BufferedImage.TYPE_INT_ARGB, BufferedImage.TYPE_INT_BGR,
+                 BufferedImage.TYPE_3BYTE_BGR, BufferedImage.TYPE_4BYTE_ABGR, BufferedImage.TYPE_BYTE_GRAY -> true;
+            default -> false;
+        };
+    }
+
+    // width x height 이상인 이미지를 빌림 - view()만 사용하고, 내용은 이전 사용자의 것이 남아 있을 수 있음
+    public PooledImage borrowImage(int imageType, int width, int height) {
+        RasterClass rasterClass = new RasterClass(imageType, roundUp(width), roundUp(height));
+        Queue<BufferedImage> idle = rasters.get(rasterClass);
+        BufferedImage backing = idle != null ? idle.poll() : null;
+        if (backing != null) {
+            retainedBytes.addAndGet(-rasterClass.bytes());
+        } else {
+            backing = new BufferedImage(rasterClass.width(), rasterClass.height(), imageType);
+        }
+        return new PooledImage(backing, backing.getSubimage(0, 0, width, height), rasterClass);
+    }
+
+    // 빌린 이미지를 투명(0)으로 비움 - 새로 할당한 이미지와 같은 상태
+    public void clear(PooledImage image) {
+        Graphics2D graphics = image.view().createGraphics();
+        try {
+            graphics.setComposite(AlphaComposite.Clear);
+            graphics.fillRect(0, 0, image.view().getWidth(), image.view().getHeight());
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    public void release(PooledImage image) {
+        if (image == null || image.rasterClass() == null) {
+            return;
+        }
+        if (reserve(image.rasterClass().bytes())) {
+            rasters.computeIfAbsent(image.rasterClass(), key -> new ConcurrentLinkedQueue<>()).add(image.backing());
+        }
+    }
+
+    public Buffer borrowBuffer() {
+        Buffer buffer = buffers.poll();
+        if (buffer == null) {
+            return new Buffer();
+        }
+        retainedBytes.addAndGet(-buffer.capacity());
+        buffer.reset();
+        return buffer;
+    }
+
+    public void release(Buffer buffer) {
+        if (buffer.capacity() <= maxRetainedBuffer && reserve(buffer.capacity())) {
+            buffers.add(buffer);
+        }
+    }
+
+    public long getRetainedBytes() {
+        return retainedBytes.get();
+    }
+
+    private boolean reserve(long bytes) {
+        while (true) {
+            long current = retainedBytes.get();
+            if (current + bytes > budget) {
+                return false;
+            }
+            if (retainedBytes.compareAndSet(current, current + bytes)) {
+                return true;
+            }
+        }
+    }
+
+    private static int roundUp(int size) {
+        return (size + SIZE_CLASS - 1) / SIZE_CLASS * SIZE_CLASS;
+    }
+
+    // 풀에서 빌린 이미지 (rasterClass가 null이면 풀 밖에서 만든 이미지)
+    public record PooledImage(BufferedImage backing, BufferedImage view, RasterClass rasterClass) {
+
+        public static PooledImage unpooled(BufferedImage image) {
+            return new PooledImage(image, image, null);
+        }
+    }
+
+    public record RasterClass(int imageType, int width, int height) {
+
+        long bytes() {
+            int bytesPerPixel = switch (imageType) {
+                case BufferedImage.TYPE_BYTE_GRAY -> 1;
+                case BufferedImage.TYPE_3BYTE_BGR -> 3;
+                default -> 4;
+            };
+            return (long) width * height * bytesPerPixel;
+        }
+    }
+
+    // 내부 배열 크기를 알 수 있는 ByteArrayOutputStream
+    public static class Buffer extends ByteArrayOutputStream {
+
+        Buffer() {
+            super(64 * 1024);
+        }
+
+        int capacity() {
+            return buf.length;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.converter.document_converter.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 형식별 ImageReader/ImageWriter 풀
+// ImageIO.read/write는 호출할 때마다 등록된 플러그인을 모두 훑어 새 reader/writer를 만들므로,
+// 자주 쓰는 형식은 한 번 만든 인스턴스를 reset()해서 다시 씀 (인스턴스 자체는 스레드 안전하지 않으므로 빌려 쓰고 반납)
+@Component
+public class ImageCodecPool {
+
+    private final ImageBufferPool bufferPool;
+    private final int maxIdlePerFormat;
+    private final Map<String, Pool<ImageReader>> readers = new ConcurrentHashMap<>();
+    private final Map<String, Pool<ImageWriter>> writers = new ConcurrentHashMap<>();
+
+    public ImageCodecPool(
+            ImageBufferPool bufferPool,
+            @Value("${converter.image.pool.max-idle-per-format:0}") int maxIdlePerFormat
+    ) {
+        this.bufferPool = bufferPool;
+        this.maxIdlePerFormat = maxIdlePerFormat > 0
+                ? maxIdlePerFormat
+                : Runtime.getRuntime().availableProcessors() * 2;
+    }
+
+    // 입력의 시그니처로 형식을 알아내 reader를 빌림 (모르는 형식이면 ImageIO에 맡기고 풀에는 넣지 않음)
+    public ImageReader borrowReader(ImageInputStream input) throws IOException {
+        String format = detectFormat(input);
+        if (format != null) {
+            ImageReader reader = readers.computeIfAbsent(format, key -> new Pool<>()).poll();
+            if (reader != null) {
+                return reader;
+            }
+            Iterator<ImageReader> byName = ImageIO.getImageReadersByFormatName(format);
+            if (byName.hasNext()) {
+                return byName.next();
+            }
+        }
+
+        Iterator<ImageReader> byContent = ImageIO.getImageReaders(input);
+        if (!byContent.hasNext()) {
+            throw new RuntimeException("지원하지 않는 이미지 형식입니다.");
+        }
+        return byContent.next();
+    }
+
+    public void release(ImageReader reader) {
+        String format = poolKey(formatName(reader));
+        Pool<ImageReader> pool = format != null ? readers.get(format) : null;
+        reader.reset();
+        if (pool == null || !pool.offer(reader, maxIdlePerFormat)) {
+            reader.dispose();
+        }
+    }
+
+    public ImageWriter borrowWriter(String format) {
+        String key = poolKey(format);
+        if (key != null) {
+            ImageWriter writer = writers.computeIfAbsent(key, k -> new Pool<>()).poll();
+            if (writer != null) {
+                return writer;
+            }
+        }
+
+        Iterator<ImageWriter> byName = ImageIO.getImageWritersByFormatName(format);
+        if (!byName.hasNext()) {
+            throw new RuntimeException("지원하지 않는 이미지 형식입니다.");
+        }
+        return byName.next();
+    }
+
+    public void release(ImageWriter writer) {
+        String[] names = writer.getOriginatingProvider() != null
+                ? writer.getOriginatingProvider().getFormatNames()
+                : new String[0];
+        String format = names.length > 0 ? poolKey(names[0]) : null;
+        Pool<ImageWriter> pool = format != null ? writers.get(format) : null;
+        writer.reset();
+        if (pool == null || !pool.offer(writer, maxIdlePerFormat)) {
+            writer.dispose();
+        }
+    }
+
+    // 풀의 writer와 버퍼로 인코딩 (quality가 있으면 압축 품질 지정)
+    public byte[] encode(BufferedImage image, String format, Double quality) throws IOException {
+        ImageWriter writer = borrowWriter(format);
+        ImageBufferPool.Buffer buffer = bufferPool.borrowBuffer();
+        try {
+            try (ImageOutputStream output = new MemoryCacheImageOutputStream(buffer)) {
+                writer.setOutput(output);
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                if (quality != null && param.canWriteCompressed()) {
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    if (param.getCompressionType() == null) {
+                        param.setCompressionType(param.getCompressionTypes()[0]);
+                    }
+                    param.setCompressionQuality(quality.floatValue());
+                }
+                writer.write(null, new IIOImage(image, null, null), param);
+            }
+            return buffer.toByteArray();
+        } finally {
+            release(writer);
+            bufferPool.release(buffer);
+        }
+    }
+
+    // 앞부분 몇 바이트만 보고 자주 쓰는 형식 판별 (읽은 위치는 되돌림)
+    private String detectFormat(ImageInputStream input) throws IOException {
+        byte[] header = new byte[8];
+        input.mark();
+        int read;
+        try {
+            read = input.read(header);
+        } finally {
+            input.reset();
+        }
+
+        if (read >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return "jpeg";
+        }
+        if (read >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return "png";
+        }
+        if (read >= 4 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return "gif";
+        }
+        if (read >= 2 && header[0] == 'B' && header[1] == 'M') {
+            return "bmp";
+        }
+        return null;
+    }
+
+    private String formatName(ImageReader reader) {
+        try {
+            return reader.getFormatName();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // 같은 형식의 별칭(jpg/JPEG 등)은 하나의 풀로
+    private static String poolKey(String format) {
+        if (format == null) {
+            return null;
+        }
+        return switch (format.toLowerCase()) {
+            case "jpg", "jpeg" -> "jpeg";
+            case "png" -> "png";
+            case "gif" -> "gif";
+            case "bmp" -> "bmp";
+            default -> null;
+        };
+    }
+
+    private static class Pool<T> {
+        private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        T poll() {
+            T item = idle.poll();
+            if (item != null) {
+                size.decrementAndGet();
+            }
+            return item;
+        }
+
+        // 한도를 넘으면 false (호출한 쪽에서 dispose)
+        boolean offer(T item, int maxIdle) {
+            if (size.incrementAndGet() > maxIdle) {
+                size.decrementAndGet();
+                return false;
+            }
+            idle.add(item);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.converter.document_converter.service;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+// 여러 이미지를 한 장씩 페이지로 넣어 PDF를 만듦
+// 디코딩/축소/압축은 워커에서 병렬로 하고, PDDocument는 스레드 안전하지 않으므로
+// 이 스레드에서만 업로드 순서대로 페이지를 붙임 (동시에 잡아두는 이미지는 병렬도의 2배까지)
+// 장마다 디코딩할 메모리는 변환 전체가 예약해 둔 budget에서 꺼내 씀
+class ImagePdfAssembler {
+
+    private final ConversionExecutor executor;
+    private final ImageService imageService;
+    private final Integer maxSize;
+    private final Double quality;
+    private final MemoryAdmission.Budget budget;
+    private final ProgressListener progress;
+
+    ImagePdfAssembler(ConversionExecutor executor, ImageService imageService,
+                      Integer maxSize, Double quality, MemoryAdmission.Budget budget, ProgressListener progress) {
+        this.executor = executor;
+        this.imageService = imageService;
+        this.maxSize = maxSize;
+        this.quality = quality;
+        this.budget = budget;
+        this.progress = progress;
+    }
+
+    void assemble(List<MultipartFile> files, PDDocument document) throws IOException {
+        BlockingQueue<PreparedImage> completed = new LinkedBlockingQueue<>();
+        // 끝난 순서와 페이지 순서가 다르므로 앞 페이지가 올 때까지 보관
+        Map<Integer, PreparedImage> pending = new HashMap<>();
+        int window = executor.getParallelism() * 2;
+        int submitted = 0;
+        int received = 0;
+        int written = 0;
+        IOException failure = null;
+
+        try {
+            while (received < submitted || (failure == null && written < files.size())) {
+                while (failure == null && submitted < files.size() && submitted - written < window) {
+                    int index = submitted++;
+                    MultipartFile file = files.get(index);
+                    executor.submit(() -> completed.add(prepare(index, file)));
+                }
+
+                PreparedImage prepared = completed.take();
+                received++;
+                if (prepared.error() != null) {
+                    // 실패하면 더 넣지 않고, 이미 맡긴 이미지가 끝날 때까지 기다린 뒤 던짐
+                    if (failure == null) {
+                        failure = prepared.error();
+                    }
+                    continue;
+                }
+                if (failure != null) {
+                    continue;
+                }
+
+                pending.put(prepared.index(), prepared);
+                while (pending.containsKey(written)) {
+                    addPage(document, pending.remove(written).image());
+                    written++;
+                    progress.onProgress(written, files.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF 변환이 중단되었습니다.", e);
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private PreparedImage prepare(int index, MultipartFile file) {
+        try {
+            return new PreparedImage(index, imageService.preparePageImage(file, maxSize, quality, budget), null);
+        } catch (Exception | Error e) {
+            // 읽을 수 없는 이미지(메모리 부족 포함)는 어떤 파일인지 알려줌
+            return new PreparedImage(index, null,
+                    new IOException("이미지를 읽을 수 없습니다: " + file.getOriginalFilename(), e));
+        }
+    }
+
+    // 이미지 크기(1px = 1pt)의 페이지를 만들고 이미지를 꽉 채워 그림
+    // 이미 압축된 데이터를 그대로 스트림에 넣으므로 여기서는 다시 인코딩하지 않음
+    private void addPage(PDDocument document, ImageService.PageImage image) throws IOException {
+        PDImageXObject xObject = new PDImageXObject(document, new ByteArrayInputStream(image.data()),
+                image.jpeg() ? COSName.DCT_DECODE : COSName.FLATE_DECODE,
+                image.width(), image.height(), 8,
+                image.gray() ? PDDeviceGray.INSTANCE : PDDeviceRGB.INSTANCE);
+
+        PDPage page = new PDPage(new PDRectangle(image.width(), image.height()));
+        document.addPage(page);
+        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+            contentStream.drawImage(xObject, 0, 0, image.width(), image.height());
+        }
+    }
+
+    private record PreparedImage(int index, ImageService.PageImage image, IOException error) {
+    }
+}
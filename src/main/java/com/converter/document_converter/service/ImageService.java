@@ -1,44 +1,691 @@
 package com.converter.document_converter.service;
 
-import net.coobird.thumbnailator.Thumbnails;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import net.coobird.thumbnailator.resizers.DefaultResizerFactory;
+import net.coobird.thumbnailator.resizers.Resizer;
+import net.coobird.thumbnailator.resizers.Resizers;
+import net.coobird.thumbnailator.util.exif.ExifFilterUtils;
+import net.coobird.thumbnailator.util.exif.ExifUtils;
+import net.coobird.thumbnailator.util.exif.Orientation;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageTypeSpecifier;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 @Service
+@RequiredArgsConstructor
 public class ImageService {
 
+    private static final ObjectMapper MANIFEST_WRITER = new ObjectMapper();
+    // PDF에 넣을 JPEG를 다시 인코딩할 때 기본 품질 (quality를 지정하지 않은 경우)
+    private static final double PAGE_JPEG_QUALITY = 0.9;
+    // 메모리 예약 추정용 (INT_ARGB/INT_RGB 기준)
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final ConversionCache conversionCache;
+    private final ConversionExecutor conversionExecutor;
+    private final ImageCodecPool codecPool;
+    private final ImageBufferPool bufferPool;
+    private final ConversionMetrics conversionMetrics;
+    private final MemoryAdmission memoryAdmission;
+
+    // 디코딩을 허용하는 최대 픽셀 수 (압축 폭탄, 지나친 확대 방지 - 원본과 결과 모두)
+    @Value("${converter.image.max-pixels:100000000}")
+    private long maxPixels;
+
+    // 헤더만 읽어 리사이즈할 수 있는 이미지인지 확인 (사용량 차감 전에 호출, 결과는 resizeImage에 넘김)
+    public ImageProbe probeForResize(MultipartFile file, int width, int height) throws IOException {
+        checkResizeSize(width, height);
+        return checkResize(probe(file), width, height);
+    }
+
+    // 헤더만 읽어 압축할 수 있는 이미지인지 확인
+    public ImageProbe probeForCompress(MultipartFile file, double quality) throws IOException {
+        checkQuality(quality);
+        return checkDecodable(probe(file));
+    }
+
     public byte[] resizeImage(MultipartFile file, int width, int height) throws IOException {
-        // 원본 이미지 읽기
-        BufferedImage originalImage = ImageIO.read(file.getInputStream());
+        return resizeImage(file, probeForResize(file, width, height), width, height);
+    }
+
+    public byte[] resizeImage(MultipartFile file, ImageProbe probe, int width, int height) throws IOException {
+        return conversionMetrics.record("image-resize", List.of(file), conversion -> {
+            String format = getImageFormat(file.getOriginalFilename());
+            String cacheKey = conversionCache.key("image-resize", List.of(file), width, height, format);
+            byte[] data = conversionCache.get(cacheKey);
+            if (data != null) {
+                conversion.cacheHit();
+            } else {
+                conversion.cacheMiss();
+                try (InputStream inputStream = file.getInputStream()) {
+                    data = doResizeImage(inputStream, probe, width, height, format, conversion);
+                }
+                conversionCache.put(cacheKey, data);
+            }
+            conversion.outputBytes(data.length);
+            return data;
+        });
+    }
 
-        // 리사이즈
-        BufferedImage resizedImage = Thumbnails.of(originalImage)
-                .size(width, height)
-                .asBufferedImage();
+    // 스트리밍 업로드용 - 업로드 스트림을 그대로 디코딩
+    // 캐시 키를 만들려면 입력 전체를 먼저 읽어야 하므로 캐시는 쓰지 않음
+    // 헤더 확인은 디코딩 직전에 같은 reader로 함
+    public byte[] resizeImage(InputStream inputStream, String fileName, int width, int height) throws IOException {
+        checkResizeSize(width, height);
+        return conversionMetrics.record("image-resize", List.of(), conversion -> {
+            BoundedInputStream countingStream = BoundedInputStream.builder().setInputStream(inputStream).get();
+            try {
+                byte[] data = doResizeImage(countingStream, null, width, height, getImageFormat(fileName),
+                        conversion);
+                conversion.outputBytes(data.length);
+                return data;
+            } finally {
+                conversion.inputBytes(countingStream.getCount());
+            }
+        });
+    }
 
-        // byte[]로 변환
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        String format = getImageFormat(file.getOriginalFilename());
-        ImageIO.write(resizedImage, format, outputStream);
+    // probe: 미리 확인한 헤더 정보 (null이면 여기서 읽고 확인)
+    private byte[] doResizeImage(InputStream inputStream, ImageProbe probe, int width, int height, String format,
+                                 ConversionMetrics.Conversion conversion) throws IOException {
+        try (ImageInputStream input = new MemoryCacheImageInputStream(inputStream)) {
+            ImageReader reader = codecPool.borrowReader(input);
+            try {
+                reader.setInput(input, true, true);
+                if (probe == null) {
+                    probe = checkResize(probe(reader), width, height);
+                }
 
-        return outputStream.toByteArray();
+                // 헤더의 크기로 작업 메모리를 먼저 예약 (서브샘플링해서 읽은 원본 + 결과와 축소용 중간 이미지)
+                // 중간 이미지는 결과의 최대 4배 (Resizers.PROGRESSIVE)
+                int sourceWidth = probe.width();
+                int sourceHeight = probe.height();
+                int subsampling = resizeSubsampling(sourceWidth, sourceHeight, width, height);
+                Dimension target = fitWithin(sourceWidth, sourceHeight, width, height);
+                long pixels = subsampledPixels(sourceWidth, sourceHeight, subsampling)
+                        + (long) target.width * target.height * 5;
+                try (MemoryAdmission.Reservation reservation = memoryAdmission.reserve(pixels * BYTES_PER_PIXEL)) {
+                    return readAndResize(reader, width, height, format, conversion);
+                }
+            } finally {
+                codecPool.release(reader);
+            }
+        }
+    }
+
+    private byte[] readAndResize(ImageReader reader, int width, int height, String format,
+                                 ConversionMetrics.Conversion conversion) throws IOException {
+        // 원본 이미지 읽기 (크게 줄이는 경우 디코딩 단계에서 건너뛰며 읽음)
+        ImageBufferPool.PooledImage original;
+        try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE)) {
+            original = decodeForSize(reader, width, height);
+        }
+        ImageBufferPool.PooledImage resized = null;
+        try {
+            BufferedImage source = original.view();
+            conversion.addPixels((long) source.getWidth() * source.getHeight());
+
+            // 리사이즈 - 비율 유지하며 width x height 안에 맞춤 (Thumbnails.size와 같은 계산)
+            Dimension target = fitWithin(source.getWidth(), source.getHeight(), width, height);
+            boolean keepAlpha = source.getColorModel().hasAlpha() && !"jpg".equals(format) && !"bmp".equals(format);
+            resized = bufferPool.borrowImage(keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB,
+                    target.width, target.height);
+            bufferPool.clear(resized);
+
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+                resize(source, resized.view());
+            }
+
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.SERIALIZE)) {
+                return codecPool.encode(resized.view(), format, null);
+            }
+        } finally {
+            bufferPool.release(resized);
+            bufferPool.release(original);
+        }
     }
 
     public byte[] compressImage(MultipartFile file, double quality) throws IOException {
-        // 압축 (quality: 0.0 ~ 1.0)
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        return compressImage(file, probeForCompress(file, quality), quality);
+    }
+
+    public byte[] compressImage(MultipartFile file, ImageProbe probe, double quality) throws IOException {
+        return conversionMetrics.record("image-compress", List.of(file), conversion -> {
+            String cacheKey = conversionCache.key("image-compress", List.of(file), quality);
+            byte[] data = conversionCache.get(cacheKey);
+            if (data != null) {
+                conversion.cacheHit();
+            } else {
+                conversion.cacheMiss();
+                try (InputStream inputStream = file.getInputStream()) {
+                    data = doCompressImage(inputStream, probe, quality, conversion);
+                }
+                conversionCache.put(cacheKey, data);
+            }
+            conversion.outputBytes(data.length);
+            return data;
+        });
+    }
+
+    // 스트리밍 업로드용 (캐시 사용 안 함)
+    public byte[] compressImage(InputStream inputStream, double quality) throws IOException {
+        checkQuality(quality);
+        return conversionMetrics.record("image-compress", List.of(), conversion -> {
+            BoundedInputStream countingStream = BoundedInputStream.builder().setInputStream(inputStream).get();
+            try {
+                byte[] data = doCompressImage(countingStream, null, quality, conversion);
+                conversion.outputBytes(data.length);
+                return data;
+            } finally {
+                conversion.inputBytes(countingStream.getCount());
+            }
+        });
+    }
+
+    private byte[] doCompressImage(InputStream inputStream, ImageProbe probe, double quality,
+                                   ConversionMetrics.Conversion conversion) throws IOException {
+        // 압축 (quality: 0.0 ~ 1.0) - 원본 형식 그대로, 크기 유지
+        try (ImageInputStream input = new MemoryCacheImageInputStream(inputStream)) {
+            ImageReader reader = codecPool.borrowReader(input);
+            ImageBufferPool.PooledImage decoded = null;
+            try {
+                reader.setInput(input, true, true);
+                if (probe == null) {
+                    probe = checkDecodable(probe(reader));
+                }
+                String format = probe.format();
+                Orientation orientation = exifOrientation(reader, format);
+                boolean rotated = orientation != null && orientation != Orientation.TOP_LEFT;
+                int width = probe.width();
+                int height = probe.height();
+
+                // 디코딩한 원본, 돌린 사본과 인코딩 결과 버퍼(원본 크기 이하)를 먼저 예약
+                long pixels = (long) width * height;
+                long workingSet = pixels * BYTES_PER_PIXEL * (rotated ? 2 : 1) + pixels;
+                try (MemoryAdmission.Reservation reservation = memoryAdmission.reserve(workingSet)) {
+                    try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE)) {
+                        decoded = decode(reader, reader.getDefaultReadParam(), width, height);
+                    }
+                    BufferedImage image = decoded.view();
+                    conversion.addPixels((long) image.getWidth() * image.getHeight());
+                    // EXIF 방향 정보 반영 (Thumbnailator 기본 동작과 같게)
+                    if (rotated) {
+                        try (ConversionMetrics.PhaseTimer ignored =
+                                     conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+                            image = ExifFilterUtils.getFilterForOrientation(orientation).apply(image);
+                        }
+                    }
+
+                    try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.SERIALIZE)) {
+                        return codecPool.encode(image, format, quality);
+                    }
+                }
+            } finally {
+                bufferPool.release(decoded);
+                codecPool.release(reader);
+            }
+        }
+    }
+
+    // 여러 이미지 일괄 처리 - 병렬로 변환하고 끝나는 순서대로 ZIP 엔트리로 기록
+    // 실패한 파일은 건너뛰고 manifest.json에 결과를 남김
+    public void processBatch(List<MultipartFile> files, BatchOperation operation, int width, int height,
+                             double quality, OutputStream outputStream) throws IOException {
+        // 파일별 변환은 image-resize / image-compress로 따로 기록됨
+        conversionMetrics.record("image-batch", files, outputStream, (conversion, output) ->
+                doProcessBatch(files, operation, width, height, quality, output));
+    }
 
-        Thumbnails.of(file.getInputStream())
-                .scale(1.0)  // 크기 유지
-                .outputQuality(quality)  // 품질 조절
-                .toOutputStream(outputStream);
+    private void doProcessBatch(List<MultipartFile> files, BatchOperation operation, int width, int height,
+                                double quality, OutputStream outputStream) throws IOException {
+        BlockingQueue<BatchItem> completed = new LinkedBlockingQueue<>();
+        List<BatchItem> manifest = new ArrayList<>();
+        // 동시에 메모리에 잡아두는 결과 수 제한
+        int window = conversionExecutor.getParallelism() * 2;
+        int submitted = 0;
+
+        try (ZipOutputStream zipOut = new ZipOutputStream(CloseShieldOutputStream.wrap(outputStream))) {
+            while (manifest.size() < files.size()) {
+                while (submitted < files.size() && submitted - manifest.size() < window) {
+                    int index = submitted++;
+                    MultipartFile file = files.get(index);
+                    conversionExecutor.submit(() ->
+                            completed.add(convertBatchItem(index, file, operation, width, height, quality)));
+                }
+
+                BatchItem item = completed.take();
+                if (item.getData() != null) {
+                    zipOut.putNextEntry(new ZipEntry(item.getEntryName()));
+                    zipOut.write(item.getData());
+                    zipOut.closeEntry();
+                    zipOut.flush();
+                    item.setData(null);
+                }
+                manifest.add(item);
+            }
+
+            manifest.sort(Comparator.comparingInt(BatchItem::getIndex));
+            zipOut.putNextEntry(new ZipEntry("manifest.json"));
+            zipOut.write(MANIFEST_WRITER.writerWithDefaultPrettyPrinter().writeValueAsBytes(manifest));
+            zipOut.closeEntry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("일괄 처리가 중단되었습니다.", e);
+        }
+    }
+
+    private BatchItem convertBatchItem(int index, MultipartFile file, BatchOperation operation,
+                                       int width, int height, double quality) {
+        String fileName = file.getOriginalFilename();
+        BatchItem item = new BatchItem();
+        item.setIndex(index);
+        item.setFileName(fileName);
+
+        try {
+            byte[] data = switch (operation) {
+                case RESIZE -> resizeImage(file, width, height);
+                case COMPRESS -> compressImage(file, quality);
+            };
+            String prefix = operation == BatchOperation.RESIZE ? "resized_" : "compressed_";
+            item.setEntryName(String.format("%04d_%s%s", index + 1, prefix, entryBaseName(index, fileName)));
+            item.setData(data);
+            item.setSize(data.length);
+            item.setStatus("SUCCESS");
+        } catch (Exception | Error e) {
+            // 한 파일의 실패(메모리 부족 포함)가 전체 일괄 처리를 멈추지 않도록 함
+            item.setStatus("ERROR");
+            item.setError(e.getMessage() != null ? e.getMessage() : "파일 처리 중 오류가 발생했습니다.");
+        }
+        return item;
+    }
+
+    // ZIP 항목 이름에 쓸 파일 이름 - 경로(../, 드라이브, 폴더)는 버리고 이름만 남김 (없으면 image_N)
+    static String entryBaseName(int index, String fileName) {
+        String baseName = StringUtils.getFilename(StringUtils.cleanPath(fileName));
+        if (!StringUtils.hasText(baseName) || ".".equals(baseName) || "..".equals(baseName)) {
+            return "image_" + (index + 1);
+        }
+        return baseName;
+    }
+
+    // PDF 페이지용 이미지 한 장에 필요한 작업 메모리 (헤더만 읽음, 그대로 넣는 JPEG는 0)
+    // 이미지 -> PDF 변환이 워커에 맡기기 전에 장마다 구해서 함께 예약함
+    long pageImageWorkingSet(MultipartFile file, Integer maxSize, Double quality) throws IOException {
+        try (InputStream inputStream = file.getInputStream();
+             ImageInputStream input = new MemoryCacheImageInputStream(inputStream)) {
+            ImageReader reader = codecPool.borrowReader(input);
+            try {
+                reader.setInput(input, true, true);
+                return planPageImage(reader, maxSize, quality).workingSet();
+            } finally {
+                codecPool.release(reader);
+            }
+        }
+    }
+
+    // PDF 페이지용 이미지 준비 (이미지 -> PDF 변환의 워커에서 호출)
+    // 줄이거나 돌릴 필요가 없는 JPEG는 디코딩하지 않고 원본 바이트를 그대로 돌려줌 (DCTDecode로 삽입)
+    // 그 외에는 디코딩 후 흰 배경에 합성하고, 긴 변을 maxSize 이하로 줄여서
+    // JPEG(원본이 JPEG이거나 quality 지정) 또는 압축한 RGB/그레이 픽셀로 돌려줌
+    // budget: 변환 전체가 pageImageWorkingSet으로 구해 예약해 둔 메모리 (장마다 여기서 꺼내 씀)
+    PageImage preparePageImage(MultipartFile file, Integer maxSize, Double quality, MemoryAdmission.Budget budget)
+            throws IOException {
+        try (InputStream inputStream = file.getInputStream();
+             ImageInputStream input = new MemoryCacheImageInputStream(inputStream)) {
+            ImageReader reader = codecPool.borrowReader(input);
+            List<ImageBufferPool.PooledImage> borrowed = new ArrayList<>();
+            try {
+                reader.setInput(input, true, true);
+                PageImagePlan plan = planPageImage(reader, maxSize, quality);
+                ImageProbe probe = plan.probe();
+                if (plan.passThrough()) {
+                    return new PageImage(file.getBytes(), true, probe.width(), probe.height(), plan.gray());
+                }
+
+                try (MemoryAdmission.Reservation reservation = budget.reserve(plan.workingSet())) {
+                    ImageBufferPool.PooledImage decoded = plan.shrink()
+                            ? decodeForSize(reader, maxSize, maxSize)
+                            : decode(reader, reader.getDefaultReadParam(), probe.width(), probe.height());
+                    borrowed.add(decoded);
+                    BufferedImage image = decoded.view();
+                    if (plan.rotated()) {
+                        image = ExifFilterUtils.getFilterForOrientation(plan.orientation()).apply(image);
+                    }
+
+                    boolean gray = image.getType() == BufferedImage.TYPE_BYTE_GRAY;
+                    Dimension target = plan.shrink()
+                            ? fitWithin(image.getWidth(), image.getHeight(), maxSize, maxSize)
+                            : new Dimension(image.getWidth(), image.getHeight());
+                    image = toOpaque(image, gray ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB,
+                            target, borrowed);
+
+                    boolean jpeg = "jpeg".equals(probe.format());
+                    if (jpeg || quality != null) {
+                        byte[] data = codecPool.encode(image, "jpg", quality != null ? quality : PAGE_JPEG_QUALITY);
+                        return new PageImage(data, true, image.getWidth(), image.getHeight(), gray);
+                    }
+                    return new PageImage(deflatePixels(image, gray), false, image.getWidth(), image.getHeight(),
+                            gray);
+                }
+            } finally {
+                borrowed.forEach(bufferPool::release);
+                codecPool.release(reader);
+            }
+        }
+    }
+
+    // 헤더만 보고 페이지 이미지를 어떻게 만들지 정함
+    // 디코딩할 때는 디코딩한 원본과 돌린/배경에 합성한 사본, 줄인 결과만큼의 메모리가 필요
+    private PageImagePlan planPageImage(ImageReader reader, Integer maxSize, Double quality) throws IOException {
+        ImageProbe probe = checkDecodable(probe(reader));
+        int width = probe.width();
+        int height = probe.height();
+        Orientation orientation = exifOrientation(reader, probe.format());
+        boolean rotated = orientation != null && orientation != Orientation.TOP_LEFT;
+        boolean shrink = maxSize != null && (width > maxSize || height > maxSize);
+
+        if ("jpeg".equals(probe.format()) && quality == null && !shrink && !rotated) {
+            int components = jpegComponents(reader);
+            if (components == 1 || components == 3) {
+                return new PageImagePlan(probe, orientation, false, components, 0);
+            }
+        }
+
+        int subsampling = shrink ? resizeSubsampling(width, height, maxSize, maxSize) : 1;
+        long decodedPixels = subsampledPixels(width, height, subsampling);
+        long workingSet = decodedPixels * BYTES_PER_PIXEL * (rotated ? 3 : 2)
+                + (shrink ? (long) maxSize * maxSize * BYTES_PER_PIXEL : 0);
+        return new PageImagePlan(probe, orientation, shrink, 0, workingSet);
+    }
+
+    // 이미지 헤더 확인 - 형식, 크기, 색 구성, 프레임 수만 읽고 픽셀은 디코딩하지 않음
+    private ImageProbe probe(MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream();
+             ImageInputStream input = new MemoryCacheImageInputStream(inputStream)) {
+            ImageReader reader = codecPool.borrowReader(input);
+            try {
+                reader.setInput(input, true, true);
+                return probe(reader);
+            } finally {
+                codecPool.release(reader);
+            }
+        }
+    }
+
+    // 입력이 설정된 reader에서 헤더만 읽음 (헤더가 깨졌거나 디코딩할 수 없는 색 형식이면 여기서 거절)
+    private ImageProbe probe(ImageReader reader) {
+        try {
+            String format = reader.getFormatName().toLowerCase();
+            int width = reader.getWidth(0);
+            int height = reader.getHeight(0);
+            Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+            if (!types.hasNext()) {
+                throw new RuntimeException("지원하지 않는 색 형식의 이미지입니다.");
+            }
+            ImageTypeSpecifier type = types.next();
+            // 헤더에 프레임 수가 없는 형식(GIF 등)은 파일 전체를 훑어야 하므로 -1로 둠
+            int frames = reader.getNumImages(false);
+            return new ImageProbe(format, width, height, type.getNumComponents(),
+                    type.getColorModel().hasAlpha(), frames);
+        } catch (IOException | IllegalStateException | IndexOutOfBoundsException e) {
+            throw new RuntimeException("이미지를 읽을 수 없습니다. 파일이 손상되었거나 지원하지 않는 형식입니다.", e);
+        }
+    }
+
+    private ImageProbe checkDecodable(ImageProbe probe) {
+        if (probe.width() < 1 || probe.height() < 1) {
+            throw new RuntimeException("이미지 크기가 올바르지 않습니다.");
+        }
+        if (probe.pixels() > maxPixels) {
+            throw new RuntimeException("이미지가 너무 큽니다. (" + probe.width() + "x" + probe.height()
+                    + ", 최대 " + maxPixels + "픽셀)");
+        }
+        return probe;
+    }
 
-        return outputStream.toByteArray();
+    // 결과 크기도 원본과 같은 한도 (작은 이미지를 지나치게 확대하는 요청 거절)
+    private ImageProbe checkResize(ImageProbe probe, int width, int height) {
+        checkDecodable(probe);
+        Dimension target = fitWithin(probe.width(), probe.height(), width, height);
+        if ((long) target.width * target.height > maxPixels) {
+            throw new RuntimeException("결과 이미지가 너무 큽니다. (" + target.width + "x" + target.height
+                    + ", 최대 " + maxPixels + "픽셀)");
+        }
+        return probe;
+    }
+
+    private static void checkResizeSize(int width, int height) {
+        if (width < 1 || height < 1) {
+            throw new RuntimeException("가로/세로 크기는 1픽셀 이상으로 입력해주세요.");
+        }
+    }
+
+    private static void checkQuality(double quality) {
+        if (quality < 0 || quality > 1) {
+            throw new RuntimeException("품질은 0~1 사이로 입력해주세요.");
+        }
+    }
+
+    // 알파가 있거나 타입이 다르면 흰 배경의 불투명 이미지로 옮긴 뒤, 크기가 다르면 줄임
+    private BufferedImage toOpaque(BufferedImage image, int type, Dimension target,
+                                   List<ImageBufferPool.PooledImage> borrowed) {
+        boolean sameType = image.getType() == type
+                || (type == BufferedImage.TYPE_INT_RGB && image.getType() == BufferedImage.TYPE_3BYTE_BGR);
+        if (!sameType) {
+            ImageBufferPool.PooledImage flattened = bufferPool.borrowImage(type, image.getWidth(), image.getHeight());
+            borrowed.add(flattened);
+            Graphics2D graphics = flattened.view().createGraphics();
+            try {
+                graphics.setBackground(Color.WHITE);
+                graphics.clearRect(0, 0, image.getWidth(), image.getHeight());
+                graphics.drawImage(image, 0, 0, null);
+            } finally {
+                graphics.dispose();
+            }
+            image = flattened.view();
+        }
+
+        if (image.getWidth() != target.width || image.getHeight() != target.height) {
+            ImageBufferPool.PooledImage resized = bufferPool.borrowImage(type, target.width, target.height);
+            borrowed.add(resized);
+            resize(image, resized.view());
+            image = resized.view();
+        }
+        return image;
+    }
+
+    // 픽셀을 행 단위로 꺼내 Flate로 압축 (PDF 이미지 스트림의 8비트 RGB/그레이 형식)
+    private byte[] deflatePixels(BufferedImage image, boolean gray) throws IOException {
+        int width = image.getWidth();
+        int[] rgbRow = new int[width];
+        byte[] row = new byte[gray ? width : width * 3];
+        ImageBufferPool.Buffer buffer = bufferPool.borrowBuffer();
+        try {
+            try (DeflaterOutputStream output = new DeflaterOutputStream(buffer)) {
+                for (int y = 0; y < image.getHeight(); y++) {
+                    if (gray) {
+                        image.getRaster().getDataElements(0, y, width, 1, row);
+                    } else {
+                        image.getRGB(0, y, width, 1, rgbRow, 0, width);
+                        for (int x = 0, i = 0; x < width; x++) {
+                            int rgb = rgbRow[x];
+                            row[i++] = (byte) (rgb >> 16);
+                            row[i++] = (byte) (rgb >> 8);
+                            row[i++] = (byte) rgb;
+                        }
+                    }
+                    output.write(row);
+                }
+            }
+            return buffer.toByteArray();
+        } finally {
+            bufferPool.release(buffer);
+        }
+    }
+
+    // JPEG 색 성분 수 (헤더만 읽음, 알 수 없으면 0)
+    private int jpegComponents(ImageReader reader) {
+        try {
+            ImageTypeSpecifier rawType = reader.getRawImageType(0);
+            return rawType != null ? rawType.getNumComponents() : 0;
+        } catch (IOException | RuntimeException e) {
+            return 0;
+        }
+    }
+
+    // 헤더에서 원본 크기만 먼저 읽고, 결과 크기의 2배 이상은 남도록 서브샘플링해서 디코딩
+    // Thumbnailator는 비율을 유지한 채 전체 이미지를 줄이므로 영역 읽기는 쓰지 않음
+    private ImageBufferPool.PooledImage decodeForSize(ImageReader reader, int width, int height) throws IOException {
+        int sourceWidth = reader.getWidth(0);
+        int sourceHeight = reader.getHeight(0);
+        int subsampling = resizeSubsampling(sourceWidth, sourceHeight, width, height);
+
+        ImageReadParam param = reader.getDefaultReadParam();
+        param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        return decode(reader, param,
+                (sourceWidth + subsampling - 1) / subsampling,
+                (sourceHeight + subsampling - 1) / subsampling);
+    }
+
+    private static int resizeSubsampling(int sourceWidth, int sourceHeight, int width, int height) {
+        double scale = Math.min((double) width / sourceWidth, (double) height / sourceHeight);
+        return scale < 0.5 ? (int) (1.0 / (scale * 2)) : 1;
+    }
+
+    private static long subsampledPixels(int width, int height, int subsampling) {
+        return (long) ((width + subsampling - 1) / subsampling) * ((height + subsampling - 1) / subsampling);
+    }
+
+    // 풀에서 빌린 이미지에 바로 디코딩 (reader 기본 타입이 풀에 넣을 수 없는 타입이면 새로 할당)
+    private ImageBufferPool.PooledImage decode(ImageReader reader, ImageReadParam param, int width, int height)
+            throws IOException {
+        Iterator<ImageTypeSpecifier> types = reader.getImageTypes(0);
+        int imageType = types.hasNext() ? types.next().getBufferedImageType() : BufferedImage.TYPE_CUSTOM;
+        if (!bufferPool.isPoolable(imageType)) {
+            return ImageBufferPool.PooledImage.unpooled(reader.read(0, param));
+        }
+
+        ImageBufferPool.PooledImage pooled = bufferPool.borrowImage(imageType, width, height);
+        try {
+            param.setDestination(pooled.backing());
+            reader.read(0, param);
+            return pooled;
+        } catch (IOException | RuntimeException e) {
+            bufferPool.release(pooled);
+            throw e;
+        }
+    }
+
+    // Thumbnailator 기본 리사이저로 축소/확대
+    // 2배 넘게 줄이는 경우(Resizers.PROGRESSIVE)는 원본 크기 중간 이미지가 필요하므로 같은 방식을 풀의 이미지로 수행
+    private void resize(BufferedImage source, BufferedImage target) {
+        Resizer resizer = DefaultResizerFactory.getInstance()
+                .getResizer(new Dimension(source.getWidth(), source.getHeight()),
+                        new Dimension(target.getWidth(), target.getHeight()));
+        if (resizer != Resizers.PROGRESSIVE) {
+            resizer.resize(source, target);
+            return;
+        }
+
+        int targetWidth = target.getWidth();
+        int targetHeight = target.getHeight();
+        int startWidth = targetWidth;
+        int startHeight = targetHeight;
+        while (startWidth < source.getWidth() && startHeight < source.getHeight()) {
+            startWidth *= 2;
+            startHeight *= 2;
+        }
+        int currentWidth = startWidth / 2;
+        int currentHeight = startHeight / 2;
+
+        ImageBufferPool.PooledImage temp = bufferPool.borrowImage(target.getType(), currentWidth, currentHeight);
+        try {
+            Graphics2D graphics = temp.view().createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setComposite(AlphaComposite.Src);
+                graphics.drawImage(source, 0, 0, currentWidth, currentHeight, null);
+
+                // 절반씩 줄여가며 같은 이미지 안에서 반복
+                while (currentWidth >= targetWidth * 2 && currentHeight >= targetHeight * 2) {
+                    currentWidth = Math.max(currentWidth / 2, targetWidth);
+                    currentHeight = Math.max(currentHeight / 2, targetHeight);
+                    graphics.drawImage(temp.view(), 0, 0, currentWidth, currentHeight,
+                            0, 0, currentWidth * 2, currentHeight * 2, null);
+                }
+            } finally {
+                graphics.dispose();
+            }
+
+            Graphics2D targetGraphics = target.createGraphics();
+            try {
+                targetGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                targetGraphics.drawImage(temp.view(), 0, 0, targetWidth, targetHeight,
+                        0, 0, currentWidth, currentHeight, null);
+            } finally {
+                targetGraphics.dispose();
+            }
+        } finally {
+            bufferPool.release(temp);
+        }
+    }
+
+    // JPEG의 EXIF 방향 (없거나 읽을 수 없으면 null)
+    private Orientation exifOrientation(ImageReader reader, String format) {
+        if (!"jpeg".equals(format)) {
+            return null;
+        }
+        try {
+            return ExifUtils.getExifOrientation(reader, 0);
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private Dimension fitWithin(int sourceWidth, int sourceHeight, int width, int height) {
+        double sourceRatio = (double) sourceWidth / sourceHeight;
+        double targetRatio = (double) width / height;
+        int targetWidth = width;
+        int targetHeight = height;
+        if (Double.compare(sourceRatio, targetRatio) != 0) {
+            if (sourceRatio > targetRatio) {
+                targetHeight = (int) Math.round(width / sourceRatio);
+            } else {
+                targetWidth = (int) Math.round(height * sourceRatio);
+            }
+        }
+        return new Dimension(Math.max(1, targetWidth), Math.max(1, targetHeight));
     }
 
     private String getImageFormat(String filename) {
@@ -51,4 +698,73 @@ public class ImageService {
             default -> "jpg";
         };
     }
+
+    // 헤더만 읽은 이미지 정보 (frames: 헤더로 알 수 없으면 -1)
+    public record ImageProbe(String format, int width, int height, int components, boolean alpha, int frames) {
+
+        public long pixels() {
+            return (long) width * height;
+        }
+    }
+
+    // PDF 페이지에 넣을 이미지 (jpeg면 DCTDecode, 아니면 FlateDecode로 압축한 8비트 픽셀)
+    record PageImage(byte[] data, boolean jpeg, int width, int height, boolean gray) {
+    }
+
+    // 페이지 이미지 처리 방법 (passThroughComponents: 원본 JPEG를 그대로 넣을 때의 채널 수, 아니면 0)
+    private record PageImagePlan(ImageProbe probe, Orientation orientation, boolean shrink,
+                                 int passThroughComponents, long workingSet) {
+
+        boolean passThrough() {
+            return passThroughComponents > 0;
+        }
+
+        boolean gray() {
+            return passThroughComponents == 1;
+        }
+
+        boolean rotated() {
+            return orientation != null && orientation != Orientation.TOP_LEFT;
+        }
+    }
+
+    // 일괄 처리 작업 종류
+    public enum BatchOperation {
+        RESIZE,
+        COMPRESS
+    }
+
+    // 일괄 처리 결과 (manifest.json 항목)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class BatchItem {
+        private int index;
+        private String fileName;
+        private String entryName;
+        private String status;
+        private long size;
+        private String error;
+        @JsonIgnore
+        private byte[] data;
+
+        public int getIndex() { return index; }
+        public void setIndex(int index) { this.index = index; }
+
+        public String getFileName() { return fileName; }
+        public void setFileName(String fileName) { this.fileName = fileName; }
+
+        public String getEntryName() { return entryName; }
+        public void setEntryName(String entryName) { this.entryName = entryName; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public long getSize() { return size; }
+        public void setSize(long size) { this.size = size; }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+
+        public byte[] getData() { return data; }
+        public void setData(byte[] data) { this.data = data; }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,282 @@
+package com.converter.document_converter.service;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessBufferedFileInputStream;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.pdfparser.PDFParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+// 필요한 페이지만 파싱해서 여는 PDF 문서 (페이지 범위 추출용)
+// PDFBox 2의 PDDocument.load는 카탈로그에서 닿는 객체를 모두 파싱하므로 (COSParser.parseDictObjects)
+// 여기서는 xref/trailer와 카탈로그, 페이지 트리 루트만 읽고, 페이지를 꺼낼 때
+// 페이지 트리에서 지나가는 노드와 그 페이지에서 닿는 객체(본문, 리소스, 주석)만 파싱함
+// 원본 파일은 필요한 위치만 읽고, 파싱한 스트림만 스크래치로 복사되므로 비용이 꺼낸 페이지 수에 비례
+// 파싱하지 않은 간접 객체는 PDFBox에서 없는 값(null)으로 보이므로 getPage로 꺼낸 페이지만 다뤄야 함
+// (문서 정보, 암호화 여부, 버전은 처음 열 때 읽으므로 getDocument로 바로 조회 가능)
+final class LazyPdfDocument implements Closeable {
+
+    // 페이지 트리가 이보다 깊으면 순환 참조로 보고 중단
+    private static final int MAX_TREE_DEPTH = 64;
+
+    private final Parser parser;
+    private final PDDocument document;
+
+    private LazyPdfDocument(Parser parser, PDDocument document) {
+        this.parser = parser;
+        this.document = document;
+    }
+
+    static LazyPdfDocument open(File file, MemoryUsageSetting memory) throws IOException {
+        RandomAccessBufferedFileInputStream source = new RandomAccessBufferedFileInputStream(file);
+        try {
+            ScratchFile scratchFile = new ScratchFile(memory);
+            try {
+                Parser parser = new Parser(source, scratchFile);
+                parser.parse();
+                return new LazyPdfDocument(parser, parser.getPDDocument());
+            } catch (IOException e) {
+                IOUtils.closeQuietly(scratchFile);
+                throw e;
+            }
+        } catch (IOException e) {
+            IOUtils.closeQuietly(source);
+            throw e;
+        }
+    }
+
+    PDDocument getDocument() {
+        return document;
+    }
+
+    // 페이지 트리 루트의 /Count
+    int getPageCount() {
+        return document.getNumberOfPages();
+    }
+
+    // 페이지 번호(1부터)의 페이지를 찾아 그 페이지에서 닿는 객체를 파싱
+    PDPage getPage(int pageNumber) throws IOException {
+        if (pageNumber < 1) {
+            throw new IOException("페이지 트리에서 " + pageNumber + "페이지를 찾을 수 없습니다.");
+        }
+        return new PDPage(parser.loadPage(pageNumber - 1));
+    }
+
+    // 페이지마다의 MediaBox (페이지 순서대로) - 페이지 트리 노드와 /MediaBox만 파싱하고 본문, 리소스는 읽지 않음
+    List<PDRectangle> getMediaBoxes() throws IOException {
+        return parser.loadMediaBoxes();
+    }
+
+    @Override
+    public void close() throws IOException {
+        document.close();
+    }
+
+    private static final class Parser extends PDFParser {
+
+        // 페이지 트리 상위 노드에서 물려받는 속성 (PDF 명세 7.7.3.4)
+        private static final List<COSName> INHERITABLE = List.of(
+                COSName.RESOURCES, COSName.MEDIA_BOX, COSName.CROP_BOX, COSName.ROTATE);
+
+        private COSDictionary root;
+
+        Parser(RandomAccessRead source, ScratchFile scratchFile) throws IOException {
+            super(source, scratchFile);
+        }
+
+        // PDFParser.initialParse에서 parseDictObjects(전체 파싱)와 checkPages만 뺀 것
+        // 문서 정보, 보기 설정은 결과 문서로 복사되므로 함께 읽음
+        @Override
+        protected void initialParse() throws IOException {
+            COSDictionary trailer = retrieveTrailer();
+            COSBase base = parseTrailerValuesDynamically(trailer);
+            if (!(base instanceof COSDictionary catalog)) {
+                throw new IOException("Expected root dictionary, but got this: " + base);
+            }
+            root = catalog;
+            if (isLenient() && !root.containsKey(COSName.TYPE)) {
+                root.setItem(COSName.TYPE, COSName.CATALOG);
+            }
+
+            if (resolve(trailer.getItem(COSName.INFO)) instanceof COSDictionary info) {
+                for (COSBase value : info.getValues()) {
+                    resolve(value);
+                }
+            }
+            resolveAll(root.getItem(COSName.VIEWER_PREFERENCES), null);
+            if (!(resolve(root.getItem(COSName.PAGES)) instanceof COSDictionary pages)) {
+                throw new IOException("Page tree root must be a dictionary");
+            }
+            resolve(pages.getItem(COSName.COUNT));
+
+            document.setDecrypted();
+            initialParseDone = true;
+        }
+
+        // /Count를 보고 해당 페이지가 든 자식으로만 내려감 (지나간 노드의 /Kids 항목만 파싱)
+        COSDictionary loadPage(int index) throws IOException {
+            List<COSDictionary> ancestors = new ArrayList<>();
+            COSDictionary node = (COSDictionary) resolve(root.getItem(COSName.PAGES));
+            int remaining = index;
+
+            while (ancestors.size() < MAX_TREE_DEPTH) {
+                ancestors.add(node);
+                COSDictionary next = null;
+                if (resolve(node.getItem(COSName.KIDS)) instanceof COSArray kids) {
+                    // /Count가 자식 수와 같으면 자식이 모두 페이지이므로 (평평한 트리) 바로 찾아감
+                    if (remaining < kids.size() && resolve(node.getItem(COSName.COUNT)) instanceof COSNumber count
+                            && count.intValue() == kids.size()
+                            && resolve(kids.get(remaining)) instanceof COSDictionary kid && !isPageTreeNode(kid)) {
+                        return resolvePage(kid, ancestors);
+                    }
+                    for (COSBase item : kids) {
+                        if (!(resolve(item) instanceof COSDictionary kid)) {
+                            continue;
+                        }
+                        if (!isPageTreeNode(kid)) {
+                            if (remaining == 0) {
+                                return resolvePage(kid, ancestors);
+                            }
+                            remaining--;
+                            continue;
+                        }
+                        int count = resolve(kid.getItem(COSName.COUNT)) instanceof COSNumber number
+                                ? number.intValue() : 0;
+                        if (remaining < count) {
+                            next = kid;
+                            break;
+                        }
+                        remaining -= count;
+                    }
+                }
+                if (next == null) {
+                    break;
+                }
+                node = next;
+            }
+            throw new IOException("페이지 트리에서 " + (index + 1) + "페이지를 찾을 수 없습니다.");
+        }
+
+        // 페이지 트리를 순서대로 훑으며 각 페이지의 MediaBox(없으면 상위 노드에서 물려받은 값)를 모음
+        List<PDRectangle> loadMediaBoxes() throws IOException {
+            List<PDRectangle> boxes = new ArrayList<>();
+            Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            Deque<PageTreeEntry> pending = new ArrayDeque<>();
+            pending.push(new PageTreeEntry((COSDictionary) resolve(root.getItem(COSName.PAGES)), null, 0));
+
+            while (!pending.isEmpty()) {
+                PageTreeEntry entry = pending.pop();
+                if (entry.depth() >= MAX_TREE_DEPTH || !visited.add(entry.node())) {
+                    throw new IOException("페이지 트리에 순환 참조가 있습니다.");
+                }
+                COSArray mediaBox = resolveArray(entry.node().getItem(COSName.MEDIA_BOX));
+                if (mediaBox == null) {
+                    mediaBox = entry.inheritedMediaBox();
+                }
+                if (!isPageTreeNode(entry.node())) {
+                    boxes.add(mediaBox != null && mediaBox.size() == 4 ? new PDRectangle(mediaBox) : PDRectangle.LETTER);
+                    continue;
+                }
+                if (resolve(entry.node().getItem(COSName.KIDS)) instanceof COSArray kids) {
+                    // 스택이므로 뒤에서부터 넣어야 앞 페이지가 먼저 나옴
+                    for (int i = kids.size() - 1; i >= 0; i--) {
+                        if (resolve(kids.get(i)) instanceof COSDictionary kid) {
+                            pending.push(new PageTreeEntry(kid, mediaBox, entry.depth() + 1));
+                        }
+                    }
+                }
+            }
+            return boxes;
+        }
+
+        // 배열과 그 안의 간접 객체(숫자)를 파싱
+        private COSArray resolveArray(COSBase base) throws IOException {
+            if (!(resolve(base) instanceof COSArray array)) {
+                return null;
+            }
+            for (COSBase item : array) {
+                resolve(item);
+            }
+            return array;
+        }
+
+        // 페이지와 상위 노드에서 물려받는 속성을 파싱
+        private COSDictionary resolvePage(COSDictionary page, List<COSDictionary> ancestors) throws IOException {
+            resolveAll(page, page);
+            for (COSDictionary ancestor : ancestors) {
+                for (COSName key : INHERITABLE) {
+                    resolveAll(ancestor.getItem(key), page);
+                }
+            }
+            return page;
+        }
+
+        // 닿는 객체를 모두 파싱 - 다른 페이지와 페이지 트리 노드(주석의 /P, 링크 대상, /Parent)로는 내려가지 않음
+        private void resolveAll(COSBase start, COSDictionary page) throws IOException {
+            Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            Deque<COSBase> pending = new ArrayDeque<>();
+            if (start != null) {
+                pending.push(start);
+            }
+            while (!pending.isEmpty()) {
+                COSBase base = resolve(pending.pop());
+                if (base == null || !visited.add(base)) {
+                    continue;
+                }
+                if (base instanceof COSDictionary dictionary) {
+                    if (dictionary != page && isPageOrPageTreeNode(dictionary)) {
+                        continue;
+                    }
+                    for (COSBase value : dictionary.getValues()) {
+                        pending.push(value);
+                    }
+                } else if (base instanceof COSArray array) {
+                    for (COSBase item : array) {
+                        pending.push(item);
+                    }
+                }
+            }
+        }
+
+        // 간접 객체면 아직 읽지 않았을 때만 파싱 (압축된 객체는 담긴 객체 스트림을 파싱)
+        private COSBase resolve(COSBase base) throws IOException {
+            if (base instanceof COSObject object) {
+                return object.getObject() != null ? object.getObject() : parseObjectDynamically(object, false);
+            }
+            return base;
+        }
+
+        private record PageTreeEntry(COSDictionary node, COSArray inheritedMediaBox, int depth) {
+        }
+
+        private static boolean isPageTreeNode(COSDictionary dictionary) {
+            return COSName.PAGES.equals(dictionary.getCOSName(COSName.TYPE)) || dictionary.containsKey(COSName.KIDS);
+        }
+
+        // 양식 필드도 /Kids를 가지므로 여기서는 /Type으로만 구분
+        private static boolean isPageOrPageTreeNode(COSDictionary dictionary) {
+            COSName type = dictionary.getCOSName(COSName.TYPE);
+            return COSName.PAGE.equals(type) || COSName.PAGES.equals(type);
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 변환 메모리 예약 (힙 예산을 나눠 쓰는 가중치 세마포어)
+// 변환마다 헤더만 읽어 추정한 작업 메모리(픽셀 수 x 픽셀당 바이트, PDF 객체 수 x 객체당 바이트)를 먼저 예약하고,
+// 여유가 생길 때까지 max-wait 동안 기다린 뒤에도 안 되면 거절 (OutOfMemoryError로 다른 요청까지 죽지 않도록)
+// 예약 단위는 KB, 먼저 온 요청부터 받음 (큰 작업이 작은 작업들에 밀려 계속 기다리지 않도록)
+// 변환 하나가 예약은 한 번만 기다림 - 예약을 잡은 채 다시 기다리면 그 사이 줄 선 큰 요청과 서로 기다리며 멈추므로,
+// 이미지/페이지마다 따로 잡는 메모리는 처음에 함께 예약한 Budget 안에서 꺼내 씀
+@Component
+public class MemoryAdmission {
+
+    private static final long UNIT = 1024;
+
+    private final Semaphore permits;
+    private final int totalPermits;
+    private final Duration maxWait;
+    private final Timer waitTimer;
+    private final Counter tooLargeRejections;
+    private final Counter timeoutRejections;
+    private final Counter busyRejections;
+
+    public MemoryAdmission(
+            // 0이면 최대 힙의 60%
+            @Value("${converter.admission.heap-budget:0}") DataSize heapBudget,
+            @Value("${converter.admission.max-wait:30s}") Duration maxWait,
+            MeterRegistry meterRegistry
+    ) {
+        long budget = heapBudget.toBytes() > 0 ? heapBudget.toBytes() : Runtime.getRuntime().maxMemory() * 6 / 10;
+        this.totalPermits = (int) Math.min(Integer.MAX_VALUE, budget / UNIT);
+        this.permits = new Semaphore(totalPermits, true);
+        this.maxWait = maxWait;
+
+        Gauge.builder("converter.admission.budget", () -> (double) totalPermits * UNIT)
+                .description("변환 메모리 예산")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("converter.admission.reserved", this::getReservedBytes)
+                .description("현재 예약된 변환 메모리")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("converter.admission.waiting", permits, Semaphore::getQueueLength)
+                .description("메모리 예약을 기다리는 변환 수")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("converter.admission.wait")
+                .description("메모리 예약을 기다린 시간 (바로 예약된 경우 제외)")
+                .register(meterRegistry);
+        this.tooLargeRejections = rejections(meterRegistry, "too-large");
+        this.timeoutRejections = rejections(meterRegistry, "timeout");
+        this.busyRejections = rejections(meterRegistry, "busy");
+    }
+
+    // 예약 - 여유가 없으면 max-wait까지 기다림
+    // 예산보다 큰 작업은 기다려도 처리할 수 없으므로 바로 거절
+    public Reservation reserve(long bytes) {
+        return new Reservation(permits, acquire(permitsFor(bytes)));
+    }
+
+    // 이미 예약을 잡고 있는 변환의 추가 예약 (파일이 도착할 때마다 늘어나는 스트리밍 병합 등)
+    // 잡은 채로 기다리지 않도록 여유가 없으면 바로 거절
+    public Reservation reserveMore(long bytes) {
+        int count = permitsFor(bytes);
+        if (count > 0 && !tryAcquire(permits, count)) {
+            busyRejections.increment();
+            throw new RejectedExecutionException("서버 메모리 여유가 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return new Reservation(permits, count);
+    }
+
+    // 나눠 쓸 예산 예약 - bytes는 변환 전체가 잡아두는 메모리, itemBytes는 그 외에 항목마다 꺼내 쓸 몫
+    public Budget reserveBudget(long bytes, long itemBytes) {
+        int itemCount = permitsFor(itemBytes);
+        return new Budget(acquire(permitsFor(Math.max(0, bytes) + itemCount * UNIT)), itemCount);
+    }
+
+    // 기다리지 않는 예산 예약 - 여유가 없으면 null
+    public Budget tryReserveBudget(long bytes, long itemBytes) {
+        int itemCount = permitsFor(itemBytes);
+        int count = permitsFor(Math.max(0, bytes) + itemCount * UNIT);
+        return count == 0 || tryAcquire(permits, count) ? new Budget(count, itemCount) : null;
+    }
+
+    // 항목마다 꺼내 쓸 몫 - 큰 항목부터 동시에 처리하는 수(parallelism)만큼 더하되 available을 넘지 않게
+    // (가장 큰 항목 하나는 항상 포함 - 그것도 들어가지 않으면 예약에서 거절됨)
+    public static long itemShare(Collection<Long> itemBytes, int parallelism, long available) {
+        List<Long> sorted = itemBytes.stream().sorted(Comparator.reverseOrder()).limit(parallelism).toList();
+        long share = 0;
+        for (long bytes : sorted) {
+            if (share > 0 && share + bytes > available) {
+                break;
+            }
+            share += bytes;
+        }
+        return share;
+    }
+
+    public long getBudgetBytes() {
+        return totalPermits * UNIT;
+    }
+
+    public double getReservedBytes() {
+        return (double) (totalPermits - permits.availablePermits()) * UNIT;
+    }
+
+    private int acquire(int count) {
+        if (count == 0 || tryAcquire(permits, count)) {
+            return count;
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(count, maxWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                timeoutRejections.increment();
+                throw new RejectedExecutionException("서버 메모리 여유가 없습니다. 잠시 후 다시 시도해주세요.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("변환이 중단되었습니다.", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return count;
+    }
+
+    // 대기 시간 0으로 시도 - tryAcquire(int)와 달리 먼저 기다리던 요청을 앞지르지 않음
+    private static boolean tryAcquire(Semaphore semaphore, int count) {
+        try {
+            return semaphore.tryAcquire(count, 0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("변환이 중단되었습니다.", e);
+        }
+    }
+
+    private int permitsFor(long bytes) {
+        long count = (Math.max(0, bytes) + UNIT - 1) / UNIT;
+        if (count > totalPermits) {
+            tooLargeRejections.increment();
+            throw new RuntimeException("파일이 너무 커서 처리할 수 없습니다. (필요 메모리 약 "
+                    + DataSize.ofBytes(bytes).toMegabytes() + "MB)");
+        }
+        return (int) count;
+    }
+
+    private static Counter rejections(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("converter.admission.rejections")
+                .description("메모리 예약을 받지 못해 거절된 변환 수")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // 예약한 메모리 반환 (여러 번 닫아도 한 번만 반환)
+    public static final class Reservation implements AutoCloseable {
+
+        private final Semaphore source;
+        private final int count;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Reservation(Semaphore source, int count) {
+            this.source = source;
+            this.count = count;
+        }
+
+        @Override
+        public void close() {
+            if (count > 0 && released.compareAndSet(false, true)) {
+                source.release(count);
+            }
+        }
+    }
+
+    // 변환 하나가 예약해 둔 메모리 중 항목마다 꺼내 쓰는 몫
+    // 같은 변환의 다른 항목이 끝나기를 기다릴 뿐 공유 예산은 다시 기다리지 않음
+    public final class Budget implements AutoCloseable {
+
+        private final Semaphore items;
+        private final int itemCount;
+        private final AtomicInteger held;
+
+        private Budget(int count, int itemCount) {
+            this.items = new Semaphore(itemCount, true);
+            this.itemCount = itemCount;
+            this.held = new AtomicInteger(count);
+        }
+
+        // 항목 예약 - 몫이 모자라면 앞서 꺼낸 항목이 돌려줄 때까지 기다림
+        // 몫보다 큰 항목은 몫 전체를 받고 혼자 처리 (몫은 가장 큰 항목 이상으로 잡으므로 어림이 어긋난 경우뿐)
+        public Reservation reserve(long bytes) {
+            int count = Math.min(itemsFor(bytes), itemCount);
+            if (count > 0 && !tryAcquire(items, count)) {
+                try {
+                    items.acquire(count);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("변환이 중단되었습니다.", e);
+                }
+            }
+            return new Reservation(items, count);
+        }
+
+        // 기다리지 않는 항목 예약 - 몫이 모자라면 null
+        public Reservation tryReserve(long bytes) {
+            int count = Math.min(itemsFor(bytes), itemCount);
+            return count == 0 || tryAcquire(items, count) ? new Reservation(items, count) : null;
+        }
+
+        @Override
+        public void close() {
+            int count = held.getAndSet(0);
+            if (count > 0) {
+                permits.release(count);
+            }
+        }
+
+        private static int itemsFor(long bytes) {
+            return (int) Math.min(Integer.MAX_VALUE, (Math.max(0, bytes) + UNIT - 1) / UNIT);
+        }
+    }
+}
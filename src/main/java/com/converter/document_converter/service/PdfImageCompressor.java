@@ -0,0 +1,387 @@
+package com.converter.document_converter.service;
+
+import net.coobird.thumbnailator.Thumbnails;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDICCBased;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// PDF 안의 이미지를 목표 DPI로 줄이고 JPEG로 다시 압축
+// PDFBox 객체 접근(디코딩, 교체)은 호출 스레드에서만 하고,
+// 순수 CPU 작업인 축소/인코딩만 워커 풀에 맡김
+// 이미지마다 디코딩 전에 메모리를 꺼내 쓰고, 결과를 문서에 반영할 때 돌려줌
+// (변환 전체가 workingSet만큼 함께 예약해 둔 budget 안에서)
+class PdfImageCompressor {
+
+    // 이보다 작은 이미지는 재압축 이득이 거의 없음
+    private static final int MIN_IMAGE_SIZE = 64;
+
+    private final ConversionExecutor executor;
+    private final int targetDpi;
+    private final float jpegQuality;
+    private final ProgressListener progress;
+    private final List<ImageEntry> entries = new ArrayList<>();
+
+    private int imagesRecompressed;
+    private int duplicatesRemoved;
+    private int total;
+    private int done;
+
+    PdfImageCompressor(ConversionExecutor executor, int targetDpi, float jpegQuality, ProgressListener progress) {
+        this.executor = executor;
+        this.targetDpi = targetDpi;
+        this.jpegQuality = jpegQuality;
+        this.progress = progress;
+    }
+
+    int getImagesRecompressed() {
+        return imagesRecompressed;
+    }
+
+    int getDuplicatesRemoved() {
+        return duplicatesRemoved;
+    }
+
+    // 이미지 사용처를 모으고 같은 이미지를 합친 뒤 이미지마다 줄일 크기를 정함 (문서를 다시 열었으면 다시 호출)
+    void prepare(PDDocument document) throws IOException {
+        entries.clear();
+        duplicatesRemoved = 0;
+
+        // 1. 모든 페이지의 이미지 사용처 수집 (같은 스트림은 한 번만)
+        Map<COSStream, ImageEntry> byStream = new IdentityHashMap<>();
+        Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (PDPage page : document.getPages()) {
+            page.getCOSObject().removeItem(COSName.THUMB);
+            page.getCOSObject().removeItem(COSName.PIECE_INFO);
+
+            PDRectangle box = page.getCropBox();
+            float widthInch = box.getWidth() / 72f;
+            float heightInch = box.getHeight() / 72f;
+            collect(page.getResources(), widthInch, heightInch, byStream, visited);
+        }
+        document.getDocumentCatalog().getCOSObject().removeItem(COSName.PIECE_INFO);
+
+        // 2. 내용이 같은 이미지 스트림은 하나로 합침 (해시가 같으면 내용까지 비교)
+        Map<String, List<ImageEntry>> byDigest = new HashMap<>();
+        for (ImageEntry entry : byStream.values()) {
+            List<ImageEntry> kept = byDigest.computeIfAbsent(PdfObjectDigest.of(entry.image.getCOSObject()),
+                    digest -> new ArrayList<>());
+            ImageEntry existing = find(kept, entry);
+            if (existing == null) {
+                kept.add(entry);
+                entries.add(entry);
+            } else {
+                existing.merge(entry);
+                duplicatesRemoved++;
+            }
+        }
+        for (ImageEntry entry : entries) {
+            entry.plan = plan(entry);
+        }
+    }
+
+    // 이미지마다 꺼내 쓸 몫 - 동시에 인코딩하는 수만큼 큰 것부터, available 안에서
+    long workingSet(long available) {
+        List<Long> workingSets = entries.stream()
+                .filter(entry -> entry.plan != null)
+                .map(entry -> entry.plan.workingSet())
+                .toList();
+        return MemoryAdmission.itemShare(workingSets, executor.getParallelism(), available);
+    }
+
+    void compress(PDDocument document, MemoryAdmission.Budget budget) throws IOException {
+        // 3. 디코딩은 순서대로, 축소/인코딩은 병렬로 (동시에 잡아두는 이미지 수는 제한)
+        int window = executor.getParallelism() * 2;
+        Deque<Pending> pending = new ArrayDeque<>();
+        total = entries.size();
+        done = 0;
+
+        try {
+            for (ImageEntry entry : entries) {
+                Pending job = submit(document, budget, entry, pending);
+                if (job == null) {
+                    entry.replaceWith(entry.image);
+                    progress.onProgress(++done, total);
+                    continue;
+                }
+                pending.add(job);
+                if (pending.size() >= window) {
+                    applyNext(document, pending);
+                }
+            }
+            while (!pending.isEmpty()) {
+                applyNext(document, pending);
+            }
+        } finally {
+            // 실패로 반영하지 못한 이미지의 예약도 돌려줌
+            pending.forEach(job -> job.reservation.close());
+        }
+    }
+
+    private static ImageEntry find(List<ImageEntry> kept, ImageEntry entry) throws IOException {
+        for (ImageEntry candidate : kept) {
+            if (PdfObjectDigest.sameContent(candidate.image.getCOSObject(), entry.image.getCOSObject())) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private void collect(PDResources resources, float widthInch, float heightInch,
+                         Map<COSStream, ImageEntry> byStream, Set<COSDictionary> visited) {
+        if (resources == null || !visited.add(resources.getCOSObject())) {
+            return;
+        }
+
+        for (COSName name : resources.getXObjectNames()) {
+            PDXObject xObject;
+            try {
+                xObject = resources.getXObject(name);
+            } catch (IOException e) {
+                continue; // 깨진 객체는 그대로 둠
+            }
+
+            if (xObject instanceof PDImageXObject image) {
+                ImageEntry entry = byStream.computeIfAbsent(image.getCOSObject(), key -> new ImageEntry(image));
+                entry.addUse(resources, name, widthInch, heightInch);
+            } else if (xObject instanceof PDFormXObject form) {
+                collect(form.getResources(), widthInch, heightInch, byStream, visited);
+            }
+        }
+    }
+
+    // 줄일 크기와 작업 메모리 - 다시 압축하지 않는 이미지는 null
+    private ImagePlan plan(ImageEntry entry) {
+        PDImageXObject image = entry.image;
+        if (image.isStencil() || image.getBitsPerComponent() < 8
+                || image.getWidth() < MIN_IMAGE_SIZE || image.getHeight() < MIN_IMAGE_SIZE
+                || hasColorKeyMask(image) || hasCustomDecode(image)) {
+            return null;
+        }
+
+        // 페이지 전체에 그려진다고 가정했을 때 목표 DPI에 필요한 크기
+        double scale = Math.min(1.0, Math.max(
+                entry.maxWidthInch * targetDpi / image.getWidth(),
+                entry.maxHeightInch * targetDpi / image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * scale));
+
+        // 크게 줄이는 경우엔 디코딩 단계에서부터 건너뛰며 읽음 (목표의 2배 이상은 유지)
+        int subsampling = Math.max(1, image.getWidth() / (width * 2));
+
+        // 디코딩한 이미지, 축소한 이미지와 인코더용 변환본 (픽셀당 4바이트)
+        long decodedPixels = (long) ((image.getWidth() + subsampling - 1) / subsampling)
+                * ((image.getHeight() + subsampling - 1) / subsampling);
+        return new ImagePlan(width, height, subsampling, (decodedPixels + (long) width * height * 2) * 4);
+    }
+
+    private Pending submit(PDDocument document, MemoryAdmission.Budget budget, ImageEntry entry,
+                           Deque<Pending> pending) throws IOException {
+        ImagePlan plan = entry.plan;
+        if (plan == null) {
+            return null;
+        }
+        MemoryAdmission.Reservation reservation = reserve(document, budget, plan.workingSet(), pending);
+
+        BufferedImage decoded;
+        boolean gray;
+        try {
+            decoded = entry.image.getOpaqueImage(null, plan.subsampling());
+            gray = isGray(entry.image, decoded);
+        } catch (IOException | RuntimeException e) {
+            reservation.close();
+            return null; // 디코딩할 수 없는 형식은 원본 유지
+        }
+
+        Future<byte[]> encoded = executor.submit(() -> encodeJpeg(decoded, plan.width(), plan.height(), gray));
+        return new Pending(entry, encoded, reservation);
+    }
+
+    // 몫이 모자라면 먼저 맡긴 이미지를 반영해서 돌려받고, 맡긴 것이 없을 때만 기다림
+    // (자기가 잡고 있는 예약이 풀리기를 기다리며 멈추지 않도록)
+    private MemoryAdmission.Reservation reserve(PDDocument document, MemoryAdmission.Budget budget, long bytes,
+                                                Deque<Pending> pending) throws IOException {
+        MemoryAdmission.Reservation reservation = budget.tryReserve(bytes);
+        while (reservation == null && !pending.isEmpty()) {
+            applyNext(document, pending);
+            reservation = budget.tryReserve(bytes);
+        }
+        return reservation != null ? reservation : budget.reserve(bytes);
+    }
+
+    private void applyNext(PDDocument document, Deque<Pending> pending) throws IOException {
+        Pending job = pending.poll();
+        try {
+            apply(document, job);
+        } finally {
+            job.reservation.close();
+        }
+        progress.onProgress(++done, total);
+    }
+
+    // 색 키 마스크(/Mask 배열)는 정확한 색 값으로 투명한 곳을 정하므로 손실 압축하면 어긋남
+    private static boolean hasColorKeyMask(PDImageXObject image) {
+        return image.getCOSObject().getDictionaryObject(COSName.MASK) instanceof COSArray;
+    }
+
+    // 기본값이 아닌 /Decode (반전 등)는 다시 인코딩한 JPEG에 그대로 옮길 수 없음
+    private static boolean hasCustomDecode(PDImageXObject image) {
+        COSArray decode = image.getDecode();
+        if (decode == null) {
+            return false;
+        }
+        try {
+            float[] defaultDecode = image.getColorSpace().getDefaultDecode(image.getBitsPerComponent());
+            return !Arrays.equals(decode.toFloatArray(), defaultDecode);
+        } catch (IOException | RuntimeException e) {
+            return true;
+        }
+    }
+
+    // 회색조로 다시 인코딩해도 되는 이미지 - DeviceGray, 1채널 ICC 프로파일, 또는 디코딩 결과가 회색조
+    // (Indexed, Separation도 채널은 하나지만 색이 있는 이미지일 수 있음)
+    private static boolean isGray(PDImageXObject image, BufferedImage decoded) throws IOException {
+        PDColorSpace colorSpace = image.getColorSpace();
+        if (colorSpace instanceof PDDeviceGray) {
+            return true;
+        }
+        if (colorSpace instanceof PDICCBased iccBased && iccBased.getNumberOfComponents() == 1) {
+            return true;
+        }
+        return decoded.getType() == BufferedImage.TYPE_BYTE_GRAY;
+    }
+
+    private void apply(PDDocument document, Pending job) throws IOException {
+        ImageEntry entry = job.entry;
+        byte[] jpeg;
+        try {
+            jpeg = job.encoded.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("이미지 압축이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            entry.replaceWith(entry.image);
+            return;
+        }
+
+        // 다시 압축한 결과가 더 크면 원본 유지
+        if (jpeg.length >= entry.image.getCOSObject().getLength()) {
+            entry.replaceWith(entry.image);
+            return;
+        }
+
+        PDImageXObject replacement = JPEGFactory.createFromByteArray(document, jpeg);
+        COSDictionary original = entry.image.getCOSObject();
+        replacement.getCOSObject().setItem(COSName.SMASK, original.getItem(COSName.SMASK));
+        replacement.getCOSObject().setItem(COSName.INTERPOLATE, original.getItem(COSName.INTERPOLATE));
+        // 색 키 마스크는 건너뛰었으므로 남은 /Mask는 마스크 이미지 (크기가 달라도 페이지 위 같은 영역에 맞춰짐)
+        replacement.getCOSObject().setItem(COSName.MASK, original.getItem(COSName.MASK));
+
+        entry.replaceWith(replacement);
+        imagesRecompressed++;
+    }
+
+    private byte[] encodeJpeg(BufferedImage source, int width, int height, boolean gray) throws IOException {
+        BufferedImage scaled = source.getWidth() == width && source.getHeight() == height
+                ? source
+                : Thumbnails.of(source).forceSize(width, height).asBufferedImage();
+
+        // JPEG 인코더가 받을 수 있는 형식으로 변환
+        int type = gray ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB;
+        if (scaled.getType() != type) {
+            BufferedImage converted = new BufferedImage(width, height, type);
+            Graphics2D g = converted.createGraphics();
+            g.drawImage(scaled, 0, 0, null);
+            g.dispose();
+            scaled = converted;
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(scaled, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return outputStream.toByteArray();
+    }
+
+    // 같은 이미지를 참조하는 모든 리소스 위치와, 그려지는 페이지 중 가장 큰 크기
+    private static class ImageEntry {
+        private final PDImageXObject image;
+        private final List<Use> uses = new ArrayList<>();
+        private float maxWidthInch;
+        private float maxHeightInch;
+        private ImagePlan plan;
+
+        ImageEntry(PDImageXObject image) {
+            this.image = image;
+        }
+
+        void addUse(PDResources resources, COSName name, float widthInch, float heightInch) {
+            uses.add(new Use(resources, name));
+            maxWidthInch = Math.max(maxWidthInch, widthInch);
+            maxHeightInch = Math.max(maxHeightInch, heightInch);
+        }
+
+        void merge(ImageEntry other) {
+            uses.addAll(other.uses);
+            maxWidthInch = Math.max(maxWidthInch, other.maxWidthInch);
+            maxHeightInch = Math.max(maxHeightInch, other.maxHeightInch);
+        }
+
+        void replaceWith(PDImageXObject target) {
+            for (Use use : uses) {
+                use.resources.put(use.name, target);
+            }
+        }
+    }
+
+    private record Use(PDResources resources, COSName name) {
+    }
+
+    // 목표 크기, 디코딩할 때 건너뛸 간격과 필요한 작업 메모리
+    private record ImagePlan(int width, int height, int subsampling, long workingSet) {
+    }
+
+    private record Pending(ImageEntry entry, Future<byte[]> encoded, MemoryAdmission.Reservation reservation) {
+    }
+}
@@ -0,0 +1,153 @@
+package com.converter.document_converter.service;
+
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFMergerUtility;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// 파일이 많은 PDF 병합 (병합 트리)
+// 1. 입력을 순서대로 워커 수만큼 묶고, 묶음마다 워커에서 원본을 파싱해 새 문서에 이어 붙임
+// 2. 이웃한 결과끼리 짝지어(0+1, 2+3, ...) 왼쪽 문서에 오른쪽을 붙이는 단계를 하나가 남을 때까지 동시에 반복
+// 항상 왼쪽에 오른쪽을 붙이므로 입력 순서가 유지되고, 북마크는 PDFMergerUtility가 단계마다 뒤에 이어 붙임
+// PDDocument는 스레드 안전하지 않으므로 한 단계 안에서 문서 하나는 워커 하나만 만짐
+// 연 문서는 모두 결과 저장이 끝날 때까지 열어두고 close에서 닫음 (스트림은 메모리 한도를 넘으면 스크래치 파일로)
+class PdfMergeTree implements Closeable {
+
+    private final ConversionExecutor executor;
+    private final MemoryUsageSetting memory;
+    private final ProgressListener progress;
+    private final List<PDDocument> opened = Collections.synchronizedList(new ArrayList<>());
+
+    PdfMergeTree(ConversionExecutor executor, MemoryUsageSetting memory, ProgressListener progress) {
+        this.executor = executor;
+        this.memory = memory;
+        this.progress = progress;
+    }
+
+    // 묶음 수 (워커 수, 파일 수보다 많지 않게)
+    static int leaves(ConversionExecutor executor, int fileCount) {
+        return Math.max(1, Math.min(executor.getParallelism(), fileCount));
+    }
+
+    // 원본 객체가 힙에 복사되어 있는 벌 수 (원본 + 묶음 결과 + 짝짓기 단계마다 한 번씩)
+    static int copies(ConversionExecutor executor, int fileCount) {
+        int leaves = leaves(executor, fileCount);
+        int levels = 32 - Integer.numberOfLeadingZeros(leaves - 1);
+        return 2 + levels;
+    }
+
+    PDDocument merge(List<MultipartFile> files) throws IOException {
+        int leaves = leaves(executor, files.size());
+        // 메모리 한도를 원본들과 묶음 결과 문서가 나눠 씀
+        MemoryUsageSetting partition = memory.getPartitionedCopy(files.size() + leaves);
+
+        int chunkSize = (files.size() + leaves - 1) / leaves;
+        List<List<MultipartFile>> chunks = new ArrayList<>();
+        for (int start = 0; start < files.size(); start += chunkSize) {
+            chunks.add(files.subList(start, Math.min(start + chunkSize, files.size())));
+        }
+
+        List<Future<PDDocument>> pending = new ArrayList<>();
+        for (List<MultipartFile> chunk : chunks) {
+            pending.add(executor.submit(() -> mergeChunk(chunk, partition)));
+        }
+        // 진행률은 묶음이 끝날 때마다 (입력 순서대로) 보고
+        int done = 0;
+        List<PDDocument> level = new ArrayList<>();
+        IOException failure = null;
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                level.add(await(pending.get(i)));
+                done += chunks.get(i).size();
+                progress.onProgress(done, files.size());
+            } catch (IOException e) {
+                // 나머지 묶음이 끝날 때까지 기다린 뒤 던짐 (연 문서는 close에서 닫힘)
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        while (level.size() > 1) {
+            List<Future<PDDocument>> pairs = new ArrayList<>();
+            for (int i = 0; i + 1 < level.size(); i += 2) {
+                PDDocument left = level.get(i);
+                PDDocument right = level.get(i + 1);
+                pairs.add(executor.submit(() -> {
+                    new PDFMergerUtility().appendDocument(left, right);
+                    return left;
+                }));
+            }
+            List<PDDocument> next = new ArrayList<>();
+            for (Future<PDDocument> pair : pairs) {
+                try {
+                    next.add(await(pair));
+                } catch (IOException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            // 짝이 없는 마지막 문서는 다음 단계로 그대로 넘김
+            if (level.size() % 2 == 1) {
+                next.add(level.get(level.size() - 1));
+            }
+            level = next;
+        }
+        return level.get(0);
+    }
+
+    private PDDocument mergeChunk(List<MultipartFile> chunk, MemoryUsageSetting partition) throws IOException {
+        PDFMergerUtility merger = new PDFMergerUtility();
+        PDDocument destination = new PDDocument(partition);
+        opened.add(destination);
+        for (MultipartFile file : chunk) {
+            PDDocument source;
+            try (InputStream inputStream = file.getInputStream()) {
+                source = PDDocument.load(inputStream, partition);
+            } catch (IOException e) {
+                throw new IOException("PDF를 읽을 수 없습니다: " + file.getOriginalFilename(), e);
+            }
+            opened.add(source);
+            merger.appendDocument(destination, source);
+        }
+        return destination;
+    }
+
+    private PDDocument await(Future<PDDocument> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("PDF 병합이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("PDF 병합 중 오류가 발생했습니다.", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (opened) {
+            opened.forEach(IOUtils::closeQuietly);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.converter.document_converter.service;
+
+import org.apache.commons.io.IOUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// PDF 객체 수를 문서를 파싱하지 않고 xref에서만 읽음 (메모리 예약 추정용)
+// 파일 끝의 startxref가 가리키는 xref 표의 trailer, 또는 xref 스트림 사전의 /Size를 읽고
+// 형식이 어긋나 읽지 못하면 파일 크기로 어림
+final class PdfObjectCounter {
+
+    private static final int TAIL_SIZE = 1024;
+    private static final int DICTIONARY_SIZE = 4096;
+    // xref 표의 항목 하나는 항상 20바이트 (PDF 명세 7.5.4)
+    private static final int XREF_ENTRY_SIZE = 20;
+    // xref를 읽지 못했을 때 쓰는 객체당 평균 파일 크기
+    private static final int AVERAGE_OBJECT_SIZE = 256;
+
+    private static final Pattern START_XREF = Pattern.compile("startxref\\s+(\\d+)");
+    private static final Pattern SIZE = Pattern.compile("/Size\\s+(\\d+)");
+
+    private PdfObjectCounter() {
+    }
+
+    static long count(MultipartFile file) {
+        try {
+            long offset = startXref(file);
+            if (offset >= 0 && offset < file.getSize()) {
+                long size = sizeAt(file, offset);
+                if (size > 0) {
+                    return size;
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // 어림값 사용
+        }
+        return Math.max(1, file.getSize() / AVERAGE_OBJECT_SIZE);
+    }
+
+    private static long startXref(MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            IOUtils.skipFully(inputStream, Math.max(0, file.getSize() - TAIL_SIZE));
+            String tail = new String(inputStream.readNBytes(TAIL_SIZE), StandardCharsets.ISO_8859_1);
+
+            // 증분 저장된 파일은 마지막 startxref가 최신
+            Matcher matcher = START_XREF.matcher(tail);
+            long offset = -1;
+            while (matcher.find()) {
+                offset = Long.parseLong(matcher.group(1));
+            }
+            return offset;
+        }
+    }
+
+    // xref 표: 하위 구역 머리("시작번호 개수")마다 개수 x 20바이트를 건너뛰고 trailer 사전에서 /Size를 읽음
+    // xref 스트림: "N 0 obj" 다음의 스트림 사전에서 바로 /Size를 읽음
+    private static long sizeAt(MultipartFile file, long offset) throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(file.getInputStream())) {
+            IOUtils.skipFully(inputStream, offset);
+
+            String line = readLine(inputStream);
+            if (line == null) {
+                return -1;
+            }
+            if (!line.trim().startsWith("xref")) {
+                String dictionary = line + readChunk(inputStream);
+                int streamStart = dictionary.indexOf("stream");
+                return findSize(streamStart >= 0 ? dictionary.substring(0, streamStart) : dictionary);
+            }
+
+            while ((line = readLine(inputStream)) != null) {
+                line = line.trim();
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (line.startsWith("trailer")) {
+                    return findSize(line + readChunk(inputStream));
+                }
+                String[] subsection = line.split("\\s+");
+                IOUtils.skipFully(inputStream, Long.parseLong(subsection[1]) * XREF_ENTRY_SIZE);
+            }
+            return -1;
+        }
+    }
+
+    private static long findSize(String dictionary) {
+        Matcher matcher = SIZE.matcher(dictionary);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    private static String readChunk(InputStream inputStream) throws IOException {
+        return new String(inputStream.readNBytes(DICTIONARY_SIZE), StandardCharsets.ISO_8859_1);
+    }
+
+    // CR, LF, CRLF 모두 줄 끝으로 처리 (줄이 너무 길면 잘라서 돌려줌)
+    private static String readLine(InputStream inputStream) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int b;
+        while ((b = inputStream.read()) != -1) {
+            if (b == '\n') {
+                return line.toString();
+            }
+            if (b == '\r') {
+                inputStream.mark(1);
+                if (inputStream.read() != '\n') {
+                    inputStream.reset();
+                }
+                return line.toString();
+            }
+            line.append((char) b);
+            if (line.length() >= DICTIONARY_SIZE) {
+                return line.toString();
+            }
+        }
+        return line.length() > 0 ? line.toString() : null;
+    }
+}
@@ -0,0 +1,188 @@
+package com.converter.document_converter.service;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// PDF 스트림 객체의 내용 기반 해시
+// 원본 바이트(압축된 상태 그대로)와 사전 항목(/Length 제외)을 함께 계산해서
+// 서로 다른 객체라도 내용이 같으면 같은 값이 나옴
+// 순환 참조나 깊은 구조는 줄여서 해시하므로 값이 같다고 내용이 같은 것은 아님 - 합치기 전에 sameContent로 확인
+final class PdfObjectDigest {
+
+    private static final int MAX_DEPTH = 8;
+
+    private PdfObjectDigest() {
+    }
+
+    static String of(COSStream stream) throws IOException {
+        MessageDigest digest = newDigest();
+        update(digest, stream, new IdentityHashMap<>(), 0);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // 두 객체의 내용이 끝까지 같은지 비교 (깊이 제한 없음, /Length와 /Parent는 해시처럼 제외)
+    // 이미 비교 중인 쌍을 다시 만나면 그 쌍은 같다고 보고 나머지를 비교 (순환 참조)
+    static boolean sameContent(COSBase first, COSBase second) throws IOException {
+        Map<COSBase, Set<COSBase>> compared = new IdentityHashMap<>();
+        Deque<COSBase[]> pending = new ArrayDeque<>();
+        pending.push(new COSBase[]{first, second});
+
+        while (!pending.isEmpty()) {
+            COSBase[] pair = pending.pop();
+            COSBase a = resolve(pair[0]);
+            COSBase b = resolve(pair[1]);
+            if (a == b) {
+                continue;
+            }
+            if (a == null || b == null || a.getClass() != b.getClass()) {
+                return false;
+            }
+            if (!(a instanceof COSDictionary) && !(a instanceof COSArray)) {
+                if (!a.equals(b)) {
+                    return false;
+                }
+                continue;
+            }
+            if (!compared.computeIfAbsent(a, key -> Collections.newSetFromMap(new IdentityHashMap<>())).add(b)) {
+                continue;
+            }
+
+            if (a instanceof COSDictionary dictionary) {
+                COSDictionary other = (COSDictionary) b;
+                Set<COSName> keys = contentKeys(dictionary);
+                if (!keys.equals(contentKeys(other))) {
+                    return false;
+                }
+                for (COSName key : keys) {
+                    pending.push(new COSBase[]{dictionary.getItem(key), other.getItem(key)});
+                }
+                if (a instanceof COSStream stream && !sameBytes(stream, (COSStream) b)) {
+                    return false;
+                }
+            } else {
+                COSArray array = (COSArray) a;
+                COSArray other = (COSArray) b;
+                if (array.size() != other.size()) {
+                    return false;
+                }
+                for (int i = 0; i < array.size(); i++) {
+                    pending.push(new COSBase[]{array.get(i), other.get(i)});
+                }
+            }
+        }
+        return true;
+    }
+
+    private static Set<COSName> contentKeys(COSDictionary dictionary) {
+        Set<COSName> keys = new HashSet<>(dictionary.keySet());
+        keys.remove(COSName.LENGTH);
+        keys.remove(COSName.PARENT);
+        return keys;
+    }
+
+    // 원본(압축된) 바이트 비교
+    private static boolean sameBytes(COSStream first, COSStream second) throws IOException {
+        try (InputStream a = first.createRawInputStream(); InputStream b = second.createRawInputStream()) {
+            byte[] bufferA = new byte[8192];
+            byte[] bufferB = new byte[8192];
+            while (true) {
+                int readA = a.readNBytes(bufferA, 0, bufferA.length);
+                int readB = b.readNBytes(bufferB, 0, bufferB.length);
+                if (readA != readB || !Arrays.equals(bufferA, 0, readA, bufferB, 0, readB)) {
+                    return false;
+                }
+                if (readA < bufferA.length) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    private static COSBase resolve(COSBase base) {
+        return base instanceof COSObject object ? object.getObject() : base;
+    }
+
+    private static void update(MessageDigest digest, COSBase base, Map<COSBase, Boolean> visiting, int depth)
+            throws IOException {
+        base = resolve(base);
+        if (base == null) {
+            digest.update((byte) 'n');
+            return;
+        }
+        // 순환 참조나 너무 깊은 구조는 타입만 반영
+        if (depth > MAX_DEPTH || visiting.containsKey(base)) {
+            digest.update(base.getClass().getSimpleName().getBytes(StandardCharsets.UTF_8));
+            return;
+        }
+
+        if (base instanceof COSDictionary dictionary) {
+            visiting.put(base, Boolean.TRUE);
+            digest.update((byte) '<');
+
+            List<COSName> keys = new ArrayList<>(dictionary.keySet());
+            keys.sort(null);
+            for (COSName key : keys) {
+                if (COSName.LENGTH.equals(key) || COSName.PARENT.equals(key)) {
+                    continue;
+                }
+                digest.update(key.getName().getBytes(StandardCharsets.UTF_8));
+                update(digest, dictionary.getItem(key), visiting, depth + 1);
+            }
+
+            if (base instanceof COSStream stream) {
+                digest.update((byte) 's');
+                try (InputStream raw = stream.createRawInputStream()) {
+                    byte[] buffer = new byte[8192];
+                    int read;
+                    while ((read = raw.read(buffer)) != -1) {
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            }
+
+            digest.update((byte) '>');
+            visiting.remove(base);
+        } else if (base instanceof COSArray array) {
+            visiting.put(base, Boolean.TRUE);
+            digest.update((byte) '[');
+            for (int i = 0; i < array.size(); i++) {
+                update(digest, array.get(i), visiting, depth + 1);
+            }
+            digest.update((byte) ']');
+            visiting.remove(base);
+        } else {
+            // 이름, 숫자, 문자열, 불리언 등 단순 값
+            digest.update(base.getClass().getSimpleName().getBytes(StandardCharsets.UTF_8));
+            digest.update(base.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
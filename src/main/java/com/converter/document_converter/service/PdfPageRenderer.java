@@ -0,0 +1,190 @@
+package com.converter.document_converter.service;
+
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// PDF 페이지를 이미지로 렌더링해서 ZIP으로 기록
+// PDDocument는 스레드 안전하지 않으므로 워커마다 같은 임시 파일을 따로 열어 쓰고(최대 병렬도만큼),
+// 끝난 페이지부터 ZIP 엔트리로 내보냄
+class PdfPageRenderer {
+
+    // 이 해상도 이하(썸네일/미리보기)는 이미지를 서브샘플링해서 그림
+    private static final int SUBSAMPLING_MAX_DPI = 72;
+
+    private final ConversionExecutor executor;
+    private final ImageCodecPool codecPool;
+    private final ImageBufferPool bufferPool;
+    private final int dpi;
+    private final String format;
+    private final Double quality;
+    private final ProgressListener progress;
+
+    PdfPageRenderer(ConversionExecutor executor, ImageCodecPool codecPool, ImageBufferPool bufferPool,
+                    int dpi, String format, Double quality, ProgressListener progress) {
+        this.executor = executor;
+        this.codecPool = codecPool;
+        this.bufferPool = bufferPool;
+        this.dpi = dpi;
+        this.format = format;
+        this.quality = quality;
+        this.progress = progress;
+    }
+
+    // parallelism: 동시에 그리는 페이지 수 (메모리 예약에 맞춰 호출자가 정함)
+    void render(File pdf, int pageCount, int parallelism, MemoryUsageSetting memory, OutputStream outputStream)
+            throws IOException {
+        BlockingQueue<RenderedPage> completed = new LinkedBlockingQueue<>();
+        // 동시에 메모리에 잡아두는 페이지 수 제한
+        int window = parallelism * 2;
+        int submitted = 0;
+        int written = 0;
+        IOException failure = null;
+
+        try (DocumentHandles handles = new DocumentHandles(pdf, parallelism, memory.getPartitionedCopy(parallelism));
+             ZipOutputStream zipOut = new ZipOutputStream(CloseShieldOutputStream.wrap(outputStream))) {
+
+            while (written < submitted || (failure == null && submitted < pageCount)) {
+                while (failure == null && submitted < pageCount && submitted - written < window) {
+                    int pageIndex = submitted++;
+                    executor.submit(() -> completed.add(renderPage(handles, pageIndex)));
+                }
+
+                RenderedPage page = completed.take();
+                written++;
+                if (page.error() != null) {
+                    // 실패하면 더 넣지 않고, 이미 맡긴 페이지가 끝날 때까지 기다린 뒤 던짐
+                    if (failure == null) {
+                        failure = page.error();
+                    }
+                    continue;
+                }
+                if (failure != null) {
+                    continue;
+                }
+
+                zipOut.putNextEntry(new ZipEntry("page_" + (page.index() + 1) + "." + format));
+                zipOut.write(page.data());
+                zipOut.closeEntry();
+                zipOut.flush();
+                progress.onProgress(written, pageCount);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("렌더링이 중단되었습니다.", e);
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private RenderedPage renderPage(DocumentHandles handles, int pageIndex) {
+        PDDocument document = null;
+        ImageBufferPool.PooledImage image = null;
+        try {
+            document = handles.borrow();
+            PDPage page = document.getPage(pageIndex);
+
+            // PDFRenderer.renderImage와 같은 크기 계산 (회전된 페이지는 가로/세로 교환)
+            float scale = dpi / 72f;
+            PDRectangle cropBox = page.getCropBox();
+            int width = (int) Math.max(Math.floor(cropBox.getWidth() * scale), 1);
+            int height = (int) Math.max(Math.floor(cropBox.getHeight() * scale), 1);
+            int rotation = page.getRotation();
+            if (rotation == 90 || rotation == 270) {
+                int swap = width;
+                width = height;
+                height = swap;
+            }
+
+            image = bufferPool.borrowImage(BufferedImage.TYPE_INT_RGB, width, height);
+            Graphics2D graphics = image.view().createGraphics();
+            try {
+                graphics.setBackground(Color.WHITE);
+                graphics.clearRect(0, 0, width, height);
+
+                PDFRenderer renderer = new PDFRenderer(document);
+                renderer.setSubsamplingAllowed(dpi <= SUBSAMPLING_MAX_DPI);
+                renderer.renderPageToGraphics(pageIndex, graphics, scale);
+            } finally {
+                graphics.dispose();
+            }
+
+            return new RenderedPage(pageIndex, codecPool.encode(image.view(), format, quality), null);
+        } catch (IOException e) {
+            return new RenderedPage(pageIndex, null, e);
+        } catch (Exception | Error e) {
+            // 렌더링 중 런타임 오류(메모리 부족 포함)도 호출 스레드로 전달
+            return new RenderedPage(pageIndex, null,
+                    new IOException((pageIndex + 1) + "페이지를 렌더링하지 못했습니다.", e));
+        } finally {
+            bufferPool.release(image);
+            if (document != null) {
+                handles.release(document);
+            }
+        }
+    }
+
+    private record RenderedPage(int index, byte[] data, IOException error) {
+    }
+
+    // 워커용 문서 핸들 - 필요할 때 하나씩 열고, 최대 개수에 도달하면 반납을 기다림
+    private static class DocumentHandles implements Closeable {
+        private final File pdf;
+        private final int max;
+        private final MemoryUsageSetting memory;
+        private final BlockingQueue<PDDocument> idle = new LinkedBlockingQueue<>();
+        private final List<PDDocument> opened = new ArrayList<>();
+
+        DocumentHandles(File pdf, int max, MemoryUsageSetting memory) {
+            this.pdf = pdf;
+            this.max = max;
+            this.memory = memory;
+        }
+
+        PDDocument borrow() throws IOException, InterruptedException {
+            PDDocument document = idle.poll();
+            if (document != null) {
+                return document;
+            }
+            synchronized (opened) {
+                if (opened.size() < max) {
+                    document = PDDocument.load(pdf, memory);
+                    opened.add(document);
+                    return document;
+                }
+            }
+            return idle.take();
+        }
+
+        void release(PDDocument document) {
+            idle.add(document);
+        }
+
+        @Override
+        public void close() {
+            synchronized (opened) {
+                opened.forEach(IOUtils::closeQuietly);
+            }
+        }
+    }
+}
@@ -1,116 +1,952 @@
 package com.converter.document_converter.service;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.multipdf.PDFMergerUtility;
-import org.apache.pdfbox.multipdf.Splitter;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDDocumentInformation;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.encryption.InvalidPasswordException;
+import org.apache.pdfbox.pdmodel.interactive.action.PDActionGoTo;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDDestination;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.destination.PDPageDestination;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class PdfService {
 
+    private static final double RENDER_JPEG_QUALITY = 0.8;
+    private static final int MIN_RENDER_DPI = 10;
+    private static final int MAX_RENDER_DPI = 600;
+    // 파싱된 COS 객체 하나가 힙에서 차지하는 크기 어림값 (메모리 예약 추정용)
+    private static final long BYTES_PER_OBJECT = 1024;
+    // 이 수 이상의 파일은 워커에서 나눠 병합 (병합 트리)
+    private static final int MERGE_TREE_MIN_FILES = 8;
+    // 페이지 범위 하나 ("10", "50-55")
+    private static final Pattern PAGE_RANGE = Pattern.compile("(\\d{1,9})\\s*(?:-\\s*(\\d{1,9}))?");
+
+    private final ConversionExecutor conversionExecutor;
+    private final ConversionCache conversionCache;
+    private final ImageCodecPool codecPool;
+    private final ImageBufferPool bufferPool;
+    private final ImageService imageService;
+    private final ConversionMetrics conversionMetrics;
+    private final MemoryAdmission memoryAdmission;
+
+    // PDF 처리 시 힙에 올릴 최대 크기 (초과분은 스크래치 파일로 내려감)
+    @Value("${converter.pdf.max-main-memory:64MB}")
+    private DataSize maxMainMemory;
+
     // PDF 병합
     public byte[] mergePdfs(List<MultipartFile> files) throws IOException {
-        PDFMergerUtility merger = new PDFMergerUtility();
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        mergePdfs(files, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    // PDF 병합 (스트리밍) - 결과를 outputStream에 바로 기록
+    public void mergePdfs(List<MultipartFile> files, OutputStream outputStream) throws IOException {
+        mergePdfs(files, outputStream, ProgressListener.NONE);
+    }
+
+    // PDF 병합 (스트리밍, 진행률 보고)
+    public void mergePdfs(List<MultipartFile> files, OutputStream outputStream, ProgressListener progress)
+            throws IOException {
+        mergePdfs(files, false, outputStream, progress);
+    }
+
+    // PDF 병합 (중복 제거 선택) - deduplicate면 문서 사이에 겹치는 스트림(글꼴, 이미지, ICC 프로파일)을 한 벌만 남김
+    // 중복 제거로 줄인 크기를 돌려줌 (중복 제거를 하지 않았거나 캐시에서 보낸 결과면 비어 있음)
+    public Optional<DedupeResult> mergePdfs(List<MultipartFile> files, boolean deduplicate,
+                                            OutputStream outputStream, ProgressListener progress) throws IOException {
+        AtomicReference<DedupeResult> dedupeResult = new AtomicReference<>();
+        conversionMetrics.record("pdf-merge", files, outputStream, (conversion, output) -> {
+            // 같은 파일들을 다시 병합하면 저장된 결과를 그대로 보냄
+            String cacheKey = conversionCache.key("pdf-merge", files, deduplicate);
+            if (conversionCache.writeTo(cacheKey, output)) {
+                conversion.cacheHit();
+                progress.onProgress(files.size(), files.size());
+                return;
+            }
+            conversion.cacheMiss();
+
+            // 응답으로 나가는 결과를 캐시에도 함께 기록
+            // 원본들과 결과 문서에 복사된 객체가 함께 힙에 있으므로 원본 객체 수의 2배를 예약
+            // (병합 트리는 짝짓기 단계마다 한 벌씩 더)
+            int copies = useMergeTree(files) ? PdfMergeTree.copies(conversionExecutor, files.size()) : 2;
+            long workingSet = scratchWorkingSet(totalSize(files))
+                    + copies * files.stream().mapToLong(PdfService::documentWorkingSet).sum();
+            try (MemoryAdmission.Reservation reservation = memoryAdmission.reserve(workingSet);
+                 ConversionCache.PendingEntry cacheEntry = conversionCache.newEntry(cacheKey)) {
+                dedupeResult.set(doMergePdfs(files, deduplicate,
+                        new TeeOutputStream(output, cacheEntry.getOutputStream()), progress, conversion));
+                cacheEntry.commit();
+            }
+        });
+        return Optional.ofNullable(dedupeResult.get());
+    }
+
+    private DedupeResult doMergePdfs(List<MultipartFile> files, boolean deduplicate, OutputStream outputStream,
+                                     ProgressListener progress, ConversionMetrics.Conversion conversion)
+            throws IOException {
+        if (useMergeTree(files)) {
+            return mergeInTree(files, deduplicate, outputStream, progress, conversion);
+        }
+
+        PDFMergerUtility merger = new PDFMergerUtility();
+        // 메모리 한도를 원본들과 결과 문서가 나눠 씀 (PDFMergerUtility.mergeDocuments와 같은 방식)
+        MemoryUsageSetting memory = scratchMemory().getPartitionedCopy(files.size() + 1);
+        List<PDDocument> sources = new ArrayList<>();
+
+        try (PDDocument destination = new PDDocument(memory)) {
+            for (MultipartFile file : files) {
+                PDDocument source;
+                try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE);
+                     InputStream inputStream = file.getInputStream()) {
+                    source = PDDocument.load(inputStream, memory);
+                    sources.add(source);
+                }
+                try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+                    merger.appendDocument(destination, source);
+                }
+                progress.onProgress(sources.size(), files.size());
+            }
+            conversion.addPages(destination.getNumberOfPages());
+            DedupeResult dedupeResult = deduplicate ? deduplicate(destination, conversion) : null;
+
+            // PDFBox는 save 후 스트림을 닫으므로 호출자의 스트림은 보호
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.SERIALIZE)) {
+                destination.save(CloseShieldOutputStream.wrap(outputStream));
+            }
+            return dedupeResult;
+        } finally {
+            // 원본은 결과 저장이 끝날 때까지 열어둬야 함
+            sources.forEach(IOUtils::closeQuietly);
+        }
+    }
+
+    // 파일이 많으면 워커에서 동시에 파싱/병합한 뒤 짝지어 합침
+    private DedupeResult mergeInTree(List<MultipartFile> files, boolean deduplicate, OutputStream outputStream,
+                                     ProgressListener progress, ConversionMetrics.Conversion conversion)
+            throws IOException {
+        try (PdfMergeTree tree = new PdfMergeTree(conversionExecutor, scratchMemory(), progress)) {
+            // 파싱과 병합이 워커에서 겹쳐 진행되므로 transform 하나로 기록
+            PDDocument merged;
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+                merged = tree.merge(files);
+            }
+            conversion.addPages(merged.getNumberOfPages());
+            DedupeResult dedupeResult = deduplicate ? deduplicate(merged, conversion) : null;
+
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.SERIALIZE)) {
+                merged.save(CloseShieldOutputStream.wrap(outputStream));
+            }
+            return dedupeResult;
+        }
+    }
+
+    // 병합 결과에서 내용이 같은 스트림을 하나로 합침 (저장 전에)
+    private DedupeResult deduplicate(PDDocument document, ConversionMetrics.Conversion conversion)
+            throws IOException {
+        PdfStreamDeduplicator deduplicator = new PdfStreamDeduplicator();
+        try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+            deduplicator.deduplicate(document);
+        }
+        conversion.addDedupedBytes(deduplicator.getBytesSaved());
+        return new DedupeResult(deduplicator.getStreamsRemoved(), deduplicator.getBytesSaved());
+    }
+
+    private boolean useMergeTree(List<MultipartFile> files) {
+        return files.size() >= MERGE_TREE_MIN_FILES && conversionExecutor.getParallelism() > 1;
+    }
+
+    // 이미지 여러 장을 한 PDF로 (이미지마다 한 페이지, 업로드 순서대로)
+    // maxSize: 긴 변의 최대 픽셀 수 (null이면 원본 크기), quality: JPEG로 다시 압축할 품질 (null이면 원본 유지)
+    public void imagesToPdf(List<MultipartFile> files, Integer maxSize, Double quality, OutputStream outputStream)
+            throws IOException {
+        imagesToPdf(files, maxSize, quality, outputStream, ProgressListener.NONE);
+    }
+
+    // 이미지 -> PDF (진행률 보고)
+    public void imagesToPdf(List<MultipartFile> files, Integer maxSize, Double quality, OutputStream outputStream,
+                            ProgressListener progress) throws IOException {
+        conversionMetrics.record("pdf-images", files, outputStream, (conversion, output) -> {
+            String cacheKey = conversionCache.key("pdf-images", files, maxSize, quality);
+            if (conversionCache.writeTo(cacheKey, output)) {
+                conversion.cacheHit();
+                progress.onProgress(files.size(), files.size());
+                return;
+            }
+            conversion.cacheMiss();
+
+            // 결과 문서에 들어갈 이미지 스트림과 함께, 워커가 장마다 디코딩할 메모리도 처음에 예약
+            // (헤더로 구한 장별 크기를 동시에 준비하는 장 수만큼 큰 것부터)
+            long scratch = scratchWorkingSet(totalSize(files));
+            long pageImages;
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE)) {
+                pageImages = MemoryAdmission.itemShare(pageImageWorkingSets(files, maxSize, quality),
+                        conversionExecutor.getParallelism(), memoryAdmission.getBudgetBytes() - scratch);
+            }
+            try (MemoryAdmission.Budget budget = memoryAdmission.reserveBudget(scratch, pageImages);
+                 ConversionCache.PendingEntry cacheEntry = conversionCache.newEntry(cacheKey)) {
+                doImagesToPdf(files, maxSize, quality, budget,
+                        new TeeOutputStream(output, cacheEntry.getOutputStream()), progress, conversion);
+                cacheEntry.commit();
+            }
+        });
+    }
 
+    private List<Long> pageImageWorkingSets(List<MultipartFile> files, Integer maxSize, Double quality)
+            throws IOException {
+        List<Long> workingSets = new ArrayList<>(files.size());
         for (MultipartFile file : files) {
-            InputStream inputStream = file.getInputStream();
-            merger.addSource(inputStream);
+            try {
+                workingSets.add(imageService.pageImageWorkingSet(file, maxSize, quality));
+            } catch (IOException | RuntimeException e) {
+                throw new IOException("이미지를 읽을 수 없습니다: " + file.getOriginalFilename(), e);
+            }
         }
+        return workingSets;
+    }
 
-        merger.setDestinationStream(outputStream);
-        merger.mergeDocuments(null);
+    private void doImagesToPdf(List<MultipartFile> files, Integer maxSize, Double quality,
+                               MemoryAdmission.Budget budget, OutputStream outputStream,
+                               ProgressListener progress, ConversionMetrics.Conversion conversion) throws IOException {
+        // 이미지 스트림은 메모리 한도를 넘으면 스크래치 파일로 내려가므로 힙에는 처리 중인 몇 장만 남음
+        try (PDDocument document = new PDDocument(scratchMemory())) {
+            // 디코딩/인코딩은 워커에서 겹쳐 진행되므로 단계를 나누지 않고 transform으로 기록
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+                new ImagePdfAssembler(conversionExecutor, imageService, maxSize, quality, budget, progress)
+                        .assemble(files, document);
+            }
+            conversion.addPages(document.getNumberOfPages());
 
-        return outputStream.toByteArray();
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.SERIALIZE)) {
+                document.save(CloseShieldOutputStream.wrap(outputStream));
+            }
+        }
+    }
+
+    // PDF 병합 (스트리밍 업로드) - 파일이 도착하는 대로 결과 문서에 붙임
+    public IncrementalMerge startMerge() {
+        return new IncrementalMerge();
     }
 
     // PDF 분할 (페이지별)
     public byte[] splitPdfByPage(MultipartFile file) throws IOException {
-        PDDocument document = PDDocument.load(file.getInputStream());
-        Splitter splitter = new Splitter();
-        List<PDDocument> pages = splitter.split(document);
-
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ZipOutputStream zipOut = new ZipOutputStream(baos);
+        splitPdfByPage(file, baos);
+        return baos.toByteArray();
+    }
 
-        for (int i = 0; i < pages.size(); i++) {
-            PDDocument page = pages.get(i);
-            ByteArrayOutputStream pageStream = new ByteArrayOutputStream();
-            page.save(pageStream);
-            page.close();
+    // PDF 분할 (페이지별, 스트리밍) - 한 페이지씩 만들고 저장한 뒤 바로 해제
+    public void splitPdfByPage(MultipartFile file, OutputStream outputStream) throws IOException {
+        splitPdfByPage(file, outputStream, ProgressListener.NONE);
+    }
+
+    // PDF 분할 (페이지별, 스트리밍, 진행률 보고)
+    public void splitPdfByPage(MultipartFile file, OutputStream outputStream, ProgressListener progress)
+            throws IOException {
+        conversionMetrics.record("pdf-split", List.of(file), outputStream, (conversion, output) ->
+                doSplitPdfByPage(file, output, progress, conversion));
+    }
 
-            ZipEntry zipEntry = new ZipEntry("page_" + (i + 1) + ".pdf");
-            zipOut.putNextEntry(zipEntry);
-            zipOut.write(pageStream.toByteArray());
-            zipOut.closeEntry();
+    private void doSplitPdfByPage(MultipartFile file, OutputStream outputStream, ProgressListener progress,
+                                  ConversionMetrics.Conversion conversion) throws IOException {
+        // 한 페이지짜리 문서는 저장 후 바로 닫으므로 원본 문서만큼 예약
+        try (MemoryAdmission.Reservation reservation =
+                     memoryAdmission.reserve(scratchWorkingSet(file.getSize()) + documentWorkingSet(file))) {
+            splitByPage(file, outputStream, progress, conversion);
         }
+    }
 
-        zipOut.close();
-        document.close();
+    private void splitByPage(MultipartFile file, OutputStream outputStream, ProgressListener progress,
+                             ConversionMetrics.Conversion conversion) throws IOException {
+        PDDocument document;
+        try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE);
+             InputStream inputStream = file.getInputStream()) {
+            document = PDDocument.load(inputStream, scratchMemory());
+        }
 
-        return baos.toByteArray();
+        try (document;
+             ZipOutputStream zipOut = new ZipOutputStream(CloseShieldOutputStream.wrap(outputStream))) {
+
+            int pageCount = document.getNumberOfPages();
+            conversion.addPages(pageCount);
+            int pageNumber = 0;
+            for (PDPage page : document.getPages()) {
+                pageNumber++;
+                zipOut.putNextEntry(new ZipEntry("page_" + pageNumber + ".pdf"));
+
+                PDDocument single;
+                try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+                    single = extractPages(document, List.of(page));
+                }
+                try (single; ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.SERIALIZE)) {
+                    // save()가 스트림을 닫지 않도록 보호
+                    single.save(CloseShieldOutputStream.wrap(zipOut));
+                }
+
+                zipOut.closeEntry();
+                // 완성된 페이지는 바로 클라이언트로 내보냄
+                zipOut.flush();
+                progress.onProgress(pageNumber, pageCount);
+            }
+        }
     }
 
     // PDF 분할 (범위 지정)
     public byte[] splitPdfByRange(MultipartFile file, int startPage, int endPage) throws IOException {
-        PDDocument document = PDDocument.load(file.getInputStream());
+        return extractPageRanges(file, List.of(new PageRange(startPage, endPage)));
+    }
+
+    // PDF 페이지 추출 (여러 범위, 예: "1-3,10,50-55") - 적은 순서대로 한 문서에 담음
+    // 원본 전체를 파싱하지 않고 요청한 페이지와 그 페이지가 쓰는 객체만 읽음 (LazyPdfDocument)
+    public byte[] extractPageRanges(MultipartFile file, List<PageRange> ranges) throws IOException {
+        return conversionMetrics.record("pdf-split-range", List.of(file), conversion -> {
+            String cacheKey = conversionCache.key("pdf-split-range", List.of(file), PageRange.join(ranges));
+            byte[] data = conversionCache.get(cacheKey);
+            if (data != null) {
+                conversion.cacheHit();
+            } else {
+                conversion.cacheMiss();
+                data = doExtractPageRanges(file, ranges, conversion);
+                conversionCache.put(cacheKey, data);
+            }
+            conversion.outputBytes(data.length);
+            return data;
+        });
+    }
 
-        Splitter splitter = new Splitter();
-        splitter.setStartPage(startPage);
-        splitter.setEndPage(endPage);
-        splitter.setSplitAtPage(endPage - startPage + 1);
+    private byte[] doExtractPageRanges(MultipartFile file, List<PageRange> ranges,
+                                       ConversionMetrics.Conversion conversion) throws IOException {
+        // 필요한 위치만 읽을 수 있도록 임시 파일로 받음 (원본 스트림은 스크래치로 복사되지 않음)
+        Path temp = Files.createTempFile("pdf-range-", ".pdf");
+        try {
+            try (InputStream inputStream = file.getInputStream()) {
+                Files.copy(inputStream, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
 
-        List<PDDocument> splitDocs = splitter.split(document);
+            LazyPdfDocument source;
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE)) {
+                source = LazyPdfDocument.open(temp.toFile(), scratchMemory());
+            }
+            try (source) {
+                int pageCount = source.getPageCount();
+                long extracted = 0;
+                for (PageRange range : ranges) {
+                    if (range.end() > pageCount) {
+                        throw new RuntimeException("페이지 범위가 문서의 페이지 수(" + pageCount + ")를 넘습니다: " + range);
+                    }
+                    extracted += range.size();
+                }
 
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        if (!splitDocs.isEmpty()) {
-            splitDocs.get(0).save(outputStream);
-            splitDocs.get(0).close();
+                // 꺼낸 페이지 비율만큼의 객체와 스트림이 원본 쪽과 결과 문서에 한 벌씩, 저장 결과는 힙에
+                double share = Math.min(1.0, (double) extracted / pageCount);
+                long bytes = (long) (file.getSize() * share);
+                long workingSet = 2 * ((long) (documentWorkingSet(file) * share) + scratchWorkingSet(bytes)) + bytes;
+                try (MemoryAdmission.Reservation reservation = memoryAdmission.reserve(workingSet)) {
+                    return extractPageRanges(source, ranges, conversion);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temp);
         }
+    }
 
-        document.close();
+    private byte[] extractPageRanges(LazyPdfDocument source, List<PageRange> ranges,
+                                     ConversionMetrics.Conversion conversion) throws IOException {
+        List<PDPage> pages = new ArrayList<>();
+        try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE)) {
+            for (PageRange range : ranges) {
+                for (int pageNumber = range.start(); pageNumber <= range.end(); pageNumber++) {
+                    pages.add(source.getPage(pageNumber));
+                }
+            }
+        }
+        conversion.addPages(pages.size());
+
+        PDDocument target;
+        try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+            target = extractPages(source.getDocument(), pages);
+        }
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (target; ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.SERIALIZE)) {
+            target.save(outputStream);
+        }
         return outputStream.toByteArray();
     }
 
-    // PDF 압축
+    // 범위 지정 분할 요청의 페이지 범위 - pages("1-3,10,50-55")가 있으면 그것을, 없으면 startPage~endPage
+    // 형식만 검사하고, 페이지 수를 넘는지는 문서를 연 뒤 검사
+    public static List<PageRange> checkPageRanges(String pages, Integer startPage, Integer endPage) {
+        if (pages == null || pages.isBlank()) {
+            if (startPage == null || endPage == null) {
+                throw new RuntimeException("추출할 페이지를 입력해주세요. (예: 1-3,10,50-55)");
+            }
+            return List.of(new PageRange(startPage, endPage));
+        }
+
+        List<PageRange> ranges = new ArrayList<>();
+        for (String part : pages.split(",")) {
+            Matcher matcher = PAGE_RANGE.matcher(part.trim());
+            if (!matcher.matches()) {
+                throw new RuntimeException("페이지 범위 형식이 올바르지 않습니다: " + part.trim());
+            }
+            int start = Integer.parseInt(matcher.group(1));
+            int end = matcher.group(2) != null ? Integer.parseInt(matcher.group(2)) : start;
+            ranges.add(new PageRange(start, end));
+        }
+        return ranges;
+    }
+
+    // PDF 페이지를 이미지로 렌더링 (페이지별 PNG/JPEG를 ZIP으로 스트리밍)
+    public void renderPages(MultipartFile file, int dpi, String format, OutputStream outputStream) throws IOException {
+        renderPages(file, dpi, format, outputStream, ProgressListener.NONE);
+    }
+
+    // PDF 페이지 렌더링 (진행률 보고)
+    public void renderPages(MultipartFile file, int dpi, String format, OutputStream outputStream,
+                            ProgressListener progress) throws IOException {
+        conversionMetrics.record("pdf-render", List.of(file), outputStream, (conversion, output) -> {
+            String cacheKey = conversionCache.key("pdf-render", List.of(file), dpi, format);
+            if (conversionCache.writeTo(cacheKey, output)) {
+                conversion.cacheHit();
+                return;
+            }
+            conversion.cacheMiss();
+
+            try (ConversionCache.PendingEntry cacheEntry = conversionCache.newEntry(cacheKey)) {
+                doRenderPages(file, dpi, format, new TeeOutputStream(output, cacheEntry.getOutputStream()), progress,
+                        conversion);
+                cacheEntry.commit();
+            }
+        });
+    }
+
+    // 렌더링 옵션 확인 - 응답을 쓰기 시작하기 전에 호출
+    public static int checkRenderDpi(int dpi) {
+        if (dpi < MIN_RENDER_DPI || dpi > MAX_RENDER_DPI) {
+            throw new RuntimeException("해상도는 " + MIN_RENDER_DPI + "~" + MAX_RENDER_DPI + " DPI 사이로 입력해주세요.");
+        }
+        return dpi;
+    }
+
+    public static String checkRenderFormat(String format) {
+        return switch (format.toLowerCase()) {
+            case "png" -> "png";
+            case "jpg", "jpeg" -> "jpg";
+            default -> throw new RuntimeException("지원하지 않는 이미지 형식입니다: " + format);
+        };
+    }
+
+    // 이미지 -> PDF 옵션 확인
+    public static void checkImagesToPdfOptions(Integer maxSize, Double quality) {
+        if (maxSize != null && maxSize < 1) {
+            throw new RuntimeException("최대 크기는 1픽셀 이상으로 입력해주세요.");
+        }
+        if (quality != null && (quality <= 0 || quality > 1)) {
+            throw new RuntimeException("품질은 0~1 사이로 입력해주세요.");
+        }
+    }
+
+    private void doRenderPages(MultipartFile file, int dpi, String format, OutputStream outputStream,
+                               ProgressListener progress, ConversionMetrics.Conversion conversion) throws IOException {
+        // 워커마다 따로 열 수 있도록 임시 파일로 받음
+        Path temp = Files.createTempFile("pdf-render-", ".pdf");
+        try {
+            int pageCount;
+            long maxPagePixels = 0;
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE)) {
+                file.transferTo(temp);
+                try (PDDocument document = PDDocument.load(temp.toFile(), MemoryUsageSetting.setupTempFileOnly())) {
+                    pageCount = document.getNumberOfPages();
+                    // 페이지마다 CropBox로 가장 큰 페이지 이미지의 픽셀 수를 구함
+                    // (load가 본문 스트림까지 모든 객체를 파싱하지만 디코딩하지는 않음)
+                    float scale = dpi / 72f;
+                    for (PDPage page : document.getPages()) {
+                        PDRectangle cropBox = page.getCropBox();
+                        maxPagePixels = Math.max(maxPagePixels,
+                                (long) (cropBox.getWidth() * scale) * (long) (cropBox.getHeight() * scale));
+                    }
+                }
+            }
+            conversion.addPages(pageCount);
+
+            // 워커마다 문서를 따로 열고, 페이지 이미지(픽셀당 4바이트)와 인코딩 결과를 잡아둠
+            // 고해상도라 전체 예산을 넘으면 거절하지 않고 동시에 그리는 페이지 수를 줄임
+            long scratch = scratchWorkingSet(file.getSize());
+            long perWorker = documentWorkingSet(file) + maxPagePixels * 4 * 2;
+            int parallelism = (int) Math.max(1, Math.min(Math.min(conversionExecutor.getParallelism(), pageCount),
+                    (memoryAdmission.getBudgetBytes() - scratch) / perWorker));
+            long workingSet = scratch + parallelism * perWorker;
+
+            // 렌더링/인코딩/ZIP 기록이 워커와 겹쳐 진행되므로 transform 하나로 기록
+            Double quality = "jpg".equals(format) ? RENDER_JPEG_QUALITY : null;
+            PdfPageRenderer renderer = new PdfPageRenderer(conversionExecutor, codecPool, bufferPool,
+                    dpi, format, quality, progress);
+            try (MemoryAdmission.Reservation reservation = memoryAdmission.reserve(workingSet);
+                 ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+                renderer.render(temp.toFile(), pageCount, parallelism, scratchMemory(), outputStream);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // PDF 압축 (기본 프리셋)
     public byte[] compressPdf(MultipartFile file) throws IOException {
-        PDDocument document = PDDocument.load(file.getInputStream());
+        return compressPdf(file, CompressionPreset.EBOOK).getData();
+    }
+
+    // PDF 압축 - 이미지 축소/재압축, 중복 이미지 제거, 불필요한 객체 정리
+    public CompressionResult compressPdf(MultipartFile file, CompressionPreset preset) throws IOException {
+        return compressPdf(file, preset, ProgressListener.NONE);
+    }
+
+    // PDF 압축 (진행률 보고: 처리한 이미지 수)
+    public CompressionResult compressPdf(MultipartFile file, CompressionPreset preset, ProgressListener progress)
+            throws IOException {
+        return conversionMetrics.record("pdf-compress", List.of(file), conversion -> {
+            String cacheKey = conversionCache.key("pdf-compress", List.of(file), preset);
+            byte[] cached = conversionCache.get(cacheKey);
+            if (cached != null) {
+                conversion.cacheHit();
+                conversion.outputBytes(cached.length);
+                CompressionResult result = new CompressionResult();
+                result.setData(cached);
+                result.setOriginalSize(file.getSize());
+                result.setCompressedSize(cached.length);
+                result.setCached(true);
+                return result;
+            }
+            conversion.cacheMiss();
+
+            CompressionResult result = doCompressPdf(file, preset, progress, conversion);
+            conversionCache.put(cacheKey, result.getData());
+            conversion.outputBytes(result.getCompressedSize());
+            return result;
+        });
+    }
+
+    // 문서를 열 메모리를 예약해서 열고, 이미지를 모아 이미지마다 꺼내 쓸 몫을 기다리지 않고 더 예약
+    // 여유가 없으면 문서를 닫고 예약을 모두 놓은 뒤 처음부터 한 번에 예약해서 다시 염
+    // (예약을 잡은 채 기다리면 그 사이 줄 선 큰 요청과 서로 기다리며 멈춤)
+    private CompressionResult doCompressPdf(MultipartFile file, CompressionPreset preset, ProgressListener progress,
+                                            ConversionMetrics.Conversion conversion) throws IOException {
+        PdfImageCompressor compressor =
+                new PdfImageCompressor(conversionExecutor, preset.getDpi(), preset.getJpegQuality(), progress);
+        long documentBytes = scratchWorkingSet(file.getSize()) + documentWorkingSet(file);
 
-        // 이미지 품질 낮추기 및 재압축
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        document.save(outputStream);
-        document.close();
+        MemoryAdmission.Reservation reservation = memoryAdmission.reserve(documentBytes);
+        MemoryAdmission.Budget budget = null;
+        PDDocument document = null;
+        try {
+            document = loadForCompression(file, conversion);
+            compressor.prepare(document);
+            long images = compressor.workingSet(memoryAdmission.getBudgetBytes() - documentBytes);
+            budget = memoryAdmission.tryReserveBudget(0, images);
+            if (budget == null) {
+                IOUtils.closeQuietly(document);
+                document = null;
+                reservation.close();
+                budget = memoryAdmission.reserveBudget(documentBytes, images);
+                document = loadForCompression(file, conversion);
+                compressor.prepare(document);
+            }
 
-        return outputStream.toByteArray();
+            conversion.addPages(document.getNumberOfPages());
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+                compressor.compress(document, budget);
+            }
+            // 참조가 끊긴 원본 이미지 등은 저장 시 기록되지 않음
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.SERIALIZE)) {
+                document.save(outputStream);
+            }
+        } finally {
+            IOUtils.closeQuietly(document);
+            reservation.close();
+            if (budget != null) {
+                budget.close();
+            }
+        }
+
+        CompressionResult result = new CompressionResult();
+        result.setData(outputStream.toByteArray());
+        result.setOriginalSize(file.getSize());
+        result.setCompressedSize(result.getData().length);
+        result.setImagesRecompressed(compressor.getImagesRecompressed());
+        result.setDuplicatesRemoved(compressor.getDuplicatesRemoved());
+        return result;
+    }
+
+    private PDDocument loadForCompression(MultipartFile file, ConversionMetrics.Conversion conversion)
+            throws IOException {
+        try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE);
+             InputStream inputStream = file.getInputStream()) {
+            return PDDocument.load(inputStream, scratchMemory());
+        }
     }
 
     // PDF 정보 조회
+    // LazyPdfDocument로 열어 xref/trailer, 문서 정보, 페이지 트리 루트의 /Count만 파싱
+    // 페이지 크기는 페이지 트리 노드와 /MediaBox만 읽고 본문 스트림과 리소스는 파싱하지 않음
+    // 페이지 트리가 깨진 파일만 전체를 파싱해서 읽음 (xref가 깨진 파일은 PDFBox가 xref를 다시 만듦)
     public PdfInfo getPdfInfo(MultipartFile file) throws IOException {
-        PDDocument document = PDDocument.load(file.getInputStream());
+        return conversionMetrics.record("pdf-info", List.of(file), conversion -> {
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE)) {
+                PdfInfo info = doGetPdfInfo(file);
+                conversion.addPages(info.getPageCount());
+                return info;
+            }
+        });
+    }
 
+    private PdfInfo doGetPdfInfo(MultipartFile file) throws IOException {
         PdfInfo info = new PdfInfo();
-        info.setPageCount(document.getNumberOfPages());
         info.setFileSize(file.getSize());
         info.setFileName(file.getOriginalFilename());
 
-        document.close();
+        Path temp = Files.createTempFile("pdf-info-", ".pdf");
+        try {
+            file.transferTo(temp);
+
+            try (LazyPdfDocument lazy = LazyPdfDocument.open(temp.toFile(), MemoryUsageSetting.setupTempFileOnly())) {
+                List<PDRectangle> mediaBoxes = lazy.getMediaBoxes();
+                if (mediaBoxes.isEmpty() || mediaBoxes.size() != lazy.getPageCount()) {
+                    throw new IOException("페이지 트리의 /Count가 실제 페이지 수와 다릅니다.");
+                }
+                readPdfInfo(info, lazy.getDocument(), mediaBoxes);
+            } catch (InvalidPasswordException e) {
+                // 비밀번호가 걸린 문서는 암호화 여부만 알려줌
+                info.setEncrypted(true);
+            } catch (IOException e) {
+                // 페이지 트리가 깨진 파일 - 전체를 파싱하면 PDFBox가 페이지 트리를 바로잡음
+                log.debug("페이지 트리를 바로 읽을 수 없어 전체를 파싱합니다: {}", e.getMessage());
+                try (PDDocument document = PDDocument.load(temp.toFile(), MemoryUsageSetting.setupTempFileOnly())) {
+                    List<PDRectangle> mediaBoxes = new ArrayList<>();
+                    for (PDPage page : document.getPages()) {
+                        mediaBoxes.add(page.getMediaBox());
+                    }
+                    readPdfInfo(info, document, mediaBoxes);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
         return info;
     }
 
+    private static void readPdfInfo(PdfInfo info, PDDocument document, List<PDRectangle> mediaBoxes) {
+        info.setPageCount(mediaBoxes.size());
+        info.setVersion(String.valueOf(document.getVersion()));
+        info.setEncrypted(document.isEncrypted());
+
+        PDDocumentInformation documentInfo = document.getDocumentInformation();
+        info.setTitle(documentInfo.getTitle());
+        info.setAuthor(documentInfo.getAuthor());
+        info.setCreator(documentInfo.getCreator());
+        info.setProducer(documentInfo.getProducer());
+
+        Set<String> pageSizes = new LinkedHashSet<>();
+        for (PDRectangle box : mediaBoxes) {
+            pageSizes.add(Math.round(box.getWidth()) + "x" + Math.round(box.getHeight()));
+        }
+        info.setPageSizes(new ArrayList<>(pageSizes));
+    }
+
+    // 지정한 페이지만 담은 새 문서 생성 (Splitter와 같은 방식으로 페이지를 가져옴)
+    private PDDocument extractPages(PDDocument source, List<PDPage> pages) throws IOException {
+        PDDocument target = new PDDocument(scratchMemory());
+        target.getDocument().setVersion(source.getVersion());
+        target.getDocumentCatalog().setViewerPreferences(source.getDocumentCatalog().getViewerPreferences());
+
+        PDDocumentInformation info = source.getDocumentInformation();
+        COSDictionary infoCopy = new COSDictionary();
+        for (COSName key : info.getCOSObject().keySet()) {
+            COSBase value = info.getCOSObject().getDictionaryObject(key);
+            if (!(value instanceof COSDictionary)) {
+                infoCopy.setItem(key, value);
+            }
+        }
+        target.setDocumentInformation(new PDDocumentInformation(infoCopy));
+
+        for (PDPage page : pages) {
+            PDPage imported = target.importPage(page);
+            if (page.getResources() != null && !page.getCOSObject().containsKey(COSName.RESOURCES)) {
+                imported.setResources(page.getResources());
+            }
+            detachPageLinks(imported);
+        }
+        return target;
+    }
+
+    // 다른 페이지를 가리키는 링크를 끊어 불필요한 페이지가 함께 저장되지 않도록 함
+    private void detachPageLinks(PDPage page) throws IOException {
+        for (PDAnnotation annotation : page.getAnnotations()) {
+            if (annotation instanceof PDAnnotationLink link) {
+                PDDestination destination = link.getDestination();
+                if (destination == null && link.getAction() instanceof PDActionGoTo goTo) {
+                    destination = goTo.getDestination();
+                }
+                if (destination instanceof PDPageDestination pageDestination) {
+                    pageDestination.setPage(null);
+                }
+            }
+            annotation.setPage(null);
+        }
+    }
+
+    // 문서를 열었을 때 힙에 올라가는 객체 크기 어림 (xref의 객체 수 x 객체당 크기)
+    private static long documentWorkingSet(MultipartFile file) {
+        return PdfObjectCounter.count(file) * BYTES_PER_OBJECT;
+    }
+
+    // 스크래치 버퍼가 힙에 잡는 크기 - 원본/결과 스트림 크기만큼, 메모리 한도까지
+    private long scratchWorkingSet(long bytes) {
+        return Math.min(bytes, maxMainMemory.toBytes());
+    }
+
+    private static long totalSize(List<MultipartFile> files) {
+        return files.stream().mapToLong(MultipartFile::getSize).sum();
+    }
+
+    // 힙 사용량을 제한하고 나머지는 임시 파일을 쓰는 메모리 설정
+    private MemoryUsageSetting scratchMemory() {
+        return MemoryUsageSetting.setupMixed(maxMainMemory.toBytes());
+    }
+
+    // 업로드 중인 파일을 하나씩 받아 붙이는 병합
+    // mergePdfs처럼 원본과 결과 문서에 복사된 객체 두 벌만큼 메모리를 예약하되, 파일이 도착할 때마다 그 몫을 더함
+    // (첫 파일만 여유를 기다리고, 이후 파일은 여유가 없으면 바로 거절 - 잡은 채로 기다리지 않도록)
+    // 변환 지표는 업로드를 받기 시작할 때부터 결과를 다 쓸 때까지를 하나로 기록
+    public class IncrementalMerge implements Closeable {
+        private final PDFMergerUtility merger = new PDFMergerUtility();
+        private final PDDocument destination = new PDDocument(scratchMemory());
+        private final List<PDDocument> sources = new ArrayList<>();
+        private final List<SpooledMultipartFile> spooled = new ArrayList<>();
+        private final List<MemoryAdmission.Reservation> reservations = new ArrayList<>();
+        private final ConversionMetrics.Conversion conversion = conversionMetrics.start("pdf-merge");
+        private long inputBytes;
+        private long scratchReserved;
+        private Throwable error;
+        private boolean closed;
+
+        private IncrementalMerge() {
+        }
+
+        public void append(InputStream inputStream) throws IOException {
+            try {
+                SpooledMultipartFile file = SpooledMultipartFile.spool("files", null, "application/pdf", inputStream);
+                spooled.add(file);
+                inputBytes += file.getSize();
+                conversion.inputBytes(inputBytes);
+
+                // 결과 문서의 스크래치 버퍼는 메모리 한도까지만 힙을 씀
+                long scratch = Math.min(file.getSize(), maxMainMemory.toBytes() - scratchReserved);
+                scratchReserved += scratch;
+                long workingSet = scratch + 2 * documentWorkingSet(file);
+                reservations.add(reservations.isEmpty()
+                        ? memoryAdmission.reserve(workingSet)
+                        : memoryAdmission.reserveMore(workingSet));
+
+                // 원본은 이미 디스크에 있으므로 스크래치도 디스크만 사용
+                PDDocument source;
+                try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.PARSE)) {
+                    source = PDDocument.load(file.getPath().toFile(), MemoryUsageSetting.setupTempFileOnly());
+                }
+                sources.add(source);
+                try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.TRANSFORM)) {
+                    merger.appendDocument(destination, source);
+                }
+            } catch (IOException | RuntimeException e) {
+                error = e;
+                throw e;
+            }
+        }
+
+        public int getDocumentCount() {
+            return sources.size();
+        }
+
+        public void save(OutputStream outputStream) throws IOException {
+            CountingOutputStream countingStream = new CountingOutputStream(CloseShieldOutputStream.wrap(outputStream));
+            try (ConversionMetrics.PhaseTimer ignored = conversion.phase(ConversionMetrics.Phase.SERIALIZE)) {
+                conversion.addPages(destination.getNumberOfPages());
+                destination.save(countingStream);
+            } catch (IOException | RuntimeException e) {
+                error = e;
+                throw e;
+            } finally {
+                conversion.outputBytes(countingStream.getByteCount());
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            IOUtils.closeQuietly(destination);
+            sources.forEach(IOUtils::closeQuietly);
+            spooled.forEach(SpooledMultipartFile::delete);
+            reservations.forEach(MemoryAdmission.Reservation::close);
+            // 파일을 하나도 받지 못했으면 변환이 시작되지 않은 것으로 봄
+            if (!spooled.isEmpty() || error != null) {
+                conversionMetrics.complete(conversion, error);
+            }
+        }
+    }
+
+    // 병합 중복 제거 결과 (합친 스트림 수, 줄인 원본 크기)
+    public record DedupeResult(int streamsRemoved, long bytesSaved) {
+    }
+
+    // 페이지 범위 (1부터, 끝 페이지 포함)
+    public record PageRange(int start, int end) {
+
+        public PageRange {
+            if (start < 1 || end < start) {
+                throw new RuntimeException("페이지 범위가 올바르지 않습니다: " + start + "-" + end);
+            }
+        }
+
+        public int size() {
+            return end - start + 1;
+        }
+
+        // "1-3,10,50-55" 형식
+        public static String join(List<PageRange> ranges) {
+            return ranges.stream().map(PageRange::toString).collect(Collectors.joining(","));
+        }
+
+        // 결과 파일 이름 (pages_1-3_10_50-55.pdf)
+        public static String fileName(List<PageRange> ranges) {
+            return "pages_" + join(ranges).replace(',', '_') + ".pdf";
+        }
+
+        @Override
+        public String toString() {
+            return start == end ? String.valueOf(start) : start + "-" + end;
+        }
+    }
+
+    // PDF 압축 프리셋 (목표 해상도, JPEG 품질)
+    public enum CompressionPreset {
+        SCREEN(72, 0.5f),
+        EBOOK(150, 0.7f),
+        PRINT(300, 0.85f);
+
+        private final int dpi;
+        private final float jpegQuality;
+
+        CompressionPreset(int dpi, float jpegQuality) {
+            this.dpi = dpi;
+            this.jpegQuality = jpegQuality;
+        }
+
+        public int getDpi() { return dpi; }
+        public float getJpegQuality() { return jpegQuality; }
+    }
+
+    // 페이지 렌더링 단계 (썸네일은 분할 화면 미리보기용)
+    public enum RenderTier {
+        THUMBNAIL(24, "jpg"),
+        PREVIEW(72, "jpg"),
+        STANDARD(150, "png"),
+        HIGH(300, "png");
+
+        private final int dpi;
+        private final String format;
+
+        RenderTier(int dpi, String format) {
+            this.dpi = dpi;
+            this.format = format;
+        }
+
+        public int getDpi() { return dpi; }
+        public String getFormat() { return format; }
+    }
+
+    // PDF 압축 결과 DTO
+    public static class CompressionResult {
+        private byte[] data;
+        private long originalSize;
+        private long compressedSize;
+        private int imagesRecompressed;
+        private int duplicatesRemoved;
+        private boolean cached;  // 캐시에서 가져온 결과면 이미지 처리 건수는 0
+
+        public byte[] getData() { return data; }
+        public void setData(byte[] data) { this.data = data; }
+
+        public long getOriginalSize() { return originalSize; }
+        public void setOriginalSize(long originalSize) { this.originalSize = originalSize; }
+
+        public long getCompressedSize() { return compressedSize; }
+        public void setCompressedSize(long compressedSize) { this.compressedSize = compressedSize; }
+
+        public int getImagesRecompressed() { return imagesRecompressed; }
+        public void setImagesRecompressed(int imagesRecompressed) { this.imagesRecompressed = imagesRecompressed; }
+
+        public int getDuplicatesRemoved() { return duplicatesRemoved; }
+        public void setDuplicatesRemoved(int duplicatesRemoved) { this.duplicatesRemoved = duplicatesRemoved; }
+
+        public boolean isCached() { return cached; }
+        public void setCached(boolean cached) { this.cached = cached; }
+    }
+
     // PDF 정보 DTO
     public static class PdfInfo {
         private int pageCount;
         private long fileSize;
         private String fileName;
+        private String version;
+        private boolean encrypted;
+        private List<String> pageSizes = new ArrayList<>();  // 서로 다른 페이지 크기 (pt, "가로x세로")
+        private String title;
+        private String author;
+        private String creator;
+        private String producer;
 
         public int getPageCount() { return pageCount; }
         public void setPageCount(int pageCount) { this.pageCount = pageCount; }
@@ -120,5 +956,26 @@ public class PdfService {
 
         public String getFileName() { return fileName; }
         public void setFileName(String fileName) { this.fileName = fileName; }
+
+        public String getVersion() { return version; }
+        public void setVersion(String version) { this.version = version; }
+
+        public boolean isEncrypted() { return encrypted; }
+        public void setEncrypted(boolean encrypted) { this.encrypted = encrypted; }
+
+        public List<String> getPageSizes() { return pageSizes; }
+        public void setPageSizes(List<String> pageSizes) { this.pageSizes = pageSizes; }
+
+        public String getTitle() { return title; }
+        public void setTitle(String title) { this.title = title; }
+
+        public String getAuthor() { return author; }
+        public void setAuthor(String author) { this.author = author; }
+
+        public String getCreator() { return creator; }
+        public void setCreator(String creator) { this.creator = creator; }
+
+        public String getProducer() { return producer; }
+        public void setProducer(String producer) { this.producer = producer; }
     }
 }
\ No newline at end of file
@@ -0,0 +1,134 @@
+package com.converter.document_converter.service;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+// 병합 결과에서 내용이 같은 스트림 객체(글꼴 파일, 이미지, ICC 프로파일 등)를 하나로 합침
+// 같은 양식의 문서를 병합하면 PDFMergerUtility가 문서마다 같은 리소스를 따로 복사하므로
+// 문서 전체의 스트림을 내용 해시(PdfObjectDigest)로 묶고, 내용을 끝까지 비교해 같으면 모든 참조를 처음 나온 스트림으로 바꿈
+// 저장할 때 같은 COSStream 인스턴스는 한 번만 기록됨 (COSWriter는 인스턴스로 객체를 구분)
+// 원본 길이가 같은 스트림이 없으면 해시하지 않음 (페이지 본문처럼 대부분 고유한 스트림은 읽지 않음)
+class PdfStreamDeduplicator {
+
+    private int streamsRemoved;
+    private long bytesSaved;
+
+    int getStreamsRemoved() {
+        return streamsRemoved;
+    }
+
+    // 중복으로 빠진 스트림의 원본(압축된) 크기 합
+    long getBytesSaved() {
+        return bytesSaved;
+    }
+
+    void deduplicate(PDDocument document) throws IOException {
+        COSDictionary trailer = document.getDocument().getTrailer();
+
+        // 1. 닿는 스트림을 원본 길이별로 모음 (처음 나온 순서대로)
+        Map<Long, List<COSStream>> byLength = new LinkedHashMap<>();
+        walk(trailer, Map.of(), stream -> byLength.computeIfAbsent(stream.getLength(), length -> new ArrayList<>())
+                .add(stream));
+
+        // 2. 길이가 같은 스트림끼리만 해시하고, 해시가 같은 스트림 중 내용까지 같은 것이 있으면
+        //    처음 나온 스트림으로 바꿀 대상에 넣음
+        Map<COSStream, COSStream> replacements = new IdentityHashMap<>();
+        for (List<COSStream> candidates : byLength.values()) {
+            if (candidates.size() < 2) {
+                continue;
+            }
+            Map<String, List<COSStream>> byDigest = new HashMap<>();
+            for (COSStream stream : candidates) {
+                List<COSStream> kept = byDigest.computeIfAbsent(PdfObjectDigest.of(stream), digest -> new ArrayList<>());
+                COSStream existing = find(kept, stream);
+                if (existing == null) {
+                    kept.add(stream);
+                } else {
+                    replacements.put(stream, existing);
+                    streamsRemoved++;
+                    bytesSaved += Math.max(stream.getLength(), 0);
+                }
+            }
+        }
+
+        // 3. 중복 스트림을 가리키는 참조를 모두 바꿈
+        if (!replacements.isEmpty()) {
+            walk(trailer, replacements, stream -> {
+                // 바꾸기만 함
+            });
+        }
+    }
+
+    private static COSStream find(List<COSStream> kept, COSStream stream) throws IOException {
+        for (COSStream candidate : kept) {
+            if (PdfObjectDigest.sameContent(candidate, stream)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    // 객체 그래프를 한 번씩 방문 - replacements에 있는 스트림을 가리키는 항목은 남길 스트림으로 바꾸고
+    // 빠지는 스트림 안으로는 내려가지 않음
+    private static void walk(COSDictionary start, Map<COSStream, COSStream> replacements,
+                             Consumer<COSStream> visitor) {
+        Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<COSBase> pending = new ArrayDeque<>();
+        pending.push(start);
+
+        while (!pending.isEmpty()) {
+            COSBase base = pending.pop();
+            if (!visited.add(base)) {
+                continue;
+            }
+            if (base instanceof COSStream stream) {
+                visitor.accept(stream);
+            }
+            if (base instanceof COSDictionary dictionary) {
+                for (COSName key : new ArrayList<>(dictionary.keySet())) {
+                    COSBase item = resolve(dictionary.getItem(key));
+                    if (item instanceof COSStream stream && replacements.containsKey(stream)) {
+                        item = replacements.get(stream);
+                        dictionary.setItem(key, item);
+                    }
+                    if (item != null) {
+                        pending.push(item);
+                    }
+                }
+            } else if (base instanceof COSArray array) {
+                for (int i = 0; i < array.size(); i++) {
+                    COSBase item = resolve(array.get(i));
+                    if (item instanceof COSStream stream && replacements.containsKey(stream)) {
+                        item = replacements.get(stream);
+                        array.set(i, item);
+                    }
+                    if (item != null) {
+                        pending.push(item);
+                    }
+                }
+            }
+        }
+    }
+
+    private static COSBase resolve(COSBase base) {
+        return base instanceof COSObject object ? object.getObject() : base;
+    }
+}
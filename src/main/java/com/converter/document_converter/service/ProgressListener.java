@@ -0,0 +1,10 @@
+package com.converter.document_converter.service;
+
+// 변환 진행 상황 콜백 (done / total: 처리한 페이지나 파일 수)
+@FunctionalInterface
+public interface ProgressListener {
+
+    ProgressListener NONE = (done, total) -> { };
+
+    void onProgress(int done, int total);
+}
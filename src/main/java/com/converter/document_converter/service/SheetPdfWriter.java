@@ -0,0 +1,182 @@
+package com.converter.document_converter.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// 시트 행을 받아 A4 가로 페이지에 표로 그림
+// 한 페이지 분량의 행만 모아두고, 페이지가 차면 그 행들로 열 너비를 정해 그린 뒤 버림
+// (전체 시트를 먼저 읽지 않으므로 열 너비는 페이지마다 다를 수 있음)
+class SheetPdfWriter {
+
+    private static final PDRectangle PAGE_SIZE = new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth());
+    private static final float MARGIN = 36;
+    private static final float FONT_SIZE = 8;
+    private static final float ROW_HEIGHT = 11;
+    private static final float CELL_PADDING = 3;
+    private static final float MIN_COLUMN_WIDTH = 24;
+    private static final float MAX_COLUMN_WIDTH = 180;
+    private static final Color GRID_COLOR = new Color(0xDD, 0xDD, 0xDD);
+    private static final Color ROW_NUMBER_COLOR = new Color(0x88, 0x88, 0x88);
+
+    private final PDDocument document;
+    private final PDFont font;
+    private final int rowsPerPage;
+    private final List<List<String>> pageRows = new ArrayList<>();
+    private int pageCount;
+
+    SheetPdfWriter(PDDocument document, PDFont font) {
+        this.document = document;
+        this.font = font;
+        // 아래 여백에 페이지 번호 한 줄
+        this.rowsPerPage = (int) ((PAGE_SIZE.getHeight() - MARGIN * 2 - ROW_HEIGHT) / ROW_HEIGHT);
+    }
+
+    // 행 추가 (첫 열에 엑셀 행 번호를 붙임)
+    void addRow(int rowNum, List<String> cells) throws IOException {
+        List<String> row = new ArrayList<>(cells.size() + 1);
+        row.add(String.valueOf(rowNum + 1));
+        for (String cell : cells) {
+            row.add(printable(cell));
+        }
+        pageRows.add(row);
+
+        if (pageRows.size() == rowsPerPage) {
+            writePage();
+        }
+    }
+
+    void finish() throws IOException {
+        if (!pageRows.isEmpty() || pageCount == 0) {
+            writePage();
+        }
+    }
+
+    private void writePage() throws IOException {
+        float[] widths = columnWidths();
+        PDPage page = new PDPage(PAGE_SIZE);
+        document.addPage(page);
+        pageCount++;
+
+        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+            contentStream.setLineWidth(0.5f);
+            contentStream.setStrokingColor(GRID_COLOR);
+
+            float y = PAGE_SIZE.getHeight() - MARGIN;
+            for (List<String> row : pageRows) {
+                float x = MARGIN;
+                for (int i = 0; i < row.size() && i < widths.length; i++) {
+                    String text = fit(row.get(i), widths[i] - CELL_PADDING * 2);
+                    if (!text.isEmpty()) {
+                        contentStream.beginText();
+                        contentStream.setFont(font, FONT_SIZE);
+                        contentStream.setNonStrokingColor(i == 0 ? ROW_NUMBER_COLOR : Color.BLACK);
+                        contentStream.newLineAtOffset(x + CELL_PADDING, y - ROW_HEIGHT + 3);
+                        contentStream.showText(text);
+                        contentStream.endText();
+                    }
+                    x += widths[i];
+                }
+                y -= ROW_HEIGHT;
+                contentStream.moveTo(MARGIN, y);
+                contentStream.lineTo(PAGE_SIZE.getWidth() - MARGIN, y);
+                contentStream.stroke();
+            }
+
+            String pageNumber = String.valueOf(pageCount);
+            contentStream.beginText();
+            contentStream.setFont(font, FONT_SIZE);
+            contentStream.setNonStrokingColor(ROW_NUMBER_COLOR);
+            contentStream.newLineAtOffset((PAGE_SIZE.getWidth() - textWidth(pageNumber)) / 2, MARGIN / 2);
+            contentStream.showText(pageNumber);
+            contentStream.endText();
+        }
+        pageRows.clear();
+    }
+
+    // 이 페이지 행들의 가장 긴 값에 맞춘 열 너비 (페이지보다 넓으면 비율대로 줄임)
+    private float[] columnWidths() throws IOException {
+        int columns = 0;
+        for (List<String> row : pageRows) {
+            columns = Math.max(columns, row.size());
+        }
+
+        float[] widths = new float[columns];
+        for (List<String> row : pageRows) {
+            for (int i = 0; i < row.size(); i++) {
+                String text = row.get(i);
+                if (!text.isEmpty()) {
+                    float width = Math.min(textWidth(text) + CELL_PADDING * 2, MAX_COLUMN_WIDTH);
+                    widths[i] = Math.max(widths[i], width);
+                }
+            }
+        }
+
+        float total = 0;
+        for (int i = 0; i < columns; i++) {
+            widths[i] = Math.max(widths[i], MIN_COLUMN_WIDTH);
+            total += widths[i];
+        }
+        float available = PAGE_SIZE.getWidth() - MARGIN * 2;
+        if (total > available) {
+            float scale = available / total;
+            for (int i = 0; i < columns; i++) {
+                widths[i] *= scale;
+            }
+        }
+        return widths;
+    }
+
+    // 칸 너비를 넘는 글자는 잘라냄
+    private String fit(String text, float width) throws IOException {
+        float fullWidth = text.isEmpty() ? 0 : textWidth(text);
+        if (fullWidth <= width) {
+            return text;
+        }
+        // 평균 글자 폭으로 먼저 어림한 뒤 한 글자씩 줄임
+        int length = Math.min(text.length(), (int) (text.length() * width / fullWidth) + 1);
+        while (length > 0 && textWidth(text.substring(0, length)) > width) {
+            length--;
+        }
+        return text.substring(0, length);
+    }
+
+    // 줄바꿈/탭은 공백으로, 글꼴에 없는 글자는 ?로 바꿈
+    private String printable(String text) throws IOException {
+        if (text.isEmpty()) {
+            return text;
+        }
+        String singleLine = text.replaceAll("\\p{Cntrl}", " ");
+        try {
+            font.getStringWidth(singleLine);
+            return singleLine;
+        } catch (IllegalArgumentException e) {
+            StringBuilder builder = new StringBuilder(singleLine.length());
+            singleLine.codePoints().forEach(codePoint -> {
+                String character = new String(Character.toChars(codePoint));
+                builder.append(canEncode(character) ? character : "?");
+            });
+            return builder.toString();
+        }
+    }
+
+    private boolean canEncode(String character) {
+        try {
+            font.getStringWidth(character);
+            return true;
+        } catch (IllegalArgumentException | IOException e) {
+            return false;
+        }
+    }
+
+    private float textWidth(String text) throws IOException {
+        return font.getStringWidth(text) / 1000 * FONT_SIZE;
+    }
+}
@@ -0,0 +1,106 @@
+package com.converter.document_converter.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+// 요청이 끝난 뒤에도 읽을 수 있도록 임시 파일로 옮겨둔 업로드 파일
+// 기존 서비스 메서드(MultipartFile 인자)를 백그라운드 작업에서도 그대로 쓰기 위해 사용
+public class SpooledMultipartFile implements MultipartFile {
+
+    private final String name;
+    private final String originalFilename;
+    private final String contentType;
+    private final Path path;
+    private final long size;
+
+    private SpooledMultipartFile(String name, String originalFilename, String contentType, Path path, long size) {
+        this.name = name;
+        this.originalFilename = originalFilename;
+        this.contentType = contentType;
+        this.path = path;
+        this.size = size;
+    }
+
+    public static SpooledMultipartFile spool(MultipartFile source) throws IOException {
+        Path path = Files.createTempFile("upload-", ".tmp");
+        try {
+            source.transferTo(path);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return new SpooledMultipartFile(source.getName(), source.getOriginalFilename(),
+                source.getContentType(), path, Files.size(path));
+    }
+
+    // multipart 파서를 거치지 않고 받은 스트림 (스트리밍 업로드)
+    public static SpooledMultipartFile spool(String name, String originalFilename, String contentType,
+                                             InputStream inputStream) throws IOException {
+        Path path = Files.createTempFile("upload-", ".tmp");
+        try {
+            Files.copy(inputStream, path, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(path);
+            throw e;
+        }
+        return new SpooledMultipartFile(name, originalFilename, contentType, path, Files.size(path));
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void delete() {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ignored) {
+            // 임시 디렉토리 정리에 맡김
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public byte[] getBytes() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return Files.newInputStream(path);
+    }
+
+    @Override
+    public void transferTo(File dest) throws IOException {
+        Files.copy(path, dest.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,316 @@
+package com.converter.document_converter.service;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.poi.EmptyFileException;
+import org.apache.poi.UnsupportedFileFormatException;
+import org.apache.poi.openxml4j.exceptions.InvalidOperationException;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.streaming.SXSSFRow;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// 엑셀(XLSX) 변환
+// XLSX 읽기는 XSSFWorkbook 대신 XSSFReader + SAX로 한 행씩 처리하고,
+// XLSX 쓰기는 SXSSFWorkbook으로 최근 몇 행만 메모리에 두므로 시트 크기와 관계없이 메모리 사용량이 일정함
+@Service
+@RequiredArgsConstructor
+public class SpreadsheetService {
+
+    // SXSSFWorkbook이 메모리에 두는 행 수 (나머지는 임시 파일로 내려감)
+    private static final int XLSX_WINDOW_ROWS = 100;
+    private static final int MAX_COLUMNS = SpreadsheetVersion.EXCEL2007.getMaxColumns();
+    private static final int MAX_CELL_TEXT = SpreadsheetVersion.EXCEL2007.getMaxTextLength();
+    // 엑셀이 UTF-8 CSV를 한글 깨짐 없이 열도록 앞에 붙이는 BOM
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+    // 숫자로 저장할 CSV 값 (앞자리 0이 있는 코드나 15자리를 넘는 값은 문자열로 둠)
+    private static final Pattern NUMBER = Pattern.compile("-?(0|[1-9]\\d{0,14})(\\.\\d{1,15})?");
+
+    private final ConversionCache conversionCache;
+    private final ConversionMetrics conversionMetrics;
+
+    // CSV -> XLSX에서 시트 하나에 쓰는 최대 행 수 (넘으면 다음 시트로, 테스트에서 줄여서 씀)
+    private int maxRowsPerSheet = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    // PDF 처리 시 힙에 올릴 최대 크기 (초과분은 스크래치 파일로 내려감)
+    @Value("${converter.pdf.max-main-memory:64MB}")
+    private DataSize maxMainMemory;
+
+    // XLSX -> PDF에 쓸 TrueType 글꼴 경로 (비우면 Helvetica, 한글 등 표현할 수 없는 글자는 ?로 표시)
+    @Value("${converter.spreadsheet.pdf-font:}")
+    private String pdfFont;
+
+    // XLSX -> CSV (sheet: 1부터 시작하는 시트 번호, null이면 첫 시트)
+    public void xlsxToCsv(MultipartFile file, Integer sheet, OutputStream outputStream) throws IOException {
+        String cacheKey = conversionCache.key("xlsx-csv", List.of(file), sheet);
+        writeCached("xlsx-csv", file, cacheKey, outputStream, output -> doXlsxToCsv(file, sheet, output));
+    }
+
+    // XLSX -> PDF (시트를 표 형태로 A4 가로 페이지에 나눠 그림)
+    public void xlsxToPdf(MultipartFile file, Integer sheet, OutputStream outputStream) throws IOException {
+        String cacheKey = conversionCache.key("xlsx-pdf", List.of(file), sheet);
+        writeCached("xlsx-pdf", file, cacheKey, outputStream, output -> doXlsxToPdf(file, sheet, output));
+    }
+
+    // CSV -> XLSX (행이 시트 한도를 넘으면 다음 시트로 이어서 씀)
+    public void csvToXlsx(MultipartFile file, Charset charset, OutputStream outputStream) throws IOException {
+        String cacheKey = conversionCache.key("csv-xlsx", List.of(file), charset);
+        writeCached("csv-xlsx", file, cacheKey, outputStream, output -> doCsvToXlsx(file, charset, output));
+    }
+
+    private void doXlsxToCsv(MultipartFile file, Integer sheet, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(
+                CloseShieldOutputStream.wrap(outputStream), StandardCharsets.UTF_8));
+        outputStream.write(UTF8_BOM);
+
+        readSheet(file, sheet, new RowHandler() {
+            private int nextRow;
+
+            @Override
+            void row(int rowNum, List<String> cells) throws IOException {
+                // 빈 행은 XLSX에 기록되지 않으므로 빈 줄로 채워 행 번호를 맞춤
+                for (; nextRow < rowNum; nextRow++) {
+                    writer.write("\r\n");
+                }
+                for (int i = 0; i < cells.size(); i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeCsvValue(writer, cells.get(i));
+                }
+                writer.write("\r\n");
+                nextRow = rowNum + 1;
+            }
+        });
+        writer.flush();
+    }
+
+    private void doXlsxToPdf(MultipartFile file, Integer sheet, OutputStream outputStream) throws IOException {
+        try (PDDocument document = new PDDocument(MemoryUsageSetting.setupMixed(maxMainMemory.toBytes()))) {
+            SheetPdfWriter pdfWriter = new SheetPdfWriter(document, loadFont(document));
+            readSheet(file, sheet, new RowHandler() {
+                @Override
+                void row(int rowNum, List<String> cells) throws IOException {
+                    pdfWriter.addRow(rowNum, cells);
+                }
+            });
+            pdfWriter.finish();
+            document.save(CloseShieldOutputStream.wrap(outputStream));
+        }
+    }
+
+    private void doCsvToXlsx(MultipartFile file, Charset charset, OutputStream outputStream) throws IOException {
+        // close()가 임시 시트 파일까지 지움
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_WINDOW_ROWS);
+             InputStream inputStream = file.getInputStream();
+             CsvReader reader = new CsvReader(new InputStreamReader(inputStream, charset))) {
+            // 임시 시트 파일도 압축해서 디스크 사용량을 줄임
+            workbook.setCompressTempFiles(true);
+            SXSSFSheet sheet = workbook.createSheet();
+            int rowNum = 0;
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (rowNum == maxRowsPerSheet) {
+                    sheet = workbook.createSheet();
+                    rowNum = 0;
+                }
+                if (record.size() > MAX_COLUMNS) {
+                    throw new RuntimeException("열은 최대 " + MAX_COLUMNS + "개까지 변환할 수 있습니다.");
+                }
+
+                SXSSFRow row = sheet.createRow(rowNum++);
+                for (int i = 0; i < record.size(); i++) {
+                    String value = record.get(i);
+                    if (value.isEmpty()) {
+                        continue;
+                    }
+                    if (NUMBER.matcher(value).matches()) {
+                        row.createCell(i).setCellValue(Double.parseDouble(value));
+                    } else {
+                        row.createCell(i).setCellValue(value.length() > MAX_CELL_TEXT
+                                ? value.substring(0, MAX_CELL_TEXT) : value);
+                    }
+                }
+            }
+
+            workbook.write(CloseShieldOutputStream.wrap(outputStream));
+        }
+    }
+
+    // 시트를 SAX로 읽으며 행마다 handler 호출 (빠진 셀은 빈 문자열로 채움)
+    // OPCPackage는 파일에서 열어야 ZIP 항목을 필요할 때만 풀어 읽으므로 업로드를 임시 파일로 받음
+    private void readSheet(MultipartFile file, Integer sheet, RowHandler handler) throws IOException {
+        Path temp = Files.createTempFile("spreadsheet-", ".xlsx");
+        try {
+            file.transferTo(temp);
+            try (OPCPackage pkg = OPCPackage.open(temp.toFile(), PackageAccess.READ)) {
+                XSSFReader reader = new XSSFReader(pkg);
+                ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg, false);
+
+                try (InputStream sheetData = openSheet(reader, sheet != null ? sheet : 1)) {
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(new XSSFSheetXMLHandler(
+                            reader.getStylesTable(), strings, handler, new DataFormatter(), false));
+                    parser.parse(new InputSource(sheetData));
+                }
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } catch (OpenXML4JException | SAXException | ParserConfigurationException
+                     | UnsupportedFileFormatException | EmptyFileException | InvalidOperationException e) {
+                throw new RuntimeException("올바른 엑셀(XLSX) 파일이 아닙니다.", e);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private InputStream openSheet(XSSFReader reader, int sheet) throws IOException, OpenXML4JException {
+        Iterator<InputStream> sheets = reader.getSheetsData();
+        for (int i = 1; sheets.hasNext(); i++) {
+            InputStream sheetData = sheets.next();
+            if (i == sheet) {
+                return sheetData;
+            }
+            sheetData.close();
+        }
+        throw new RuntimeException("시트를 찾을 수 없습니다: " + sheet);
+    }
+
+    private PDFont loadFont(PDDocument document) throws IOException {
+        if (StringUtils.hasText(pdfFont)) {
+            // 쓰인 글자만 넣도록 서브셋으로 포함
+            return PDType0Font.load(document, new File(pdfFont));
+        }
+        return PDType1Font.HELVETICA;
+    }
+
+    // 행 단위로 읽으면서 바로 쓰므로 단계(parse/transform/serialize)는 나누지 않고 전체 시간만 기록
+    private void writeCached(String operation, MultipartFile file, String cacheKey, OutputStream outputStream,
+                             Conversion conversion) throws IOException {
+        conversionMetrics.record(operation, List.of(file), outputStream, (metrics, output) -> {
+            if (conversionCache.writeTo(cacheKey, output)) {
+                metrics.cacheHit();
+                return;
+            }
+            metrics.cacheMiss();
+
+            // 응답으로 나가는 결과를 캐시에도 함께 기록
+            try (ConversionCache.PendingEntry cacheEntry = conversionCache.newEntry(cacheKey)) {
+                conversion.run(new TeeOutputStream(output, cacheEntry.getOutputStream()));
+                cacheEntry.commit();
+            }
+        });
+    }
+
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // 열 문자(A, B, ..., AA)를 0부터 시작하는 번호로
+    private static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    // 지원하는 CSV 문자 인코딩 확인 (UTF-8, MS949 등)
+    public static Charset checkCharset(String encoding) {
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("지원하지 않는 문자 인코딩입니다: " + encoding);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Conversion {
+        void run(OutputStream outputStream) throws IOException;
+    }
+
+    // 셀 이벤트를 행 단위로 모음 (행마다 같은 리스트를 재사용하므로 handler는 값을 보관하지 말 것)
+    private abstract static class RowHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final List<String> cells = new ArrayList<>();
+
+        abstract void row(int rowNum, List<String> cells) throws IOException;
+
+        @Override
+        public void startRow(int rowNum) {
+            cells.clear();
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            try {
+                row(rowNum, cells);
+            } catch (IOException e) {
+                // SAX 콜백은 IOException을 던질 수 없으므로 감싸서 readSheet에서 풀어줌
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? columnIndex(cellReference) : cells.size();
+            while (cells.size() < column) {
+                cells.add("");
+            }
+            cells.add(formattedValue != null ? formattedValue : "");
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.converter.document_converter.service;
+
+import com.converter.document_converter.entity.User;
+import com.converter.document_converter.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+// 변환 요청마다 필요한 사용자 정보(등급, 파일 크기 제한, 활성 여부) 캐시
+// 사용량 카운터는 담지 않으므로 사용량이 바뀌어도 무효화할 필요 없음
+// 등급/구독이 바뀌면 UserService에서 트랜잭션이 커밋된 뒤 invalidate 호출
+@Component
+public class UserContextCache {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, UserContext> byId;
+    private final Cache<String, Long> idByApiKey;
+
+    public UserContextCache(
+            UserRepository userRepository,
+            @Value("${converter.user-cache.ttl:5m}") Duration ttl,
+            @Value("${converter.user-cache.max-size:100000}") long maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepository = userRepository;
+        this.byId = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.idByApiKey = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        // 적중률, 제거 횟수 등은 cache_* 지표로 (cache=user-context / user-api-key)
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "user-context");
+        CaffeineCacheMetrics.monitor(meterRegistry, idByApiKey, "user-api-key");
+    }
+
+    public Optional<UserContext> get(Long userId) {
+        // 없는 사용자는 캐시하지 않음 (null을 돌려주면 저장되지 않음)
+        return Optional.ofNullable(byId.get(userId, id ->
+                userRepository.findById(id).map(UserContext::from).orElse(null)));
+    }
+
+    public Optional<UserContext> getByApiKey(String apiKey) {
+        Long userId = idByApiKey.getIfPresent(apiKey);
+        if (userId != null) {
+            return get(userId);
+        }
+
+        Optional<UserContext> context = userRepository.findByApiKey(apiKey).map(UserContext::from);
+        context.ifPresent(this::put);
+        return context;
+    }
+
+    public void put(UserContext context) {
+        byId.put(context.id(), context);
+        if (context.apiKey() != null) {
+            idByApiKey.put(context.apiKey(), context.id());
+        }
+    }
+
+    public void invalidate(Long userId) {
+        UserContext previous = byId.getIfPresent(userId);
+        byId.invalidate(userId);
+        if (previous != null && previous.apiKey() != null) {
+            idByApiKey.invalidate(previous.apiKey());
+        }
+    }
+
+    public record UserContext(Long id, String apiKey, User.UserRole role, long fileSizeLimit, boolean active) {
+
+        public static UserContext from(User user) {
+            return new UserContext(user.getId(), user.getApiKey(), user.getRole(),
+                    user.getFileSizeLimit(), Boolean.TRUE.equals(user.getIsActive()));
+        }
+    }
+}
@@ -3,22 +3,31 @@ package com.converter.document_converter.service;
 import com.converter.document_converter.entity.User;
 import com.converter.document_converter.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int RESET_CHUNK_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserContextCache userContextCache;
+    private final ConversionMetrics conversionMetrics;
 
     // 회원가입
     @Transactional
@@ -72,65 +81,115 @@ public class UserService {
     // ===== 기능별 사용량 체크 및 증가 =====
     @Transactional
     public void incrementUsage(Long userId, User.FeatureType feature) {
+        incrementUsage(userId, feature, 1);
+    }
+
+    // 일괄 처리는 건수만큼 한 번에 차감
+    // 한도 체크와 증가는 조건부 UPDATE 한 번으로 처리하고, 거절된 경우에만 원인 확인을 위해 조회
+    @Transactional
+    public void incrementUsage(Long userId, User.FeatureType feature, int count) {
+        if (userRepository.incrementUsageIfAllowed(userId, feature, count) > 0) {
+            return;
+        }
+
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        // 전체 사용 가능 여부 체크
-        if (!user.canUseService()) {
+        // 전체 한도 초과
+        if (!user.canUseService(count)) {
+            conversionMetrics.quotaRejected(feature, user.getRole(), "daily-limit");
             String limit = user.getRole() == User.UserRole.FREE ? "10회" : "100회";
             throw new RuntimeException("일일 사용 한도 초과 (" + user.getRole() + ": " + limit + "/일)");
         }
 
-        // 기능별 사용 가능 여부 체크
-        if (!user.canUseFeature(feature)) {
-            String featureName = getFeatureName(feature);
-            String limit = user.getRole() == User.UserRole.FREE ? "10회" : "100회";
-            throw new RuntimeException(featureName + " 기능 일일 한도 초과 (" + limit + "/일)");
-        }
-
-        // 사용량 증가
-        user.incrementFeatureUsage(feature);
-        userRepository.save(user);
+        // 기능별 한도 초과
+        conversionMetrics.quotaRejected(feature, user.getRole(), "feature-limit");
+        String featureName = getFeatureName(feature);
+        String limit = user.getRole() == User.UserRole.FREE ? "10회" : "100회";
+        throw new RuntimeException(featureName + " 기능 일일 한도 초과 (" + limit + "/일)");
     }
 
     // ===== 기존 방식 (하위 호환성) =====
     @Transactional
     public void incrementUsage(Long userId) {
+        if (userRepository.incrementUsageIfAllowed(userId, 1) > 0) {
+            return;
+        }
+
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+        conversionMetrics.quotaRejected(null, user.getRole(), "daily-limit");
+        throw new RuntimeException("일일 사용 한도 초과 (FREE: 10회/일)");
+    }
 
-        if (!user.canUseService()) {
-            throw new RuntimeException("일일 사용 한도 초과 (FREE: 10회/일)");
-        }
-
-        user.incrementUsage();
-        userRepository.save(user);
+    // 차감한 사용량 되돌리기 - 작업이 접수되지 못했을 때 (feature가 null이면 전체 사용량만)
+    @Transactional
+    public void refundUsage(Long userId, User.FeatureType feature, int count) {
+        userRepository.decrementUsage(userId, feature, count);
     }
 
-    // 파일 크기 체크
+    // 파일 크기 체크 (사용자 정보는 캐시에서)
     public void checkFileSize(Long userId, long fileSize) {
-        User user = userRepository.findById(userId)
+        UserContextCache.UserContext user = userContextCache.get(userId)
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
-        long limit = user.getFileSizeLimit();
+        long limit = user.fileSizeLimit();
         if (fileSize > limit) {
+            conversionMetrics.quotaRejected(null, user.role(), "file-size");
             String limitMB = String.format("%.0f", limit / 1024.0 / 1024.0);
             throw new RuntimeException("파일 크기 제한 초과 (최대: " + limitMB + "MB)");
         }
     }
 
+    // ===== 등급/구독 변경 =====
+    @Transactional
+    public User updateSubscription(Long userId, User.UserRole role, LocalDateTime subscriptionEndDate) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
+
+        user.setRole(role);
+        user.setSubscriptionEndDate(subscriptionEndDate);
+        User saved = userRepository.save(user);
+
+        // 캐시된 등급/파일 크기 제한 제거
+        invalidateAfterCommit(userId);
+        return saved;
+    }
+
+    // 커밋 전에 지우면 그 사이 요청이 아직 바뀌지 않은 행을 다시 캐시에 올리므로 커밋된 뒤에 지움
+    // (롤백되면 캐시는 그대로가 맞음, 트랜잭션 밖에서 불리면 바로 지움)
+    private void invalidateAfterCommit(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            userContextCache.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userContextCache.invalidate(userId);
+            }
+        });
+    }
+
     // ===== 매일 자정 사용량 초기화 스케줄러 =====
+    // 오늘 사용한 사용자만 RESET_CHUNK_SIZE명씩 UPDATE 한 번으로 초기화 (전체 테이블을 읽지 않음)
     @Scheduled(cron = "0 0 0 * * *") // 매일 자정
-    @Transactional
     public void resetDailyUsage() {
-        List<User> users = userRepository.findAll();
-
-        for (User user : users) {
-            user.resetDailyUsage();
+        LocalDateTime resetAt = LocalDateTime.now();
+        long lastId = 0;
+        int resetCount = 0;
+
+        while (true) {
+            List<Long> ids = userRepository.findIdsWithDailyUsage(lastId, PageRequest.of(0, RESET_CHUNK_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            resetCount += userRepository.resetDailyUsage(ids, resetAt);
+            lastId = ids.get(ids.size() - 1);
         }
 
-        userRepository.saveAll(users);
-        System.out.println("✅ 일일 사용량 초기화 완료: " + LocalDateTime.now());
+        log.info("일일 사용량 초기화 완료: {}명, {}", resetCount, resetAt);
     }
 
     // ===== Helper 메서드 =====
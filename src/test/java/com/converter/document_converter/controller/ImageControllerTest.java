@@ -0,0 +1,125 @@
+package com.converter.document_converter.controller;
+
+import com.converter.document_converter.entity.User;
+import com.converter.document_converter.service.ConversionCache;
+import com.converter.document_converter.service.ConversionExecutor;
+import com.converter.document_converter.service.ConversionMetrics;
+import com.converter.document_converter.service.ConversionResultStore;
+import com.converter.document_converter.service.ImageBufferPool;
+import com.converter.document_converter.service.ImageCodecPool;
+import com.converter.document_converter.service.ImageService;
+import com.converter.document_converter.service.MemoryAdmission;
+import com.converter.document_converter.service.UserContextCache;
+import com.converter.document_converter.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class ImageControllerTest {
+
+    private static final long USER_ID = 7L;
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConversionExecutor executor = new ConversionExecutor(2, 16, meterRegistry);
+    private final UserService userService = mock(UserService.class);
+    private ImageController imageController;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        ImageBufferPool bufferPool = new ImageBufferPool(DataSize.ofMegabytes(16), DataSize.ofMegabytes(4));
+        ConversionCache cache = new ConversionCache(false, DataSize.ofMegabytes(1), DataSize.ofMegabytes(1),
+                DataSize.ofKilobytes(64), directory.resolve("cache"), meterRegistry);
+        ImageService imageService = new ImageService(cache, executor, new ImageCodecPool(bufferPool, 0), bufferPool,
+                new ConversionMetrics(meterRegistry),
+                new MemoryAdmission(DataSize.ofMegabytes(64), Duration.ofSeconds(5), meterRegistry));
+        ReflectionTestUtils.setField(imageService, "maxPixels", 1_000_000L);
+        ConversionResultStore resultStore = new ConversionResultStore(Duration.ofHours(1), DataSize.ofMegabytes(1),
+                directory.resolve("results"), meterRegistry);
+        imageController = new ImageController(imageService, userService, resultStore);
+
+        UserContextCache.UserContext user = new UserContextCache.UserContext(USER_ID, "key", User.UserRole.FREE,
+                DataSize.ofMegabytes(10).toBytes(), true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        executor.shutdown();
+    }
+
+    @Test
+    void chargesUsageForValidImage() throws IOException {
+        ResponseEntity<?> response = imageController.resizeImage(png(200, 100), 100, 100);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        verify(userService).incrementUsage(USER_ID, User.FeatureType.IMAGE_RESIZE);
+    }
+
+    // 헤더 확인에서 거절되는 요청은 사용량을 차감하지 않음
+    @Test
+    void rejectsCorruptImageBeforeCharging() {
+        MockMultipartFile file = new MockMultipartFile("file", "broken.png", "image/png", new byte[]{1, 2, 3, 4});
+
+        ResponseEntity<?> response = imageController.resizeImage(file, 100, 100);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void rejectsInvalidSizeBeforeCharging() throws IOException {
+        ResponseEntity<?> response = imageController.resizeImage(png(200, 100), 0, 100);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void rejectsTooManyPixelsBeforeCharging() throws IOException {
+        ResponseEntity<?> response = imageController.resizeImage(png(2000, 1000), 100, 100);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        verifyNoInteractions(userService);
+    }
+
+    // 작은 원본을 한도 넘게 키우는 요청도 디코딩 전에 거절
+    @Test
+    void rejectsOversizedResultBeforeCharging() throws IOException {
+        ResponseEntity<?> response = imageController.resizeImage(png(20, 10), 4000, 2000);
+
+        assertThat(response.getStatusCode().value()).isEqualTo(400);
+        verifyNoInteractions(userService);
+    }
+
+    private static MockMultipartFile png(int width, int height) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", outputStream);
+        return new MockMultipartFile("file", "image.png", "image/png", outputStream.toByteArray());
+    }
+}
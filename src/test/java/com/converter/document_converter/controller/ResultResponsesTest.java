@@ -0,0 +1,153 @@
+package com.converter.document_converter.controller;
+
+import com.converter.document_converter.service.ConversionResultStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResultResponsesTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path directory;
+
+    private ConversionResultStore.StoredResult result;
+
+    @BeforeEach
+    void store() throws IOException {
+        ConversionResultStore store = new ConversionResultStore(Duration.ofHours(1), DataSize.ofMegabytes(1),
+                directory, new SimpleMeterRegistry());
+        result = store.save("보고서 1; final.pdf", "application/pdf", CONTENT);
+    }
+
+    @Test
+    void servesWholeResult() throws IOException {
+        MockHttpServletResponse response = serve(request());
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(result.getETag());
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+    }
+
+    // 공백, 세미콜론, 한글이 든 파일 이름도 헤더를 깨지 않고 그대로 돌아옴
+    @Test
+    void quotesFileName() throws IOException {
+        MockHttpServletResponse response = serve(request());
+
+        ContentDisposition disposition = ContentDisposition.parse(response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+        assertThat(disposition.isAttachment()).isTrue();
+        assertThat(disposition.getFilename()).isEqualTo("보고서 1; final.pdf");
+    }
+
+    @Test
+    void servesSingleRange() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=2-5");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 2-5/10");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(CONTENT, 2, 6));
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+    }
+
+    @Test
+    void servesSuffixRange() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 7-9/10");
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(CONTENT, 7, 10));
+    }
+
+    @Test
+    void rejectsRangePastEnd() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=10-");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */10");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void servesRangeWhenIfRangeMatches() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-");
+        request.addHeader(HttpHeaders.IF_RANGE, result.getETag());
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEqualTo(Arrays.copyOfRange(CONTENT, 5, 10));
+    }
+
+    // If-Range가 다른 결과를 가리키면 Range를 무시하고 전체를 보냄
+    @Test
+    void servesWholeResultWhenIfRangeDiffers() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"other\"");
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isNull();
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void returnsNotModifiedForMatchingETag() throws IOException {
+        MockHttpServletRequest request = request();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, result.getETag());
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void headSendsHeadersOnly() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", ResultResponses.location(result.id()));
+
+        MockHttpServletResponse response = serve(request);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    private MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", ResultResponses.location(result.id()));
+    }
+
+    private MockHttpServletResponse serve(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResultResponses.serve(result, request, response);
+        return response;
+    }
+}
@@ -0,0 +1,143 @@
+package com.converter.document_converter.repository;
+
+import com.converter.document_converter.entity.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 조건부 UPDATE(incrementUsageIfAllowed)가 한도에서 멈추는지 확인 (내장 H2)
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class UserRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void stopsAtFreeLimit() {
+        Long id = save(User.UserRole.FREE, true).getId();
+
+        for (int i = 0; i < User.FREE_DAILY_LIMIT; i++) {
+            assertThat(userRepository.incrementUsageIfAllowed(id, User.FeatureType.PDF_MERGE, 1)).isEqualTo(1);
+        }
+        assertThat(userRepository.incrementUsageIfAllowed(id, User.FeatureType.PDF_MERGE, 1)).isZero();
+        assertThat(userRepository.incrementUsageIfAllowed(id, 1)).isZero();
+
+        User user = reload(id);
+        assertThat(user.getDailyUsage()).isEqualTo(User.FREE_DAILY_LIMIT);
+        assertThat(user.getMonthlyUsage()).isEqualTo(User.FREE_DAILY_LIMIT);
+        assertThat(user.getPdfMergeUsage()).isEqualTo(User.FREE_DAILY_LIMIT);
+    }
+
+    @Test
+    void rejectsCountThatWouldCrossLimit() {
+        Long id = save(User.UserRole.FREE, true).getId();
+
+        assertThat(userRepository.incrementUsageIfAllowed(id, User.FeatureType.PDF_SPLIT, 8)).isEqualTo(1);
+        assertThat(userRepository.incrementUsageIfAllowed(id, User.FeatureType.PDF_SPLIT, 3)).isZero();
+        assertThat(userRepository.incrementUsageIfAllowed(id, User.FeatureType.PDF_SPLIT, 2)).isEqualTo(1);
+
+        User user = reload(id);
+        assertThat(user.getDailyUsage()).isEqualTo(10);
+        assertThat(user.getPdfSplitUsage()).isEqualTo(10);
+    }
+
+    @Test
+    void appliesRoleLimits() {
+        Long pro = save(User.UserRole.PRO, true).getId();
+        Long enterprise = save(User.UserRole.ENTERPRISE, true).getId();
+        Long inactive = save(User.UserRole.PRO, false).getId();
+
+        assertThat(userRepository.incrementUsageIfAllowed(pro, User.PRO_DAILY_LIMIT)).isEqualTo(1);
+        assertThat(userRepository.incrementUsageIfAllowed(pro, 1)).isZero();
+        assertThat(userRepository.incrementUsageIfAllowed(enterprise, User.PRO_DAILY_LIMIT * 2)).isEqualTo(1);
+        assertThat(userRepository.incrementUsageIfAllowed(inactive, 1)).isZero();
+        assertThat(userRepository.incrementUsageIfAllowed(-1L, 1)).isZero();
+    }
+
+    @Test
+    void refundStopsAtZero() {
+        Long id = save(User.UserRole.FREE, true).getId();
+        userRepository.incrementUsageIfAllowed(id, User.FeatureType.IMAGE_RESIZE, 3);
+
+        assertThat(userRepository.decrementUsage(id, User.FeatureType.IMAGE_RESIZE, 5)).isEqualTo(1);
+
+        User user = reload(id);
+        assertThat(user.getDailyUsage()).isZero();
+        assertThat(user.getImageResizeUsage()).isZero();
+    }
+
+    // 요청마다 별도 트랜잭션으로 동시에 증가 - 한도만큼만 성공해야 함
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentIncrementsStopAtLimit() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long id = transaction.execute(status -> save(User.UserRole.FREE, true).getId());
+        int requests = User.FREE_DAILY_LIMIT * 3;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return transaction.execute(status ->
+                            userRepository.incrementUsageIfAllowed(id, User.FeatureType.IMAGE_COMPRESS, 1));
+                }));
+            }
+            start.countDown();
+
+            int updated = 0;
+            for (Future<Integer> result : results) {
+                updated += result.get();
+            }
+            assertThat(updated).isEqualTo(User.FREE_DAILY_LIMIT);
+
+            User user = userRepository.findById(id).orElseThrow();
+            assertThat(user.getDailyUsage()).isEqualTo(User.FREE_DAILY_LIMIT);
+            assertThat(user.getImageCompressUsage()).isEqualTo(User.FREE_DAILY_LIMIT);
+        } finally {
+            executor.shutdownNow();
+            userRepository.deleteById(id);
+        }
+    }
+
+    private User save(User.UserRole role, boolean active) {
+        String key = UUID.randomUUID().toString().replace("-", "");
+        return userRepository.saveAndFlush(User.builder()
+                .email(key + "@test.com")
+                .password("password")
+                .name("tester")
+                .apiKey(key)
+                .role(role)
+                .isActive(active)
+                .build());
+    }
+
+    // UPDATE 쿼리는 영속성 컨텍스트를 거치지 않으므로 비우고 다시 읽음
+    private User reload(Long id) {
+        entityManager.clear();
+        return userRepository.findById(id).orElseThrow();
+    }
+}
@@ -0,0 +1,192 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void keyDependsOnInputsAndParams() throws IOException {
+        ConversionCache cache = cache(1000, 1000, 100);
+        List<MultipartFile> input = List.of(file("a"));
+
+        String key = cache.key("compress", input, 150, 0.7f);
+
+        assertThat(cache.key("compress", input, 150, 0.7f)).isEqualTo(key);
+        assertThat(cache.key("compress", input, 150, 0.8f)).isNotEqualTo(key);
+        assertThat(cache.key("merge", input, 150, 0.7f)).isNotEqualTo(key);
+        assertThat(cache.key("compress", List.of(file("b")), 150, 0.7f)).isNotEqualTo(key);
+    }
+
+    @Test
+    void disabledCacheSkipsEverything() throws IOException {
+        ConversionCache cache = new ConversionCache(false, DataSize.ofBytes(1000), DataSize.ofBytes(1000),
+                DataSize.ofBytes(100), directory, meterRegistry);
+
+        String key = cache.key("compress", List.of(file("a")));
+        cache.put(key, new byte[10]);
+
+        assertThat(key).isNull();
+        assertThat(cache.get(key)).isNull();
+        assertThat(files()).isZero();
+    }
+
+    // 메모리 한도를 넘으면 가장 오래 안 쓴 항목부터 빠지고, 디스크 계층에서 다시 읽힘
+    @Test
+    void evictsLeastRecentlyUsedFromMemory() throws IOException {
+        ConversionCache cache = cache(300, 1000, 100);
+        cache.put("a", data(1, 100));
+        cache.put("b", data(2, 100));
+        cache.put("c", data(3, 100));
+        cache.get("a");
+
+        cache.put("d", data(4, 100));
+
+        assertThat(size("memory")).isEqualTo(300);
+        assertThat(evictions("memory")).isEqualTo(1);
+        assertThat(cache.get("a")).isEqualTo(data(1, 100));
+        assertThat(hits("memory")).isEqualTo(2);
+
+        // b는 메모리에서 빠졌지만 디스크에 남아 있음
+        assertThat(cache.get("b")).isEqualTo(data(2, 100));
+        assertThat(hits("disk")).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedFromDisk() throws IOException {
+        ConversionCache cache = cache(0, 400, 0);
+        cache.put("a", data(1, 100));
+        cache.put("b", data(2, 100));
+        cache.put("c", data(3, 100));
+        cache.put("d", data(4, 100));
+        cache.get("a");
+
+        cache.put("e", data(5, 100));
+
+        assertThat(size("disk")).isEqualTo(400);
+        assertThat(evictions("disk")).isEqualTo(1);
+        assertThat(files()).isEqualTo(4);
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("a")).isEqualTo(data(1, 100));
+        assertThat(misses()).isEqualTo(1);
+    }
+
+    // 계층별 항목 한도를 넘는 결과는 그 계층에 넣지 않음 (디스크는 한도의 1/4)
+    @Test
+    void skipsEntriesLargerThanTierLimit() throws IOException {
+        ConversionCache cache = cache(1000, 400, 50);
+
+        cache.put("small", data(1, 50));
+        cache.put("medium", data(2, 100));
+        cache.put("large", data(3, 101));
+
+        assertThat(size("memory")).isEqualTo(50);
+        assertThat(size("disk")).isEqualTo(150);
+        assertThat(cache.get("large")).isNull();
+        assertThat(cache.get("medium")).isEqualTo(data(2, 100));
+    }
+
+    @Test
+    void replacesEntryWithSameKey() throws IOException {
+        ConversionCache cache = cache(1000, 1000, 100);
+
+        cache.put("a", data(1, 100));
+        cache.put("a", data(2, 50));
+
+        assertThat(size("memory")).isEqualTo(50);
+        assertThat(size("disk")).isEqualTo(50);
+        assertThat(files()).isEqualTo(1);
+        assertThat(cache.get("a")).isEqualTo(data(2, 50));
+    }
+
+    @Test
+    void commitsStreamedEntryToDisk() throws IOException {
+        ConversionCache cache = cache(1000, 1000, 100);
+
+        try (ConversionCache.PendingEntry entry = cache.newEntry("a")) {
+            entry.getOutputStream().write(data(1, 60));
+            entry.getOutputStream().write(data(1, 40));
+            entry.commit();
+        }
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        assertThat(cache.writeTo("a", outputStream)).isTrue();
+        assertThat(outputStream.size()).isEqualTo(100);
+        assertThat(size("disk")).isEqualTo(100);
+    }
+
+    // 실패한 변환이나 디스크 항목 한도를 넘은 결과는 남기지 않음
+    @Test
+    void discardsUncommittedOrOversizedStream() throws IOException {
+        ConversionCache cache = cache(1000, 400, 100);
+
+        try (ConversionCache.PendingEntry entry = cache.newEntry("failed")) {
+            entry.getOutputStream().write(data(1, 10));
+        }
+        try (ConversionCache.PendingEntry entry = cache.newEntry("large")) {
+            entry.getOutputStream().write(data(1, 101));
+            entry.commit();
+        }
+
+        assertThat(cache.writeTo("failed", OutputStream.nullOutputStream())).isFalse();
+        assertThat(cache.writeTo("large", OutputStream.nullOutputStream())).isFalse();
+        assertThat(size("disk")).isZero();
+        assertThat(files()).isZero();
+    }
+
+    private ConversionCache cache(long memoryBudget, long diskBudget, long maxMemoryEntry) throws IOException {
+        return new ConversionCache(true, DataSize.ofBytes(memoryBudget), DataSize.ofBytes(diskBudget),
+                DataSize.ofBytes(maxMemoryEntry), directory, meterRegistry);
+    }
+
+    private double hits(String tier) {
+        return meterRegistry.get("converter.cache.hits").tag("tier", tier).functionCounter().count();
+    }
+
+    private double misses() {
+        return meterRegistry.get("converter.cache.misses").functionCounter().count();
+    }
+
+    private double evictions(String tier) {
+        return meterRegistry.get("converter.cache.evictions").tag("tier", tier).functionCounter().count();
+    }
+
+    private double size(String tier) {
+        return meterRegistry.get("converter.cache.size").tag("tier", tier).gauge().value();
+    }
+
+    private long files() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static MockMultipartFile file(String content) {
+        return new MockMultipartFile("file", "input.pdf", "application/pdf", content.getBytes());
+    }
+
+    private static byte[] data(int value, int length) {
+        byte[] data = new byte[length];
+        Arrays.fill(data, (byte) value);
+        return data;
+    }
+}
@@ -0,0 +1,109 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConversionResultStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void savesAndFindsResult() throws IOException {
+        ConversionResultStore store = store(Duration.ofHours(1), DataSize.ofKilobytes(1));
+
+        ConversionResultStore.StoredResult saved = store.save("결과 파일.pdf", "application/pdf", new byte[100]);
+
+        ConversionResultStore.StoredResult found = store.find(saved.id()).orElseThrow();
+        assertThat(found.fileName()).isEqualTo("결과 파일.pdf");
+        assertThat(found.size()).isEqualTo(100);
+        assertThat(found.getETag()).isEqualTo("\"" + saved.id() + "\"");
+        assertThat(Files.size(found.file())).isEqualTo(100);
+        assertThat(store.getStoredBytes()).isEqualTo(100);
+    }
+
+    // 보관 총량을 넘으면 오래된 결과부터 지우고, 방금 넣은 결과는 혼자 한도를 넘어도 남김
+    @Test
+    void evictsOldestOverDiskBudget() throws IOException {
+        ConversionResultStore store = store(Duration.ofHours(1), DataSize.ofBytes(250));
+
+        ConversionResultStore.StoredResult first = store.save("a.pdf", "application/pdf", new byte[100]);
+        ConversionResultStore.StoredResult second = store.save("b.pdf", "application/pdf", new byte[100]);
+        ConversionResultStore.StoredResult third = store.save("c.pdf", "application/pdf", new byte[100]);
+
+        assertThat(store.find(first.id())).isEmpty();
+        assertThat(Files.exists(first.file())).isFalse();
+        assertThat(store.find(second.id())).isPresent();
+        assertThat(store.find(third.id())).isPresent();
+        assertThat(store.getStoredBytes()).isEqualTo(200);
+
+        ConversionResultStore.StoredResult large = store.save("d.pdf", "application/pdf", new byte[300]);
+        assertThat(store.find(large.id())).isPresent();
+        assertThat(store.getResultCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiresAfterTtl() throws IOException {
+        ConversionResultStore store = store(Duration.ZERO, DataSize.ofKilobytes(1));
+
+        ConversionResultStore.StoredResult saved = store.save("a.pdf", "application/pdf", new byte[10]);
+
+        assertThat(store.find(saved.id())).isEmpty();
+        assertThat(store.getResultCount()).isZero();
+        assertThat(Files.exists(saved.file())).isFalse();
+    }
+
+    // commit 전에 닫은 결과는 남지 않음
+    @Test
+    void discardsUncommittedResult() throws IOException {
+        ConversionResultStore store = store(Duration.ofHours(1), DataSize.ofKilobytes(1));
+
+        String id;
+        try (ConversionResultStore.PendingResult result = store.create("a.pdf", "application/pdf")) {
+            id = result.getId();
+            result.getOutputStream().write(new byte[10]);
+            assertThat(store.isPending(id)).isTrue();
+        }
+
+        assertThat(store.isPending(id)).isFalse();
+        assertThat(store.find(id)).isEmpty();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    // 클라이언트가 끊겨도 결과 파일은 끝까지 기록
+    @Test
+    void teeKeepsWritingAfterClientFails() throws IOException {
+        ConversionResultStore store = store(Duration.ofHours(1), DataSize.ofKilobytes(1));
+
+        ConversionResultStore.StoredResult saved;
+        try (ConversionResultStore.PendingResult result = store.create("a.pdf", "application/pdf")) {
+            OutputStream tee = result.tee(new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("closed");
+                }
+            });
+            tee.write(new byte[]{1, 2, 3});
+            tee.write(new byte[]{4, 5});
+            saved = result.commit();
+        }
+
+        assertThat(Files.readAllBytes(saved.file())).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    private ConversionResultStore store(Duration ttl, DataSize diskBudget) throws IOException {
+        return new ConversionResultStore(ttl, diskBudget, directory, new SimpleMeterRegistry());
+    }
+}
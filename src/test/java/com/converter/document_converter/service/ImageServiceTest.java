@@ -0,0 +1,25 @@
+package com.converter.document_converter.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageServiceTest {
+
+    // 업로드 파일 이름의 경로는 ZIP 항목 이름에 남지 않음 (압축을 풀 때 다른 폴더에 쓰이지 않도록)
+    @Test
+    void entryBaseNameStripsPaths() {
+        assertThat(ImageService.entryBaseName(0, "photo.jpg")).isEqualTo("photo.jpg");
+        assertThat(ImageService.entryBaseName(0, "../../etc/photo.jpg")).isEqualTo("photo.jpg");
+        assertThat(ImageService.entryBaseName(0, "/var/tmp/photo.jpg")).isEqualTo("photo.jpg");
+        assertThat(ImageService.entryBaseName(0, "C:\\Users\\me\\사진.png")).isEqualTo("사진.png");
+    }
+
+    @Test
+    void entryBaseNameFallsBackWithoutName() {
+        assertThat(ImageService.entryBaseName(0, null)).isEqualTo("image_1");
+        assertThat(ImageService.entryBaseName(2, "  ")).isEqualTo("image_3");
+        assertThat(ImageService.entryBaseName(4, "photos/")).isEqualTo("image_5");
+        assertThat(ImageService.entryBaseName(5, "..")).isEqualTo("image_6");
+    }
+}
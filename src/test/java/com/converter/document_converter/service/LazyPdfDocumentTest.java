@@ -0,0 +1,152 @@
+package com.converter.document_converter.service;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 페이지마다 너비를 다르게 만들어 (100 + 페이지 번호) 찾은 페이지가 맞는지 너비로 확인
+class LazyPdfDocumentTest {
+
+    private static final float HEIGHT = 500;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void findsEveryPageInFlatTree() throws IOException {
+        File file = save(node(page(1), page(2), page(3), page(4), page(5)));
+
+        try (LazyPdfDocument document = LazyPdfDocument.open(file, MemoryUsageSetting.setupMainMemoryOnly())) {
+            assertThat(document.getPageCount()).isEqualTo(5);
+            for (int pageNumber = 1; pageNumber <= 5; pageNumber++) {
+                assertThat(document.getPage(pageNumber).getMediaBox().getWidth()).isEqualTo(100f + pageNumber);
+            }
+        }
+    }
+
+    @Test
+    void parsesOnlyRequestedPage() throws IOException {
+        File file = save(node(page(1), page(2), page(3)));
+
+        try (LazyPdfDocument document = LazyPdfDocument.open(file, MemoryUsageSetting.setupMainMemoryOnly())) {
+            document.getPage(1);
+
+            COSArray kids = (COSArray) document.getDocument().getDocumentCatalog().getCOSObject()
+                    .getCOSDictionary(COSName.PAGES).getDictionaryObject(COSName.KIDS);
+            assertThat(((COSObject) kids.get(0)).getObject()).isNotNull();
+            assertThat(((COSObject) kids.get(2)).getObject()).isNull();
+        }
+    }
+
+    @Test
+    void findsEveryPageInNestedTree() throws IOException {
+        // root[ [1, [2, 3]], 4, [5] ]
+        File file = save(node(node(page(1), node(page(2), page(3))), page(4), node(page(5))));
+
+        try (LazyPdfDocument document = LazyPdfDocument.open(file, MemoryUsageSetting.setupMainMemoryOnly())) {
+            assertThat(document.getPageCount()).isEqualTo(5);
+            for (int pageNumber = 5; pageNumber >= 1; pageNumber--) {
+                assertThat(document.getPage(pageNumber).getMediaBox().getWidth()).isEqualTo(100f + pageNumber);
+            }
+            assertThat(document.getMediaBoxes()).extracting(PDRectangle::getWidth)
+                    .containsExactly(101f, 102f, 103f, 104f, 105f);
+        }
+    }
+
+    @Test
+    void inheritsResourcesAndMediaBoxFromAncestors() throws IOException {
+        PDResources resources = new PDResources();
+        COSName font = resources.add(PDType1Font.HELVETICA);
+        // 1페이지는 MediaBox와 Resources가 없어 두 단계 위 노드의 값을 물려받음, 2페이지는 자기 MediaBox를 씀
+        COSDictionary inheriting = node(node(page(0)), page(2));
+        inheriting.setItem(COSName.MEDIA_BOX, new PDRectangle(300, 400).getCOSArray());
+        inheriting.setItem(COSName.RESOURCES, resources);
+        File file = save(node(inheriting));
+
+        try (LazyPdfDocument document = LazyPdfDocument.open(file, MemoryUsageSetting.setupMainMemoryOnly())) {
+            PDPage first = document.getPage(1);
+            assertThat(first.getMediaBox().getWidth()).isEqualTo(300f);
+            assertThat(first.getMediaBox().getHeight()).isEqualTo(400f);
+            assertThat(first.getResources().getFontNames()).containsExactly(font);
+
+            PDPage second = document.getPage(2);
+            assertThat(second.getMediaBox().getWidth()).isEqualTo(102f);
+            assertThat(second.getResources().getFontNames()).containsExactly(font);
+
+            assertThat(document.getMediaBoxes()).extracting(PDRectangle::getWidth).containsExactly(300f, 102f);
+        }
+    }
+
+    @Test
+    void defaultsToLetterWithoutMediaBox() throws IOException {
+        File file = save(node(page(0)));
+
+        try (LazyPdfDocument document = LazyPdfDocument.open(file, MemoryUsageSetting.setupMainMemoryOnly())) {
+            assertThat(document.getMediaBoxes()).extracting(PDRectangle::getWidth)
+                    .containsExactly(PDRectangle.LETTER.getWidth());
+        }
+    }
+
+    @Test
+    void rejectsPageOutOfRange() throws IOException {
+        File file = save(node(node(page(1), page(2)), page(3)));
+
+        try (LazyPdfDocument document = LazyPdfDocument.open(file, MemoryUsageSetting.setupMainMemoryOnly())) {
+            assertThatThrownBy(() -> document.getPage(4))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("4페이지");
+            assertThatThrownBy(() -> document.getPage(0))
+                    .isInstanceOf(IOException.class);
+        }
+    }
+
+    private File save(COSDictionary root) throws IOException {
+        File file = tempDir.resolve("tree.pdf").toFile();
+        try (PDDocument document = new PDDocument()) {
+            document.getDocumentCatalog().getCOSObject().setItem(COSName.PAGES, root);
+            document.save(file);
+        }
+        return file;
+    }
+
+    // width가 0이면 MediaBox 없이 (상위 노드에서 물려받음)
+    private static COSDictionary page(int pageNumber) {
+        COSDictionary page = new COSDictionary();
+        page.setItem(COSName.TYPE, COSName.PAGE);
+        if (pageNumber > 0) {
+            page.setItem(COSName.MEDIA_BOX, new PDRectangle(100 + pageNumber, HEIGHT).getCOSArray());
+        }
+        return page;
+    }
+
+    private static COSDictionary node(COSDictionary... kids) {
+        COSDictionary node = new COSDictionary();
+        node.setItem(COSName.TYPE, COSName.PAGES);
+        COSArray array = new COSArray();
+        int count = 0;
+        for (COSDictionary kid : kids) {
+            kid.setItem(COSName.PARENT, node);
+            array.add(kid);
+            count += COSName.PAGES.equals(kid.getCOSName(COSName.TYPE)) ? kid.getInt(COSName.COUNT) : 1;
+        }
+        node.setItem(COSName.KIDS, array);
+        node.setInt(COSName.COUNT, count);
+        return node;
+    }
+}
@@ -0,0 +1,160 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemoryAdmissionTest {
+
+    private static final long MB = 1024 * 1024;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        threads.shutdownNow();
+    }
+
+    @Test
+    void rejectsJobLargerThanBudget() {
+        MemoryAdmission admission = admission(Duration.ofSeconds(1));
+
+        assertThatThrownBy(() -> admission.reserve(11 * MB))
+                .isNotInstanceOf(RejectedExecutionException.class)
+                .hasMessageContaining("너무 커서");
+        assertThatThrownBy(() -> admission.reserveBudget(6 * MB, 5 * MB))
+                .hasMessageContaining("너무 커서");
+        assertThat(rejections("too-large")).isEqualTo(2);
+        assertThat(admission.getReservedBytes()).isZero();
+    }
+
+    @Test
+    void timesOutWhileBudgetIsHeld() {
+        MemoryAdmission admission = admission(Duration.ofMillis(200));
+
+        try (MemoryAdmission.Reservation ignored = admission.reserve(8 * MB)) {
+            assertThatThrownBy(() -> admission.reserve(4 * MB)).isInstanceOf(RejectedExecutionException.class);
+        }
+        assertThat(rejections("timeout")).isEqualTo(1);
+
+        try (MemoryAdmission.Reservation ignored = admission.reserve(4 * MB)) {
+            assertThat(admission.getReservedBytes()).isEqualTo(4.0 * MB);
+        }
+        assertThat(admission.getReservedBytes()).isZero();
+    }
+
+    // 예약을 잡은 변환의 추가 예약은 기다리지 않고 바로 거절
+    @Test
+    void reserveMoreRejectsWithoutWaiting() {
+        MemoryAdmission admission = admission(Duration.ofSeconds(30));
+
+        try (MemoryAdmission.Reservation ignored = admission.reserve(8 * MB)) {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> admission.reserveMore(4 * MB)).isInstanceOf(RejectedExecutionException.class);
+            assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+
+            try (MemoryAdmission.Reservation more = admission.reserveMore(2 * MB)) {
+                assertThat(admission.getReservedBytes()).isEqualTo(10.0 * MB);
+            }
+        }
+        assertThat(rejections("busy")).isEqualTo(1);
+    }
+
+    // 요청 A가 예산을 잡은 뒤 큰 요청 B가 줄을 서도, A의 항목별 예약은 B를 기다리지 않고 A의 몫 안에서 끝남
+    // (공유 예산에서 다시 예약하면 B 뒤에 줄을 서고, B는 A가 끝나야 들어갈 수 있어 서로 기다림)
+    @Test
+    void concurrentRequestsDoNotWaitOnEachOther() throws Exception {
+        MemoryAdmission admission = admission(Duration.ofSeconds(5));
+
+        MemoryAdmission.Budget first = admission.reserveBudget(2 * MB, 4 * MB);
+        Future<?> second = threads.submit(() -> {
+            try (MemoryAdmission.Reservation ignored = admission.reserve(8 * MB)) {
+                assertThat(admission.getReservedBytes()).isEqualTo(8.0 * MB);
+            }
+        });
+        awaitWaiting();
+
+        // 워커 넷이 장마다 3MB씩 - 몫이 4MB라 한 장씩 차례로 처리됨
+        List<Future<?>> items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            items.add(threads.submit(() -> {
+                try (MemoryAdmission.Reservation ignored = first.reserve(3 * MB)) {
+                    Thread.sleep(20);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> item : items) {
+            item.get(2, TimeUnit.SECONDS);
+        }
+        assertThat(second).isNotDone();
+
+        first.close();
+        second.get(2, TimeUnit.SECONDS);
+        assertThat(admission.getReservedBytes()).isZero();
+        assertThat(rejections("timeout")).isZero();
+    }
+
+    @Test
+    void tryReserveBudgetDoesNotJumpTheQueue() throws Exception {
+        MemoryAdmission admission = admission(Duration.ofSeconds(5));
+
+        MemoryAdmission.Reservation held = admission.reserve(4 * MB);
+        Future<?> waiting = threads.submit(() -> admission.reserve(8 * MB).close());
+        awaitWaiting();
+
+        // 남은 6MB로 충분해도 먼저 기다리던 요청을 앞지르지 않음
+        assertThat(admission.tryReserveBudget(0, 2 * MB)).isNull();
+
+        held.close();
+        waiting.get(2, TimeUnit.SECONDS);
+        try (MemoryAdmission.Budget budget = admission.tryReserveBudget(0, 2 * MB)) {
+            assertThat(budget).isNotNull();
+            assertThat(budget.tryReserve(2 * MB)).isNotNull();
+            assertThat(budget.tryReserve(1)).isNull();
+        }
+        assertThat(admission.getReservedBytes()).isZero();
+    }
+
+    @Test
+    void itemShareTakesLargestItemsThatFit() {
+        List<Long> items = List.of(1L, 5L, 3L, 4L);
+
+        assertThat(MemoryAdmission.itemShare(items, 2, 100)).isEqualTo(9);
+        assertThat(MemoryAdmission.itemShare(items, 8, 100)).isEqualTo(13);
+        assertThat(MemoryAdmission.itemShare(items, 2, 6)).isEqualTo(5);
+        // 가장 큰 항목은 available을 넘어도 포함 (예약할 때 거절됨)
+        assertThat(MemoryAdmission.itemShare(items, 2, 2)).isEqualTo(5);
+        assertThat(MemoryAdmission.itemShare(List.of(), 2, 100)).isZero();
+    }
+
+    private MemoryAdmission admission(Duration maxWait) {
+        return new MemoryAdmission(DataSize.ofMegabytes(10), maxWait, meterRegistry);
+    }
+
+    private double rejections(String reason) {
+        return meterRegistry.get("converter.admission.rejections").tag("reason", reason).counter().count();
+    }
+
+    private void awaitWaiting() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (meterRegistry.get("converter.admission.waiting").gauge().value() < 1) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+}
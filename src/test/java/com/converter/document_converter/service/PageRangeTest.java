@@ -0,0 +1,63 @@
+package com.converter.document_converter.service;
+
+import com.converter.document_converter.service.PdfService.PageRange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageRangeTest {
+
+    @Test
+    void parsesRangesAndSinglePages() {
+        List<PageRange> ranges = PdfService.checkPageRanges(" 1-3, 10 ,50 - 55", null, null);
+
+        assertThat(ranges).containsExactly(new PageRange(1, 3), new PageRange(10, 10), new PageRange(50, 55));
+        assertThat(ranges).extracting(PageRange::size).containsExactly(3, 1, 6);
+        assertThat(PageRange.join(ranges)).isEqualTo("1-3,10,50-55");
+        assertThat(PageRange.fileName(ranges)).isEqualTo("pages_1-3_10_50-55.pdf");
+    }
+
+    @Test
+    void usesStartAndEndWhenPagesBlank() {
+        assertThat(PdfService.checkPageRanges(" ", 2, 4)).containsExactly(new PageRange(2, 4));
+        assertThat(PdfService.checkPageRanges(null, 7, 7)).containsExactly(new PageRange(7, 7));
+    }
+
+    @Test
+    void rejectsMissingInput() {
+        assertThatThrownBy(() -> PdfService.checkPageRanges("", null, 3))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("추출할 페이지를 입력해주세요");
+        assertThatThrownBy(() -> PdfService.checkPageRanges(null, 1, null))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "1-", "-3", "1--2", "1,,2", "1.5", "2-x", "1234567890"})
+    void rejectsMalformedRanges(String pages) {
+        assertThatThrownBy(() -> PdfService.checkPageRanges(pages, null, null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("형식이 올바르지 않습니다");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "3-1", "0-2", "5,4-2"})
+    void rejectsOutOfRangeNumbers(String pages) {
+        assertThatThrownBy(() -> PdfService.checkPageRanges(pages, null, null))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("페이지 범위가 올바르지 않습니다");
+    }
+
+    @Test
+    void rejectsInvalidStartAndEnd() {
+        assertThatThrownBy(() -> PdfService.checkPageRanges(null, 0, 3))
+                .isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> PdfService.checkPageRanges(null, 5, 2))
+                .isInstanceOf(RuntimeException.class);
+    }
+}
@@ -0,0 +1,145 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfImageCompressorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConversionExecutor executor = new ConversionExecutor(2, 16, meterRegistry);
+    private final MemoryAdmission admission =
+            new MemoryAdmission(DataSize.ofMegabytes(64), Duration.ofSeconds(5), meterRegistry);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void recompressesPlainImage() throws IOException {
+        try (PDDocument document = document(image -> {
+        })) {
+            compress(document);
+
+            PDImageXObject result = image(document);
+            assertThat(result.getCOSObject().getCOSName(COSName.FILTER)).isEqualTo(COSName.DCT_DECODE);
+        }
+    }
+
+    // 마스크 이미지는 다시 압축한 이미지에도 그대로 연결
+    @Test
+    void keepsExplicitMask() throws IOException {
+        try (PDDocument document = document(image -> {
+        })) {
+            PDImageXObject mask = LosslessFactory.createFromImage(document,
+                    new BufferedImage(8, 8, BufferedImage.TYPE_BYTE_BINARY));
+            image(document).getCOSObject().setItem(COSName.MASK, mask);
+
+            compress(document);
+
+            PDImageXObject result = image(document);
+            assertThat(result.getCOSObject().getCOSName(COSName.FILTER)).isEqualTo(COSName.DCT_DECODE);
+            COSBase copied = result.getCOSObject().getDictionaryObject(COSName.MASK);
+            assertThat(copied).isSameAs(mask.getCOSObject());
+        }
+    }
+
+    // 색 키 마스크는 손실 압축하면 투명한 곳이 어긋나므로 원본 유지
+    @Test
+    void skipsColorKeyMask() throws IOException {
+        try (PDDocument document = document(image -> {
+            COSArray colorKey = new COSArray();
+            colorKey.setFloatArray(new float[]{0, 0, 0, 0, 0, 0});
+            image.getCOSObject().setItem(COSName.MASK, colorKey);
+        })) {
+            COSStream original = image(document).getCOSObject();
+
+            compress(document);
+
+            assertThat(image(document).getCOSObject()).isSameAs(original);
+        }
+    }
+
+    @Test
+    void skipsCustomDecode() throws IOException {
+        try (PDDocument document = document(image -> {
+            COSArray decode = new COSArray();
+            decode.setFloatArray(new float[]{1, 0, 1, 0, 1, 0});
+            image.getCOSObject().setItem(COSName.DECODE, decode);
+        })) {
+            COSStream original = image(document).getCOSObject();
+
+            compress(document);
+
+            assertThat(image(document).getCOSObject()).isSameAs(original);
+        }
+    }
+
+    @Test
+    void recompressesWithDefaultDecode() throws IOException {
+        try (PDDocument document = document(image -> {
+            COSArray decode = new COSArray();
+            decode.setFloatArray(new float[]{0, 1, 0, 1, 0, 1});
+            image.getCOSObject().setItem(COSName.DECODE, decode);
+        })) {
+            compress(document);
+
+            assertThat(image(document).getCOSObject().getCOSName(COSName.FILTER)).isEqualTo(COSName.DCT_DECODE);
+        }
+    }
+
+    private void compress(PDDocument document) throws IOException {
+        PdfImageCompressor compressor = new PdfImageCompressor(executor, 72, 0.5f, ProgressListener.NONE);
+        compressor.prepare(document);
+        try (MemoryAdmission.Budget budget =
+                     admission.reserveBudget(0, compressor.workingSet(admission.getBudgetBytes()))) {
+            compressor.compress(document, budget);
+        }
+    }
+
+    // 잡음이 섞인 800x600 이미지 한 장을 A4 페이지 절반 크기로 그린 문서 (JPEG로 다시 압축하면 작아짐)
+    private static PDDocument document(Consumer<PDImageXObject> customizer) throws IOException {
+        BufferedImage pixels = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(1);
+        for (int y = 0; y < pixels.getHeight(); y++) {
+            for (int x = 0; x < pixels.getWidth(); x++) {
+                pixels.setRGB(x, y, ((x / 8) * 0x010101 + random.nextInt(32)) & 0xffffff);
+            }
+        }
+
+        PDDocument document = new PDDocument();
+        PDPage page = new PDPage();
+        document.addPage(page);
+        PDImageXObject image = LosslessFactory.createFromImage(document, pixels);
+        customizer.accept(image);
+        try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+            contentStream.drawImage(image, 0, 0, 300, 225);
+        }
+        return document;
+    }
+
+    private static PDImageXObject image(PDDocument document) throws IOException {
+        var resources = document.getPage(0).getResources();
+        COSName name = resources.getXObjectNames().iterator().next();
+        return (PDImageXObject) resources.getXObject(name);
+    }
+}
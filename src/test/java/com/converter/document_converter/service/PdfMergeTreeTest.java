@@ -0,0 +1,123 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
+import org.apache.pdfbox.pdmodel.interactive.documentnavigation.outline.PDOutlineItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PdfMergeTreeTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ConversionExecutor executor = new ConversionExecutor(3, 16, meterRegistry);
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    // 워커 3개에 파일 7개: 묶음 [0-2] [3-5] [6] -> 짝짓기 두 단계 (마지막 묶음은 한 단계 건너뜀)
+    @Test
+    void keepsInputOrderAcrossLevels() throws IOException {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            files.add(document(i, 2));
+        }
+        List<Integer> progress = new ArrayList<>();
+
+        try (PdfMergeTree tree = tree((done, total) -> progress.add(done))) {
+            PDDocument merged = tree.merge(files);
+
+            assertThat(pageIds(merged)).containsExactly(
+                    0, 0, 1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6);
+            assertThat(progress).containsExactly(3, 6, 7);
+        }
+    }
+
+    @Test
+    void keepsOutlinesInInputOrder() throws IOException {
+        List<MultipartFile> files = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            files.add(document(i, 1));
+        }
+
+        try (PdfMergeTree tree = tree(ProgressListener.NONE)) {
+            PDDocument merged = tree.merge(files);
+
+            List<String> titles = new ArrayList<>();
+            List<Integer> targets = new ArrayList<>();
+            for (PDOutlineItem item : merged.getDocumentCatalog().getDocumentOutline().children()) {
+                titles.add(item.getTitle());
+                targets.add(merged.getPages().indexOf(item.findDestinationPage(merged)));
+            }
+            assertThat(titles).containsExactly("doc 0", "doc 1", "doc 2", "doc 3", "doc 4");
+            assertThat(targets).containsExactly(0, 1, 2, 3, 4);
+        }
+    }
+
+    @Test
+    void reportsUnreadableFile() throws IOException {
+        List<MultipartFile> files = List.of(document(0, 1),
+                new MockMultipartFile("files", "broken.pdf", "application/pdf", new byte[]{1, 2, 3}),
+                document(2, 1));
+
+        try (PdfMergeTree tree = tree(ProgressListener.NONE)) {
+            assertThatThrownBy(() -> tree.merge(files))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("broken.pdf");
+        }
+    }
+
+    @Test
+    void copiesGrowWithTreeLevels() {
+        assertThat(PdfMergeTree.copies(executor, 1)).isEqualTo(2);
+        assertThat(PdfMergeTree.copies(executor, 2)).isEqualTo(3);
+        assertThat(PdfMergeTree.copies(executor, 7)).isEqualTo(4);
+    }
+
+    private PdfMergeTree tree(ProgressListener progress) {
+        return new PdfMergeTree(executor, MemoryUsageSetting.setupMainMemoryOnly(), progress);
+    }
+
+    // 페이지 너비에 문서 번호를 기록하고, 첫 페이지를 가리키는 북마크 하나를 단 PDF
+    private static MultipartFile document(int id, int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                document.addPage(new PDPage(new PDRectangle(100 + id, 100)));
+            }
+            PDDocumentOutline outline = new PDDocumentOutline();
+            PDOutlineItem item = new PDOutlineItem();
+            item.setTitle("doc " + id);
+            item.setDestination(document.getPage(0));
+            outline.addLast(item);
+            document.getDocumentCatalog().setDocumentOutline(outline);
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            document.save(outputStream);
+            return new MockMultipartFile("files", "doc" + id + ".pdf", "application/pdf",
+                    outputStream.toByteArray());
+        }
+    }
+
+    private static List<Integer> pageIds(PDDocument document) {
+        List<Integer> ids = new ArrayList<>();
+        for (PDPage page : document.getPages()) {
+            ids.add((int) page.getMediaBox().getWidth() - 100);
+        }
+        return ids;
+    }
+}
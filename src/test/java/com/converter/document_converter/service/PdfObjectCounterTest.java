@@ -0,0 +1,96 @@
+package com.converter.document_converter.service;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfObjectCounterTest {
+
+    @Test
+    void readsSizeFromXrefTableTrailer() throws IOException {
+        byte[] pdf = fixture(3);
+
+        long expected;
+        try (PDDocument document = PDDocument.load(pdf)) {
+            expected = document.getDocument().getTrailer().getLong(COSName.SIZE);
+        }
+        assertThat(expected).isGreaterThan(3);
+        assertThat(PdfObjectCounter.count(pdf("fixture.pdf", pdf))).isEqualTo(expected);
+    }
+
+    // 증분 저장: 마지막 startxref의 xref 표(하위 구역 여러 개)를 읽음
+    @Test
+    void readsLatestSectionOfIncrementalUpdate() throws IOException {
+        byte[] original = fixture(1);
+        String update = "1 0 obj\n<< /Type /Catalog >>\nendobj\n";
+        int xref = original.length + update.length();
+        String section = update
+                + "xref\n"
+                + "0 1\n0000000000 65535 f\r\n"
+                + "1 2\n0000000009 00000 n\r\n0000000009 00000 n\r\n"
+                + "trailer\n<< /Size 42 /Root 1 0 R >>\n"
+                + "startxref\n" + xref + "\n%%EOF\n";
+
+        assertThat(PdfObjectCounter.count(pdf("incremental.pdf", concat(original, ascii(section))))).isEqualTo(42);
+    }
+
+    @Test
+    void readsSizeFromXrefStream() {
+        String header = "%PDF-1.5\n";
+        String object = "7 0 obj\n<< /Type /XRef /Size 8 /W [1 2 1] /Length 4 >>\nstream\n\u0000\u0000\u0000\u0000\nendstream\nendobj\n";
+        String pdf = header + object + "startxref\n" + header.length() + "\n%%EOF\n";
+
+        assertThat(PdfObjectCounter.count(pdf("xref-stream.pdf", ascii(pdf)))).isEqualTo(8);
+    }
+
+    @Test
+    void estimatesFromFileSizeWhenXrefMissing() {
+        assertThat(PdfObjectCounter.count(pdf("text.pdf", new byte[10_000]))).isEqualTo(10_000 / 256);
+        assertThat(PdfObjectCounter.count(pdf("tiny.pdf", new byte[10]))).isEqualTo(1);
+    }
+
+    @Test
+    void estimatesFromFileSizeWhenStartXrefIsBroken() throws IOException {
+        byte[] body = new byte[5_000];
+        byte[] pastEnd = concat(body, ascii("startxref\n999999\n%%EOF\n"));
+        assertThat(PdfObjectCounter.count(pdf("past-end.pdf", pastEnd))).isEqualTo(pastEnd.length / 256);
+
+        // startxref가 xref도 객체도 아닌 곳을 가리킴
+        byte[] misplaced = concat(body, ascii("startxref\n100\n%%EOF\n"));
+        assertThat(PdfObjectCounter.count(pdf("misplaced.pdf", misplaced))).isEqualTo(misplaced.length / 256);
+    }
+
+    private static byte[] fixture(int pages) throws IOException {
+        try (PDDocument document = new PDDocument();
+             ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            for (int i = 0; i < pages; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    private static MockMultipartFile pdf(String name, byte[] content) {
+        return new MockMultipartFile("file", name, "application/pdf", content);
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        outputStream.write(first);
+        outputStream.write(second);
+        return outputStream.toByteArray();
+    }
+}
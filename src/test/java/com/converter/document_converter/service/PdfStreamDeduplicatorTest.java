@@ -0,0 +1,155 @@
+package com.converter.document_converter.service;
+
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PdfStreamDeduplicatorTest {
+
+    private static final COSName DATA = COSName.getPDFName("Data");
+
+    @Test
+    void mergesIdenticalStreams() throws IOException {
+        try (PDDocument document = pages(2)) {
+            attach(document, 0, stream(document, "same content"));
+            attach(document, 1, stream(document, "same content"));
+
+            PdfStreamDeduplicator deduplicator = new PdfStreamDeduplicator();
+            deduplicator.deduplicate(document);
+
+            assertThat(deduplicator.getStreamsRemoved()).isEqualTo(1);
+            assertThat(deduplicator.getBytesSaved()).isEqualTo("same content".length());
+            assertThat(attached(document, 1)).isSameAs(attached(document, 0));
+            assertThat(reload(document)).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void keepsStreamsWithDifferentBytes() throws IOException {
+        try (PDDocument document = pages(2)) {
+            attach(document, 0, stream(document, "content A"));
+            attach(document, 1, stream(document, "content B"));
+
+            assertThat(deduplicate(document)).isZero();
+            assertThat(attached(document, 1)).isNotSameAs(attached(document, 0));
+        }
+    }
+
+    @Test
+    void keepsStreamsWithDifferentDictionaries() throws IOException {
+        try (PDDocument document = pages(2)) {
+            COSStream first = stream(document, "same content");
+            COSStream second = stream(document, "same content");
+            first.setItem(COSName.SUBTYPE, COSName.IMAGE);
+            second.setItem(COSName.SUBTYPE, COSName.FORM);
+            attach(document, 0, first);
+            attach(document, 1, second);
+
+            assertThat(deduplicate(document)).isZero();
+        }
+    }
+
+    // 해시는 깊은 곳을 줄여서 계산하므로 같은 값이 나오지만, 내용 비교에서 걸러져야 함
+    @Test
+    void keepsStreamsThatDifferBelowDigestDepth() throws IOException {
+        try (PDDocument document = pages(2)) {
+            COSStream first = stream(document, "same content");
+            COSStream second = stream(document, "same content");
+            first.setItem(DATA, nested(12, 1));
+            second.setItem(DATA, nested(12, 2));
+            attach(document, 0, first);
+            attach(document, 1, second);
+
+            assertThat(PdfObjectDigest.of(first)).isEqualTo(PdfObjectDigest.of(second));
+            assertThat(deduplicate(document)).isZero();
+            assertThat(attached(document, 1)).isSameAs(second);
+        }
+    }
+
+    @Test
+    void mergesStreamsWithEqualCycles() throws IOException {
+        try (PDDocument document = pages(2)) {
+            COSStream first = stream(document, "same content");
+            COSStream second = stream(document, "same content");
+            first.setItem(DATA, cycle());
+            second.setItem(DATA, cycle());
+            attach(document, 0, first);
+            attach(document, 1, second);
+
+            assertThat(deduplicate(document)).isEqualTo(1);
+            assertThat(attached(document, 1)).isSameAs(attached(document, 0));
+        }
+    }
+
+    private static int deduplicate(PDDocument document) throws IOException {
+        PdfStreamDeduplicator deduplicator = new PdfStreamDeduplicator();
+        deduplicator.deduplicate(document);
+        return deduplicator.getStreamsRemoved();
+    }
+
+    private static PDDocument pages(int count) {
+        PDDocument document = new PDDocument();
+        for (int i = 0; i < count; i++) {
+            document.addPage(new PDPage());
+        }
+        return document;
+    }
+
+    private static COSStream stream(PDDocument document, String content) throws IOException {
+        COSStream stream = document.getDocument().createCOSStream();
+        try (OutputStream outputStream = stream.createRawOutputStream()) {
+            outputStream.write(content.getBytes(StandardCharsets.US_ASCII));
+        }
+        return stream;
+    }
+
+    private static void attach(PDDocument document, int page, COSStream stream) {
+        document.getPage(page).getCOSObject().setItem(DATA, stream);
+    }
+
+    private static COSBase attached(PDDocument document, int page) {
+        return document.getPage(page).getCOSObject().getDictionaryObject(DATA);
+    }
+
+    // depth 단계 아래 끝에 value가 있는 사전
+    private static COSDictionary nested(int depth, int value) {
+        COSDictionary leaf = new COSDictionary();
+        leaf.setItem(COSName.N, COSInteger.get(value));
+        COSDictionary current = leaf;
+        for (int i = 0; i < depth; i++) {
+            COSDictionary parent = new COSDictionary();
+            parent.setItem(COSName.NEXT, current);
+            current = parent;
+        }
+        return current;
+    }
+
+    // 서로를 가리키는 두 사전
+    private static COSDictionary cycle() {
+        COSDictionary first = new COSDictionary();
+        COSDictionary second = new COSDictionary();
+        first.setItem(COSName.NEXT, second);
+        second.setItem(COSName.PREV, first);
+        return first;
+    }
+
+    private static int reload(PDDocument document) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        document.save(outputStream);
+        try (PDDocument saved = PDDocument.load(outputStream.toByteArray())) {
+            return saved.getNumberOfPages();
+        }
+    }
+}
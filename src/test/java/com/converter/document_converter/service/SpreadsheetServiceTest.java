@@ -0,0 +1,117 @@
+package com.converter.document_converter.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpreadsheetServiceTest {
+
+    private static final String BOM = "\uFEFF";
+
+    @TempDir
+    Path directory;
+
+    private SpreadsheetService spreadsheetService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConversionCache cache = new ConversionCache(false, DataSize.ofMegabytes(1), DataSize.ofMegabytes(1),
+                DataSize.ofKilobytes(64), directory, meterRegistry);
+        spreadsheetService = new SpreadsheetService(cache, new ConversionMetrics(meterRegistry));
+    }
+
+    // 쉼표, 큰따옴표, 줄바꿈이 든 값과 한글, 빈 칸이 그대로 돌아옴
+    @Test
+    void roundTripsCsv() throws IOException {
+        String csv = "이름,메모,수량\r\n"
+                + "\"Kim, Minsu\",\"say \"\"hi\"\"\",3\r\n"
+                + "Lee,\"line1\nline2\",1.5\r\n"
+                + ",,\r\n"
+                + "Park,,-2\r\n";
+
+        byte[] xlsx = csvToXlsx(csv, StandardCharsets.UTF_8);
+
+        assertThat(xlsxToCsv(xlsx, null)).isEqualTo(BOM
+                + "이름,메모,수량\r\n"
+                + "\"Kim, Minsu\",\"say \"\"hi\"\"\",3\r\n"
+                + "Lee,\"line1\nline2\",1.5\r\n"
+                + "\r\n"
+                + "Park,,-2\r\n");
+    }
+
+    // 앞자리 0이 있는 코드나 15자리를 넘는 값은 숫자로 바꾸지 않음
+    @Test
+    void keepsCodesAsText() throws IOException {
+        byte[] xlsx = csvToXlsx("007,1234567890123456,42\r\n", StandardCharsets.UTF_8);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(xlsx))) {
+            var row = workbook.getSheetAt(0).getRow(0);
+            assertThat(row.getCell(0).getCellType()).isEqualTo(CellType.STRING);
+            assertThat(row.getCell(1).getCellType()).isEqualTo(CellType.STRING);
+            assertThat(row.getCell(2).getNumericCellValue()).isEqualTo(42);
+        }
+        assertThat(xlsxToCsv(xlsx, null)).isEqualTo(BOM + "007,1234567890123456,42\r\n");
+    }
+
+    @Test
+    void readsCsvInGivenCharset() throws IOException {
+        Charset charset = SpreadsheetService.checkCharset("MS949");
+
+        byte[] xlsx = csvToXlsx("가격,원\r\n", charset);
+
+        assertThat(xlsxToCsv(xlsx, null)).isEqualTo(BOM + "가격,원\r\n");
+    }
+
+    // 시트 행 한도를 넘는 CSV는 다음 시트로 이어서 씀
+    @Test
+    void rollsOverToNextSheet() throws IOException {
+        ReflectionTestUtils.setField(spreadsheetService, "maxRowsPerSheet", 3);
+        StringBuilder csv = new StringBuilder();
+        for (int i = 1; i <= 7; i++) {
+            csv.append("row").append(i).append(',').append(i).append("\r\n");
+        }
+
+        byte[] xlsx = csvToXlsx(csv.toString(), StandardCharsets.UTF_8);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(xlsx))) {
+            assertThat(workbook.getNumberOfSheets()).isEqualTo(3);
+            XSSFSheet last = workbook.getSheetAt(2);
+            assertThat(last.getPhysicalNumberOfRows()).isEqualTo(1);
+            assertThat(last.getRow(0).getCell(0).getStringCellValue()).isEqualTo("row7");
+        }
+        assertThat(xlsxToCsv(xlsx, 1)).isEqualTo(BOM + "row1,1\r\nrow2,2\r\nrow3,3\r\n");
+        assertThat(xlsxToCsv(xlsx, 2)).isEqualTo(BOM + "row4,4\r\nrow5,5\r\nrow6,6\r\n");
+        assertThat(xlsxToCsv(xlsx, 3)).isEqualTo(BOM + "row7,7\r\n");
+    }
+
+    private byte[] csvToXlsx(String csv, Charset charset) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        spreadsheetService.csvToXlsx(new MockMultipartFile("file", "data.csv", "text/csv", csv.getBytes(charset)),
+                charset, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private String xlsxToCsv(byte[] xlsx, Integer sheet) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        spreadsheetService.xlsxToCsv(new MockMultipartFile("file", "data.xlsx",
+                "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", xlsx), sheet, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
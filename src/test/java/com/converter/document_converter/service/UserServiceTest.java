@@ -0,0 +1,75 @@
+package com.converter.document_converter.service;
+
+import com.converter.document_converter.entity.User;
+import com.converter.document_converter.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private static final long USER_ID = 7L;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserContextCache userContextCache = mock(UserContextCache.class);
+    private final UserService userService = new UserService(userRepository, mock(PasswordEncoder.class),
+            userContextCache, new ConversionMetrics(new SimpleMeterRegistry()));
+
+    @BeforeEach
+    void setUp() {
+        User user = User.builder().id(USER_ID).role(User.UserRole.FREE).build();
+        when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // 커밋 전에 캐시를 지우면 다른 요청이 바뀌기 전 등급을 다시 올릴 수 있으므로 커밋된 뒤에 지움
+    @Test
+    void invalidatesCacheAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        userService.updateSubscription(USER_ID, User.UserRole.PRO, LocalDateTime.now().plusMonths(1));
+        verify(userContextCache, never()).invalidate(USER_ID);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(userContextCache).invalidate(USER_ID);
+    }
+
+    @Test
+    void keepsCacheOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        userService.updateSubscription(USER_ID, User.UserRole.PRO, LocalDateTime.now().plusMonths(1));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        }
+
+        verify(userContextCache, never()).invalidate(USER_ID);
+    }
+
+    @Test
+    void invalidatesImmediatelyWithoutTransaction() {
+        userService.updateSubscription(USER_ID, User.UserRole.PRO, LocalDateTime.now().plusMonths(1));
+
+        verify(userContextCache).invalidate(USER_ID);
+    }
+}